@@ -0,0 +1,251 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.reflect.Method;
+import static java.util.Collections.unmodifiableMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A cost based strategy choosing, per invocation field, between calls per
+ * owner and bulk calls whose results are grouped by owners.
+ * <p>
+ * A bulk call is the call of an owner with the arguments referring to the
+ * owner, other than the catalog and the schema, replaced with {@code null},
+ * e.g. {@code getColumns(cat, schem, null, null)} for {@code table/columns},
+ * which returns rows of all sibling owners at once. Calls for siblings which
+ * share the arguments of a bulk call, the scope, are served from its result.
+ * <p>
+ * Latencies of calls are measured per invocation field. Within a scope, calls
+ * are made per owner until their total latency would reach the average
+ * latency of bulk calls of the field, at which point a bulk call is made for
+ * the remaining siblings. Until a bulk call is measured, a bulk call is made
+ * after {@link #probes(int) probes} calls per owner. Selective crawls, thus,
+ * keep calling per owner while full crawls of large schemas soon switch to
+ * bulk calls.
+ * <p>
+ * JDBC requires a table for methods such as
+ * {@link java.sql.DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)},
+ * which are called per owner unless enabled with {@link #nullTables(String...)}
+ * for drivers taking {@code null} as all tables. A bulk call is checked
+ * against the calls already made per owner in its scope, and a field whose
+ * bulk call has failed or is inconsistent is called per owner afterwards.
+ *
+ * <pre>{@code
+ * new MetadataContext(metadata).adaptiveFetch(
+ *         new AdaptiveFetch().nullTables("getIndexInfo", "getPrimaryKeys"));
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#adaptiveFetch(AdaptiveFetch)
+ */
+public class AdaptiveFetch {
+
+    /**
+     * Labels of owner columns of methods requiring a table, mapped to method
+     * names.
+     */
+    private static final Map<String, String[]> TABLES;
+
+    static {
+        final Map<String, String[]> m = new HashMap<String, String[]>();
+        m.put("getColumnPrivileges",
+              new String[]{null, "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME"});
+        m.put("getExportedKeys",
+              new String[]{null, "PKTABLE_SCHEM", "PKTABLE_NAME"});
+        m.put("getImportedKeys",
+              new String[]{null, "FKTABLE_SCHEM", "FKTABLE_NAME"});
+        m.put("getIndexInfo",
+              new String[]{null, "TABLE_SCHEM", "TABLE_NAME", null, null});
+        m.put("getPrimaryKeys",
+              new String[]{null, "TABLE_SCHEM", "TABLE_NAME"});
+        TABLES = unmodifiableMap(m);
+    }
+
+    private static final class Stats {
+
+        long calls;
+
+        long nanos;
+
+        long bulks;
+
+        long bulkNanos;
+
+        boolean failed;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Sets the number of calls per owner made in a scope before the first
+     * bulk call of a field and returns this instance. Default value is
+     * {@code 2}. At least one probe is required with
+     * {@link #nullTables(String...)} for checking bulk calls.
+     *
+     * @param probes the number of calls per owner
+     * @return this instance
+     */
+    public synchronized AdaptiveFetch probes(final int probes) {
+        if (probes < 0) {
+            throw new IllegalArgumentException("probes(" + probes + ") < 0");
+        }
+        if (probes < 1 && !methods.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "probes(" + probes + ") < 1 with nullTables");
+        }
+        this.probes = probes;
+        return this;
+    }
+
+    /**
+     * Enables bulk calls of specified methods, which JDBC requires a table
+     * for, and returns this instance. Only {@code getColumnPrivileges},
+     * {@code getExportedKeys}, {@code getImportedKeys}, {@code getIndexInfo}
+     * and {@code getPrimaryKeys} can be enabled. Requires at least one
+     * {@link #probes(int) probe}.
+     *
+     * @param methods the names of methods
+     * @return this instance
+     */
+    public synchronized AdaptiveFetch nullTables(final String... methods) {
+        if (probes < 1 && methods.length > 0) {
+            throw new IllegalArgumentException(
+                    "probes(" + probes + ") < 1 with nullTables");
+        }
+        for (final String method : methods) {
+            final String[] labels = TABLES.get(method);
+            if (labels == null) {
+                throw new IllegalArgumentException(
+                        "unsupported method: " + method);
+            }
+            this.methods.put(method, labels);
+        }
+        return this;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns, for each parameter of given method, the label of the column
+     * matched by the parameter, if the method can be called in bulk.
+     *
+     * @param method the method
+     * @return an array of labels; {@code null} if not callable in bulk
+     */
+    synchronized String[] labels(final Method method) {
+        final String[] labels = methods.get(method.getName());
+        if (labels != null
+            && labels.length == method.getParameterTypes().length) {
+            return labels;
+        }
+        return Invokes.patterns(method);
+    }
+
+    /**
+     * Checks whether the next call of specified field in a scope should be
+     * made in bulk.
+     *
+     * @param path the path of the field
+     * @param requests the number of calls requested in the scope, including
+     * the next one
+     * @param spent the total latency, in nanoseconds, of calls made per owner
+     * in the scope
+     * @return {@code true} for a bulk call; {@code false} otherwise
+     */
+    synchronized boolean bulk(final String path, final int requests,
+                              final long spent) {
+        final Stats stats = stats(path);
+        if (stats.failed) {
+            return false;
+        }
+        if (stats.bulks == 0L) {
+            return requests > probes;
+        }
+        final long call = stats.calls == 0L ? 0L : stats.nanos / stats.calls;
+        return spent + call >= stats.bulkNanos / stats.bulks;
+    }
+
+    /**
+     * Notifies a call made per owner.
+     *
+     * @param path the path of the field
+     * @param nanos the latency, including reading and binding rows
+     */
+    synchronized void called(final String path, final long nanos) {
+        final Stats stats = stats(path);
+        stats.calls++;
+        stats.nanos += nanos;
+    }
+
+    /**
+     * Notifies a bulk call made.
+     *
+     * @param path the path of the field
+     * @param nanos the latency, including reading and binding rows; {@code -1}
+     * if failed
+     */
+    synchronized void bulked(final String path, final long nanos) {
+        final Stats stats = stats(path);
+        if (nanos < 0L) {
+            stats.failed = true;
+            return;
+        }
+        stats.bulks++;
+        stats.bulkNanos += nanos;
+    }
+
+    private Stats stats(final String path) {
+        Stats stats = this.stats.get(path);
+        if (stats == null) {
+            stats = new Stats();
+            this.stats.put(path, stats);
+        }
+        return stats;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the number of calls made per owner for specified field.
+     *
+     * @param path the path of the field, e.g. {@code table/columns}
+     * @return the number of calls made per owner
+     */
+    public synchronized long getCallCount(final String path) {
+        final Stats stats = this.stats.get(path);
+        return stats == null ? 0L : stats.calls;
+    }
+
+    /**
+     * Returns the number of bulk calls made for specified field.
+     *
+     * @param path the path of the field, e.g. {@code table/columns}
+     * @return the number of bulk calls made
+     */
+    public synchronized long getBulkCount(final String path) {
+        final Stats stats = this.stats.get(path);
+        return stats == null ? 0L : stats.bulks;
+    }
+
+    // -------------------------------------------------------------------------
+    private int probes = 2;
+
+    // labels of methods enabled with nullTables
+    private final Map<String, String[]> methods
+            = new HashMap<String, String[]>();
+
+    // statistics mapped to field paths
+    private final Map<String, Stats> stats = new HashMap<String, Stats>();
+}
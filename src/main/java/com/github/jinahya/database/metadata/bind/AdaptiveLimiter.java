@@ -0,0 +1,208 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static java.lang.System.nanoTime;
+import java.util.concurrent.TimeUnit;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * An adaptive limiter of in-flight metadata calls.
+ * <p>
+ * The limit is adjusted with additive-increase/multiplicative-decrease on
+ * observed call latencies. After each window of as many calls as the current
+ * limit, the limit grows by one if all calls were within the target latency
+ * or shrinks by the backoff ratio otherwise. Optionally, calls can be paced
+ * to a maximum rate. A limiter is meant to be shared among contexts crawling
+ * the same database in parallel.
+ *
+ * <pre>{@code
+ * final AdaptiveLimiter limiter
+ *         = new AdaptiveLimiter(50L, TimeUnit.MILLISECONDS)
+ *                 .limits(1, 16).maxRate(200.0d);
+ * // for each thread
+ * new MetadataContext(metadata).limiter(limiter);
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#limiter(AdaptiveLimiter)
+ */
+public class AdaptiveLimiter {
+
+    /**
+     * Creates a new instance with given target latency.
+     *
+     * @param targetLatency the target latency
+     * @param unit the unit of {@code targetLatency}
+     */
+    public AdaptiveLimiter(final long targetLatency, final TimeUnit unit) {
+        super();
+        if (targetLatency <= 0L) {
+            throw new IllegalArgumentException(
+                    "targetLatency(" + targetLatency + ") <= 0");
+        }
+        if (unit == null) {
+            throw new NullPointerException("unit is null");
+        }
+        target = unit.toNanos(targetLatency);
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Sets the minimum and the maximum limits and returns this instance. The
+     * current limit starts at the minimum.
+     *
+     * @param min the minimum limit
+     * @param max the maximum limit
+     * @return this instance
+     */
+    public synchronized AdaptiveLimiter limits(final int min, final int max) {
+        if (min < 1) {
+            throw new IllegalArgumentException("min(" + min + ") < 1");
+        }
+        if (max < min) {
+            throw new IllegalArgumentException(
+                    "max(" + max + ") < min(" + min + ")");
+        }
+        this.min = min;
+        this.max = max;
+        limit = min;
+        notifyAll();
+        return this;
+    }
+
+    /**
+     * Sets the ratio by which the limit shrinks and returns this instance.
+     * Default value is {@code 0.9}.
+     *
+     * @param backoff the ratio between {@code 0} and {@code 1}, exclusive
+     * @return this instance
+     */
+    public synchronized AdaptiveLimiter backoff(final double backoff) {
+        if (!(backoff > 0.0d && backoff < 1.0d)) {
+            throw new IllegalArgumentException(
+                    "backoff(" + backoff + ") not in (0, 1)");
+        }
+        this.backoff = backoff;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of calls per second and returns this instance.
+     *
+     * @param maxRate the maximum rate; {@code 0} for no limit
+     * @return this instance
+     */
+    public synchronized AdaptiveLimiter maxRate(final double maxRate) {
+        if (!(maxRate >= 0.0d)) {
+            throw new IllegalArgumentException("maxRate(" + maxRate + ") < 0");
+        }
+        interval = maxRate == 0.0d
+                   ? 0L : (long) (SECONDS.toNanos(1L) / maxRate);
+        next = nanoTime(); // nanoTime() may be negative
+        return this;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Waits for a permit and returns the time at which the call starts.
+     *
+     * @return the start time in nanoseconds
+     * @throws InterruptedException if interrupted while waiting
+     */
+    synchronized long acquire() throws InterruptedException {
+        while (inflight >= limit) {
+            wait();
+        }
+        if (interval > 0L) {
+            long now = nanoTime();
+            while (now - next < 0L) { // overflow-safe
+                NANOSECONDS.timedWait(this, next - now);
+                now = nanoTime();
+            }
+            next = now + interval;
+            while (inflight >= limit) { // changed while pacing
+                wait();
+            }
+        }
+        inflight++;
+        return nanoTime();
+    }
+
+    /**
+     * Releases a permit and adjusts the limit with the latency of the call.
+     *
+     * @param started the value returned by {@link #acquire()}
+     */
+    synchronized void release(final long started) {
+        inflight--;
+        if (nanoTime() - started > target) {
+            congested = true;
+        }
+        if (++window >= limit) {
+            limit = congested
+                    ? Math.max(min, (int) (limit * backoff))
+                    : Math.min(max, limit + 1);
+            window = 0;
+            congested = false;
+        }
+        notifyAll();
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the current limit.
+     *
+     * @return the current limit
+     */
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of calls in flight.
+     *
+     * @return the number of calls in flight
+     */
+    public synchronized int getInflight() {
+        return inflight;
+    }
+
+    // -------------------------------------------------------------------------
+    private final long target;
+
+    private int min = 1;
+
+    private int max = 64;
+
+    private double backoff = 0.9d;
+
+    private long interval;
+
+    private int limit = min;
+
+    private int inflight;
+
+    // calls since the last adjustment
+    private int window;
+
+    // a flag for any call over the target in the current window
+    private boolean congested;
+
+    // the earliest time for the next call
+    private long next;
+}
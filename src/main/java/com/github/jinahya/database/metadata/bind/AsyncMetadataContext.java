@@ -0,0 +1,956 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static java.lang.System.nanoTime;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import java.util.concurrent.TimeoutException;
+import javax.sql.DataSource;
+
+/**
+ * An asynchronous facade of {@link MetadataContext}.
+ * <p>
+ * Each method submits a task to the executor which takes a connection from
+ * the data source, invokes the corresponding method of a
+ * {@link #context(java.sql.DatabaseMetaData) new context} and closes the
+ * connection. Independent calls, thus, overlap as far as the executor and the
+ * data source allow. Override {@link #context(java.sql.DatabaseMetaData)} for
+ * configuring contexts with suppressions, predicates and so on.
+ *
+ * <pre>{@code
+ * final AsyncMetadataContext context
+ *         = new AsyncMetadataContext(dataSource, executor) {
+ *     protected MetadataContext context(DatabaseMetaData metadata) {
+ *         return super.context(metadata).suppress("table/pseudoColumns");
+ *     }
+ * };
+ * final Future<List<Column>> columns
+ *         = context.getColumns(null, "S", "T", null);
+ * final Future<List<IndexInfo>> indices
+ *         = context.getIndexInfo(null, "S", "T", false, true);
+ * }</pre>
+ * Note that instances bound by contexts of this class can't load unfetched
+ * fields lazily for their connections are closed.
+ * <p>
+ * With a {@link #hedging(HedgingPolicy) hedging policy}, a call stalled longer
+ * than usual is hedged with an identical call on another connection and
+ * whichever finishes first wins. A hedge repeats the whole call, including
+ * the invocation fields of bound elements, e.g. the columns of each table
+ * bound by {@link #getTables(String, String, String, String[])}, until either
+ * attempt finishes; suppress those fields in
+ * {@link #context(java.sql.DatabaseMetaData)} for hedging root calls only.
+ * The losing attempt is cancelled cooperatively; it skips invocations not
+ * made yet and closes its own connection. Recursive crawls, i.e.
+ * {@link #getCatalogs(boolean)} and {@link #getSchemas(String, boolean)}, are
+ * never hedged.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class AsyncMetadataContext {
+
+    /**
+     * A holder of the timer on which hedges are scheduled.
+     */
+    private static final class Hedges {
+
+        static final Timer TIMER = new Timer(
+                AsyncMetadataContext.class.getSimpleName() + "-hedges", true);
+    }
+
+    /**
+     * A call on a context.
+     *
+     * @param <T> element type parameter
+     */
+    private interface Call<T> {
+
+        List<T> call(MetadataContext context) throws SQLException;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new instance.
+     *
+     * @param dataSource the data source from which connections are taken
+     * @param executor the executor on which calls are executed
+     */
+    public AsyncMetadataContext(final DataSource dataSource,
+                                final ExecutorService executor) {
+        super();
+        if (dataSource == null) {
+            throw new NullPointerException("dataSource is null");
+        }
+        if (executor == null) {
+            throw new NullPointerException("executor is null");
+        }
+        this.dataSource = dataSource;
+        this.executor = executor;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new context for given metadata. The default implementation
+     * returns a plain new context. Override this method for configuring
+     * contexts.
+     *
+     * @param metadata the metadata
+     * @return a new context
+     */
+    protected MetadataContext context(final DatabaseMetaData metadata) {
+        return new MetadataContext(metadata);
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Sets a policy of hedging calls and returns this instance.
+     *
+     * @param hedging the policy; {@code null} for not hedging calls
+     * @return this instance
+     */
+    public AsyncMetadataContext hedging(final HedgingPolicy hedging) {
+        this.hedging = hedging;
+        return this;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Submits a call which may be hedged.
+     *
+     * @param method the name of the method called
+     * @param call the call
+     * @param arguments the arguments of the method, for the shape of the call
+     * @return a future of the result
+     */
+    private <T> Future<List<T>> submit(final String method,
+                                       final Call<T> call,
+                                       final Object... arguments) {
+        final HedgingPolicy policy = hedging;
+        if (policy != null) {
+            return new Race<T>(HedgingPolicy.shape(method, arguments), call,
+                               policy).start();
+        }
+        return submit(call);
+    }
+
+    /**
+     * Submits a call which is never hedged, e.g. a recursive crawl.
+     *
+     * @param call the call
+     * @return a future of the result
+     */
+    private <T> Future<List<T>> submit(final Call<T> call) {
+        return executor.submit(new Callable<List<T>>() {
+            @Override
+            public List<T> call() throws SQLException {
+                final Connection connection = dataSource.getConnection();
+                try {
+                    return call.call(context(connection.getMetaData()));
+                } finally {
+                    connection.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * A race between a call and its hedge. The first result wins and the
+     * context of the other attempt, if any, is cancelled.
+     *
+     * @param <T> element type parameter
+     */
+    private final class Race<T> implements Future<List<T>> {
+
+        Race(final String shape, final Call<T> call,
+             final HedgingPolicy policy) {
+            super();
+            this.shape = shape;
+            this.call = call;
+            this.policy = policy;
+        }
+
+        Race<T> start() {
+            policy.called();
+            attempt(false);
+            return this;
+        }
+
+        // schedules the hedge once the primary attempt started running, as
+        // latencies are sampled, excluding waits for threads and connections
+        private synchronized void schedule() {
+            final long delay = policy.delay(shape);
+            if (done || delay < 0L) {
+                return;
+            }
+            hedge = new TimerTask() {
+                @Override
+                public void run() {
+                    if (policy.hedge()) {
+                        attempt(true);
+                    }
+                }
+            };
+            Hedges.TIMER.schedule(
+                    hedge, Math.max(1L, NANOSECONDS.toMillis(delay)));
+        }
+
+        private void attempt(final boolean hedged) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                pending++;
+            }
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        compete(hedged);
+                    }
+                });
+            } catch (final RejectedExecutionException ree) {
+                if (!hedged) {
+                    synchronized (this) {
+                        pending--;
+                    }
+                    throw ree;
+                }
+                finish(null, ree, hedged);
+            }
+        }
+
+        private void compete(final boolean hedged) {
+            List<T> list = null;
+            Throwable thrown = null;
+            try {
+                final Connection connection = dataSource.getConnection();
+                MetadataContext context = null;
+                try {
+                    context = context(connection.getMetaData());
+                    synchronized (this) {
+                        if (done) {
+                            return;
+                        }
+                        contexts.add(context);
+                    }
+                    if (!hedged) {
+                        schedule();
+                    }
+                    final long started = nanoTime();
+                    list = call.call(context);
+                    policy.sample(shape, nanoTime() - started);
+                } finally {
+                    synchronized (this) {
+                        contexts.remove(context);
+                    }
+                    connection.close(); // by the thread using it
+                }
+            } catch (final Throwable t) { // never a win, even an Error
+                thrown = t;
+            } finally {
+                finish(list, thrown, hedged);
+            }
+            if (thrown instanceof Error) {
+                throw (Error) thrown;
+            }
+        }
+
+        private synchronized void finish(final List<T> list,
+                                         final Throwable thrown,
+                                         final boolean hedged) {
+            pending--;
+            if (done) {
+                return;
+            }
+            if (thrown != null) {
+                failure = thrown;
+                if (pending > 0) {
+                    return; // the other attempt may still win
+                }
+            } else {
+                result = list;
+                if (hedged) {
+                    policy.won();
+                }
+            }
+            close();
+        }
+
+        // marks this race done and cancels attempts in flight
+        private void close() {
+            done = true;
+            if (hedge != null) {
+                hedge.cancel();
+            }
+            for (final MetadataContext loser : contexts) {
+                loser.cancel();
+            }
+            notifyAll();
+        }
+
+        @Override
+        public synchronized boolean cancel(final boolean mayInterrupt) {
+            if (done) {
+                return false;
+            }
+            cancelled = true;
+            close();
+            return true;
+        }
+
+        @Override
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public synchronized boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public synchronized List<T> get()
+                throws InterruptedException, ExecutionException {
+            while (!done) {
+                wait();
+            }
+            return result();
+        }
+
+        @Override
+        public synchronized List<T> get(final long timeout,
+                                        final TimeUnit unit)
+                throws InterruptedException, ExecutionException,
+                       TimeoutException {
+            final long deadline = nanoTime() + unit.toNanos(timeout);
+            while (!done) {
+                final long remaining = deadline - nanoTime();
+                if (remaining <= 0L) {
+                    throw new TimeoutException();
+                }
+                NANOSECONDS.timedWait(this, remaining);
+            }
+            return result();
+        }
+
+        private List<T> result() throws ExecutionException {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            if (result == null) {
+                throw new ExecutionException(failure);
+            }
+            return result;
+        }
+
+        // the shape of the call for sampling latencies
+        private final String shape;
+
+        private final Call<T> call;
+
+        private final HedgingPolicy policy;
+
+        private TimerTask hedge;
+
+        // contexts of attempts in flight
+        private final List<MetadataContext> contexts
+                = new ArrayList<MetadataContext>();
+
+        // the number of attempts started and not finished
+        private int pending;
+
+        private boolean done;
+
+        private boolean cancelled;
+
+        private List<T> result;
+
+        private Throwable failure;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Submits {@link MetadataContext#getCatalogs(MetadataContext, boolean)}.
+     *
+     * @param nonempty a flag for non empty list
+     * @return a future of the result
+     */
+    public Future<List<Catalog>> getCatalogs(final boolean nonempty) {
+        return submit(new Call<Catalog>() {
+            @Override
+            public List<Catalog> call(final MetadataContext context)
+                    throws SQLException {
+                return MetadataContext.getCatalogs(context, nonempty);
+            }
+        });
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getSchemas(MetadataContext, java.lang.String, boolean)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param nonempty a flag for non empty list
+     * @return a future of the result
+     */
+    public Future<List<Schema>> getSchemas(final String catalog,
+                                           final boolean nonempty) {
+        return submit(new Call<Schema>() {
+            @Override
+            public List<Schema> call(final MetadataContext context)
+                    throws SQLException {
+                return MetadataContext.getSchemas(context, catalog, nonempty);
+            }
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Submits
+     * {@link MetadataContext#getAttributes(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param typeNamePattern the value for {@code typeNamePattern} parameter
+     * @param attributeNamePattern the value for {@code attributeNamePattern}
+     * parameter
+     * @return a future of the result
+     */
+    public Future<List<Attribute>> getAttributes(
+            final String catalog, final String schemaPattern,
+            final String typeNamePattern, final String attributeNamePattern) {
+        return submit("getAttributes", new Call<Attribute>() {
+            @Override
+            public List<Attribute> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getAttributes(
+                        catalog, schemaPattern, typeNamePattern,
+                        attributeNamePattern);
+            }
+        }, catalog, schemaPattern, typeNamePattern, attributeNamePattern);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getBestRowIdentifier(java.lang.String, java.lang.String, java.lang.String, int, boolean)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema the value for {@code schema} parameter
+     * @param table the value for {@code table} parameter
+     * @param scope the value for {@code scope} parameter
+     * @param nullable the value for {@code nullable} parameter
+     * @return a future of the result
+     */
+    public Future<List<BestRowIdentifier>> getBestRowIdentifier(
+            final String catalog, final String schema, final String table,
+            final int scope, final boolean nullable) {
+        return submit(
+                "getBestRowIdentifier", new Call<BestRowIdentifier>() {
+            @Override
+            public List<BestRowIdentifier> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getBestRowIdentifier(
+                        catalog, schema, table, scope, nullable);
+            }
+        }, catalog, schema, table, scope, nullable);
+    }
+
+    /**
+     * Submits {@link MetadataContext#getCatalogs()}.
+     *
+     * @return a future of the result
+     */
+    public Future<List<Catalog>> getCatalogs() {
+        return submit("getCatalogs", new Call<Catalog>() {
+            @Override
+            public List<Catalog> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getCatalogs();
+            }
+        });
+    }
+
+    /**
+     * Submits {@link MetadataContext#getClientInfoProperties()}.
+     *
+     * @return a future of the result
+     */
+    public Future<List<ClientInfoProperty>> getClientInfoProperties() {
+        return submit(
+                "getClientInfoProperties", new Call<ClientInfoProperty>() {
+            @Override
+            public List<ClientInfoProperty> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getClientInfoProperties();
+            }
+        });
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getColumns(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern}
+     * parameter
+     * @return a future of the result
+     */
+    public Future<List<Column>> getColumns(
+            final String catalog, final String schemaPattern,
+            final String tableNamePattern, final String columnNamePattern) {
+        return submit("getColumns", new Call<Column>() {
+            @Override
+            public List<Column> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getColumns(
+                        catalog, schemaPattern, tableNamePattern,
+                        columnNamePattern);
+            }
+        }, catalog, schemaPattern, tableNamePattern, columnNamePattern);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getColumnPrivileges(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema the value for {@code schema} parameter
+     * @param table the value for {@code table} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern}
+     * parameter
+     * @return a future of the result
+     */
+    public Future<List<ColumnPrivilege>> getColumnPrivileges(
+            final String catalog, final String schema, final String table,
+            final String columnNamePattern) {
+        return submit("getColumnPrivileges", new Call<ColumnPrivilege>() {
+            @Override
+            public List<ColumnPrivilege> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getColumnPrivileges(
+                        catalog, schema, table, columnNamePattern);
+            }
+        }, catalog, schema, table, columnNamePattern);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getCrossReferences(java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param parentCatalog the value for {@code parentCatalog} parameter
+     * @param parentSchema the value for {@code parentSchema} parameter
+     * @param parentTable the value for {@code parentTable} parameter
+     * @param foreignCatalog the value for {@code foreignCatalog} parameter
+     * @param foreignSchema the value for {@code foreignSchema} parameter
+     * @param foreignTable the value for {@code foreignTable} parameter
+     * @return a future of the result
+     */
+    public Future<List<CrossReference>> getCrossReferences(
+            final String parentCatalog, final String parentSchema,
+            final String parentTable, final String foreignCatalog,
+            final String foreignSchema, final String foreignTable) {
+        return submit("getCrossReferences", new Call<CrossReference>() {
+            @Override
+            public List<CrossReference> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getCrossReferences(
+                        parentCatalog, parentSchema, parentTable,
+                        foreignCatalog, foreignSchema, foreignTable);
+            }
+        }, parentCatalog, parentSchema, parentTable, foreignCatalog,
+           foreignSchema, foreignTable);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getFunctionColumns(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param functionNamePattern the value for {@code functionNamePattern}
+     * parameter
+     * @param columnNamePattern the value for {@code columnNamePattern}
+     * parameter
+     * @return a future of the result
+     */
+    public Future<List<FunctionColumn>> getFunctionColumns(
+            final String catalog, final String schemaPattern,
+            final String functionNamePattern, final String columnNamePattern) {
+        return submit("getFunctionColumns", new Call<FunctionColumn>() {
+            @Override
+            public List<FunctionColumn> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getFunctionColumns(
+                        catalog, schemaPattern, functionNamePattern,
+                        columnNamePattern);
+            }
+        }, catalog, schemaPattern, functionNamePattern, columnNamePattern);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getFunctions(java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param functionNamePattern the value for {@code functionNamePattern}
+     * parameter
+     * @return a future of the result
+     */
+    public Future<List<Function>> getFunctions(
+            final String catalog, final String schemaPattern,
+            final String functionNamePattern) {
+        return submit("getFunctions", new Call<Function>() {
+            @Override
+            public List<Function> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getFunctions(
+                        catalog, schemaPattern, functionNamePattern);
+            }
+        }, catalog, schemaPattern, functionNamePattern);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getExportedKeys(java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema the value for {@code schema} parameter
+     * @param table the value for {@code table} parameter
+     * @return a future of the result
+     */
+    public Future<List<ExportedKey>> getExportedKeys(
+            final String catalog, final String schema, final String table) {
+        return submit("getExportedKeys", new Call<ExportedKey>() {
+            @Override
+            public List<ExportedKey> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getExportedKeys(catalog, schema, table);
+            }
+        }, catalog, schema, table);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getImportedKeys(java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema the value for {@code schema} parameter
+     * @param table the value for {@code table} parameter
+     * @return a future of the result
+     */
+    public Future<List<ImportedKey>> getImportedKeys(
+            final String catalog, final String schema, final String table) {
+        return submit("getImportedKeys", new Call<ImportedKey>() {
+            @Override
+            public List<ImportedKey> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getImportedKeys(catalog, schema, table);
+            }
+        }, catalog, schema, table);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getIndexInfo(java.lang.String, java.lang.String, java.lang.String, boolean, boolean)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema the value for {@code schema} parameter
+     * @param table the value for {@code table} parameter
+     * @param unique the value for {@code unique} parameter
+     * @param approximate the value for {@code approximate} parameter
+     * @return a future of the result
+     */
+    public Future<List<IndexInfo>> getIndexInfo(
+            final String catalog, final String schema, final String table,
+            final boolean unique, final boolean approximate) {
+        return submit("getIndexInfo", new Call<IndexInfo>() {
+            @Override
+            public List<IndexInfo> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getIndexInfo(
+                        catalog, schema, table, unique, approximate);
+            }
+        }, catalog, schema, table, unique, approximate);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getPrimaryKeys(java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema the value for {@code schema} parameter
+     * @param table the value for {@code table} parameter
+     * @return a future of the result
+     */
+    public Future<List<PrimaryKey>> getPrimaryKeys(
+            final String catalog, final String schema, final String table) {
+        return submit("getPrimaryKeys", new Call<PrimaryKey>() {
+            @Override
+            public List<PrimaryKey> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getPrimaryKeys(catalog, schema, table);
+            }
+        }, catalog, schema, table);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getProcedureColumns(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param procedureNamePattern the value for {@code procedureNamePattern}
+     * parameter
+     * @param columnNamePattern the value for {@code columnNamePattern}
+     * parameter
+     * @return a future of the result
+     */
+    public Future<List<ProcedureColumn>> getProcedureColumns(
+            final String catalog, final String schemaPattern,
+            final String procedureNamePattern, final String columnNamePattern) {
+        return submit("getProcedureColumns", new Call<ProcedureColumn>() {
+            @Override
+            public List<ProcedureColumn> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getProcedureColumns(
+                        catalog, schemaPattern, procedureNamePattern,
+                        columnNamePattern);
+            }
+        }, catalog, schemaPattern, procedureNamePattern, columnNamePattern);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getProcedures(java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param procedureNamePattern the value for {@code procedureNamePattern}
+     * parameter
+     * @return a future of the result
+     */
+    public Future<List<Procedure>> getProcedures(
+            final String catalog, final String schemaPattern,
+            final String procedureNamePattern) {
+        return submit("getProcedures", new Call<Procedure>() {
+            @Override
+            public List<Procedure> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getProcedures(
+                        catalog, schemaPattern, procedureNamePattern);
+            }
+        }, catalog, schemaPattern, procedureNamePattern);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getPseudoColumns(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern}
+     * parameter
+     * @return a future of the result
+     */
+    public Future<List<PseudoColumn>> getPseudoColumns(
+            final String catalog, final String schemaPattern,
+            final String tableNamePattern, final String columnNamePattern) {
+        return submit("getPseudoColumns", new Call<PseudoColumn>() {
+            @Override
+            public List<PseudoColumn> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getPseudoColumns(
+                        catalog, schemaPattern, tableNamePattern,
+                        columnNamePattern);
+            }
+        }, catalog, schemaPattern, tableNamePattern, columnNamePattern);
+    }
+
+    /**
+     * Submits {@link MetadataContext#getSchemas()}.
+     *
+     * @return a future of the result
+     */
+    public Future<List<SchemaName>> getSchemas() {
+        return submit("getSchemas", new Call<SchemaName>() {
+            @Override
+            public List<SchemaName> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getSchemas();
+            }
+        });
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getSchemas(java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @return a future of the result
+     */
+    public Future<List<Schema>> getSchemas(
+            final String catalog, final String schemaPattern) {
+        return submit("getSchemas", new Call<Schema>() {
+            @Override
+            public List<Schema> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getSchemas(catalog, schemaPattern);
+            }
+        }, catalog, schemaPattern);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getTables(java.lang.String, java.lang.String, java.lang.String, java.lang.String[])}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @param types the value for {@code types} parameter
+     * @return a future of the result
+     */
+    public Future<List<Table>> getTables(
+            final String catalog, final String schemaPattern,
+            final String tableNamePattern, final String[] types) {
+        return submit("getTables", new Call<Table>() {
+            @Override
+            public List<Table> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getTables(
+                        catalog, schemaPattern, tableNamePattern, types);
+            }
+        }, catalog, schemaPattern, tableNamePattern, types);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getTablePrivileges(java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @return a future of the result
+     */
+    public Future<List<TablePrivilege>> getTablePrivileges(
+            final String catalog, final String schemaPattern,
+            final String tableNamePattern) {
+        return submit("getTablePrivileges", new Call<TablePrivilege>() {
+            @Override
+            public List<TablePrivilege> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getTablePrivileges(
+                        catalog, schemaPattern, tableNamePattern);
+            }
+        }, catalog, schemaPattern, tableNamePattern);
+    }
+
+    /**
+     * Submits {@link MetadataContext#getTableTypes()}.
+     *
+     * @return a future of the result
+     */
+    public Future<List<TableType>> getTableTypes() {
+        return submit("getTableTypes", new Call<TableType>() {
+            @Override
+            public List<TableType> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getTableTypes();
+            }
+        });
+    }
+
+    /**
+     * Submits {@link MetadataContext#getTypeInfo()}.
+     *
+     * @return a future of the result
+     */
+    public Future<List<TypeInfo>> getTypeInfo() {
+        return submit("getTypeInfo", new Call<TypeInfo>() {
+            @Override
+            public List<TypeInfo> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getTypeInfo();
+            }
+        });
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getUDTs(java.lang.String, java.lang.String, java.lang.String, int[])}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param typeNamePattern the value for {@code typeNamePattern} parameter
+     * @param types the value for {@code types} parameter
+     * @return a future of the result
+     */
+    public Future<List<UDT>> getUDTs(
+            final String catalog, final String schemaPattern,
+            final String typeNamePattern, final int[] types) {
+        return submit("getUDTs", new Call<UDT>() {
+            @Override
+            public List<UDT> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getUDTs(
+                        catalog, schemaPattern, typeNamePattern, types);
+            }
+        }, catalog, schemaPattern, typeNamePattern, types);
+    }
+
+    /**
+     * Submits
+     * {@link MetadataContext#getVersionColumns(java.lang.String, java.lang.String, java.lang.String)}.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema the value for {@code schema} parameter
+     * @param table the value for {@code table} parameter
+     * @return a future of the result
+     */
+    public Future<List<VersionColumn>> getVersionColumns(
+            final String catalog, final String schema, final String table) {
+        return submit("getVersionColumns", new Call<VersionColumn>() {
+            @Override
+            public List<VersionColumn> call(final MetadataContext context)
+                    throws SQLException {
+                return context.getVersionColumns(catalog, schema, table);
+            }
+        }, catalog, schema, table);
+    }
+    // -------------------------------------------------------------------------
+    private final DataSource dataSource;
+
+    private final ExecutorService executor;
+
+    private volatile HedgingPolicy hedging;
+}
@@ -203,6 +203,15 @@ public class Attribute implements Serializable {
         this.nullable = nullable;
     }
 
+    /**
+     * Returns the constant of {@link #getNullable() nullable} value.
+     *
+     * @return the constant of nullable value; {@code null} if unknown
+     */
+    public Nullable getNullableAsEnum() {
+        return IntFieldEnums.lookup(Nullable.class, nullable);
+    }
+
     // ----------------------------------------------------------------- remarks
     public String getRemarks() {
         return remarks;
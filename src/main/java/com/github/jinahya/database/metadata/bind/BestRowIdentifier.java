@@ -173,6 +173,15 @@ public class BestRowIdentifier implements Serializable {
         this.scope = scope;
     }
 
+    /**
+     * Returns the constant of {@link #getScope() scope} value.
+     *
+     * @return the constant of scope value; {@code null} if unknown
+     */
+    public Scope getScopeAsEnum() {
+        return IntFieldEnums.lookup(Scope.class, scope);
+    }
+
     // -------------------------------------------------------------- columnName
     public String getColumnName() {
         return columnName;
@@ -236,6 +245,15 @@ public class BestRowIdentifier implements Serializable {
         this.pseudoColumn = pseudoColumn;
     }
 
+    /**
+     * Returns the constant of {@link #getPseudoColumn() pseudoColumn} value.
+     *
+     * @return the constant of pseudoColumn value; {@code null} if unknown
+     */
+    public PseudoColumn getPseudoColumnAsEnum() {
+        return IntFieldEnums.lookup(PseudoColumn.class, pseudoColumn);
+    }
+
     // -------------------------------------------------------------------------
     @XmlElement
     @Bind(label = "SCOPE")
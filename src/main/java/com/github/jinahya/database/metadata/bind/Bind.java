@@ -21,16 +21,56 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Binds a column of result sets, by its label, to a field or a method.
+ * <p>
+ * Besides fields of model classes, this annotation can be used on fields of
+ * classes, or on getter methods of interfaces, defined by callers for
+ * projecting only some of columns. See
+ * {@link MetadataContext#project(Class, String, Object...)}.
+ * <pre>{@code
+ * public interface TableColumn {
+ *     @Bind(label = "TABLE_NAME")
+ *     String getTableName();
+ *     @Bind(label = "COLUMN_NAME")
+ *     String getColumnName();
+ *     @Bind(label = "DATA_TYPE")
+ *     int getDataType();
+ * }
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
-@Target({ElementType.FIELD})
-@interface Bind {
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Bind {
 
+    /**
+     * The label of the column.
+     *
+     * @return the label of the column
+     */
     String label();
 
+    /**
+     * Indicates whether the column may be {@code null}.
+     *
+     * @return {@code true} if the column may be {@code null}
+     */
     boolean nillable() default false;
 
+    /**
+     * Indicates whether the column is not bound.
+     *
+     * @return {@code true} if the column is not bound
+     */
     boolean unused() default false;
 
+    /**
+     * Indicates whether the column is reserved for future use.
+     *
+     * @return {@code true} if the column is reserved
+     */
     boolean reserved() default false;
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts anomalies found while binding records.
+ * <p>
+ * Anomalies are counted, per model class, column label and kind, in numbers
+ * of affected records. A context logs a single summary of anomalies found
+ * during each crawl when it's finished.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#getDiagnostics()
+ */
+public class BindDiagnostics {
+
+    /**
+     * Constants for kinds of anomalies.
+     */
+    public static enum Kind {
+
+        /**
+         * A label of a bind field is not found in the result set.
+         */
+        UNKNOWN_LABEL,
+        /**
+         * A {@code null} value is retrieved for a non-nillable or a primitive
+         * bind field.
+         */
+        NULL_VALUE,
+        /**
+         * A label in the result set is not bound to any field.
+         */
+        UNHANDLED_LABEL,
+        /**
+         * A deferred invocation field failed to load; the label is the name
+         * of the field and the records are the failed loads.
+         */
+        FAILED_LOAD
+    }
+
+    private static final class Entry {
+
+        Entry(final Class<?> type, final String label, final Kind kind) {
+            super();
+            this.type = type;
+            this.label = label;
+            this.kind = kind;
+        }
+
+        final Class<?> type;
+
+        final String label;
+
+        final Kind kind;
+
+        long count;
+
+        long pending;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Adds given number of records to the count of specified anomaly.
+     *
+     * @param type the model class
+     * @param label the column label
+     * @param kind the kind of the anomaly
+     * @param records the number of affected records
+     */
+    void add(final Class<?> type, final String label, final Kind kind,
+             final long records) {
+        if (records <= 0L) {
+            return;
+        }
+        final List<Object> key = Arrays.<Object>asList(type, label, kind);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(type, label, kind);
+            entries.put(key, entry);
+        }
+        entry.count += records;
+        entry.pending += records;
+    }
+
+    /**
+     * Returns a summary of anomalies added since the last invocation of this
+     * method.
+     *
+     * @return a summary; {@code null} if no anomalies are added
+     */
+    String drain() {
+        return drain(EnumSet.allOf(Kind.class));
+    }
+
+    /**
+     * Returns a summary of anomalies of specified kinds added since the last
+     * invocation of this method for those kinds.
+     *
+     * @param kinds the kinds of anomalies to summarize
+     * @return a summary; {@code null} if no anomalies of {@code kinds} are
+     * added
+     */
+    String drain(final Set<Kind> kinds) {
+        StringBuilder builder = null;
+        for (final Entry entry : entries.values()) {
+            if (entry.pending == 0L || !kinds.contains(entry.kind)) {
+                continue;
+            }
+            if (builder == null) {
+                builder = new StringBuilder("binding anomalies;");
+            }
+            append(builder, entry, entry.pending);
+            entry.pending = 0L;
+        }
+        return builder == null ? null : builder.toString();
+    }
+
+    private static void append(final StringBuilder builder,
+                               final Entry entry, final long records) {
+        builder.append("\n\t").append(entry.kind)
+                .append(", type=").append(entry.type.getSimpleName())
+                .append(", label=").append(entry.label)
+                .append(", records=").append(records);
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the number of records affected by specified anomaly.
+     *
+     * @param type the model class
+     * @param label the column label
+     * @param kind the kind of the anomaly
+     * @return the number of affected records
+     */
+    public long getCount(final Class<?> type, final String label,
+                         final Kind kind) {
+        final Entry entry = entries.get(
+                Arrays.<Object>asList(type, label, kind));
+        return entry == null ? 0L : entry.count;
+    }
+
+    /**
+     * Returns a summary of all anomalies counted so far.
+     *
+     * @return a summary of all anomalies
+     */
+    public String report() {
+        final StringBuilder builder = new StringBuilder("binding anomalies;");
+        for (final Entry entry : entries.values()) {
+            append(builder, entry, entry.count);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Clears all counts.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    // -------------------------------------------------------------------------
+    private final Map<List<Object>, Entry> entries
+            = new LinkedHashMap<List<Object>, Entry>();
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+/**
+ * A listener notified while a {@link MetadataContext} traverses invocation
+ * fields.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+abstract class BindListener {
+
+    /**
+     * Notified when bind fields of given instance are set and the instance is
+     * accepted by predicates, before its invocation fields are processed. The
+     * default implementation does nothing.
+     *
+     * @param instance the instance
+     */
+    void started(final Object instance) {
+    }
+
+    /**
+     * Notified when invocation fields of given instance are processed. The
+     * default implementation returns {@code true}.
+     *
+     * @param instance the instance
+     * @return {@code true} to add the instance to the list of its parent;
+     * {@code false} to discard it
+     */
+    boolean finished(final Object instance) {
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+/**
+ * A predicate tested against each bound instance before its invocation fields
+ * are processed.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @param <T> instance type parameter
+ * @see MetadataContext#filter(java.lang.Class, BindPredicate)
+ */
+public interface BindPredicate<T> {
+
+    /**
+     * Tests given instance whose bind fields are set.
+     *
+     * @param instance the instance to test
+     * @return {@code true} to keep the instance and process its invocation
+     * fields; {@code false} to discard the instance along with its
+     * descendants.
+     */
+    boolean test(T instance);
+}
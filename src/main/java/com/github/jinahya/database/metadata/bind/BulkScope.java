@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * A scope of a bulk call of the adaptive fetch; calls of sibling owners
+ * sharing the arguments of the bulk call.
+ * <p>
+ * Calls are made per owner until the adaptive fetch chooses to call in bulk.
+ * Elements of the bulk call are then grouped by the values of their owner
+ * columns and each group is served, once, to the call of its owner.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see AdaptiveFetch
+ */
+final class BulkScope {
+
+    /**
+     * Groups given elements by values of specified fields.
+     *
+     * @param fields the fields of owner columns
+     * @param elements the elements
+     * @return elements grouped by values of their owners
+     * @throws IllegalAccessException if failed to read any field
+     */
+    static Map<List<String>, List<Object>> groups(final List<Field> fields,
+                                                  final List<Object> elements)
+            throws IllegalAccessException {
+        final Map<List<String>, List<Object>> groups
+                = new HashMap<List<String>, List<Object>>();
+        for (final Object element : elements) {
+            final List<String> owner = new ArrayList<String>(fields.size());
+            for (final Field field : fields) {
+                final Object value = field.get(element);
+                owner.add(value == null ? null : String.valueOf(value));
+            }
+            List<Object> group = groups.get(owner);
+            if (group == null) {
+                group = new ArrayList<Object>();
+                groups.put(owner, group);
+            }
+            group.add(element);
+        }
+        return groups;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new instance.
+     *
+     * @param key the method and the arguments of the bulk call
+     */
+    BulkScope(final List<Object> key) {
+        super();
+        this.key = key;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Counts a call requested by an owner and returns the number of calls
+     * requested so far.
+     *
+     * @return the number of calls requested
+     */
+    int requested() {
+        return ++requests;
+    }
+
+    /**
+     * Returns the total latency of calls made per owner.
+     *
+     * @return the total latency in nanoseconds
+     */
+    long spent() {
+        return spent;
+    }
+
+    /**
+     * Checks whether the bulk call has been made and grouped.
+     *
+     * @return {@code true} if grouped; {@code false} otherwise
+     */
+    boolean grouped() {
+        return groups != null;
+    }
+
+    /**
+     * Groups elements of the bulk call. Groups of owners already called per
+     * owner are discarded. The bulk call is discarded, as not grouped, unless
+     * those groups have as many elements as the calls made per owner
+     * returned for their owners, which fails with drivers taking
+     * {@code null} for no tables.
+     *
+     * @param fields the fields of owner columns
+     * @param elements the elements of the bulk call
+     * @return {@code true} if grouped; {@code false} if inconsistent
+     * @throws IllegalAccessException if failed to read any field
+     */
+    boolean group(final List<Field> fields, final List<Object> elements)
+            throws IllegalAccessException {
+        groups = groups(fields, elements);
+        for (final Entry<List<String>, Integer> entry : probed.entrySet()) {
+            final List<Object> group = groups.get(entry.getKey());
+            if ((group == null ? 0 : group.size()) != entry.getValue()) {
+                groups = null;
+                return false;
+            }
+        }
+        groups.keySet().removeAll(probed.keySet());
+        return true;
+    }
+
+    /**
+     * Returns the group of given owner, unless it has been served already.
+     *
+     * @param owner values of the owner
+     * @return the group of the owner, possibly empty; {@code null} if not
+     * grouped or already served
+     */
+    List<Object> serve(final List<String> owner) {
+        if (groups == null || !served.add(owner)) {
+            return null;
+        }
+        final List<Object> group = groups.remove(owner);
+        return group == null ? Collections.<Object>emptyList() : group;
+    }
+
+    /**
+     * Notes a call made per owner. The elements bound by the call may
+     * include those of siblings; e.g. {@code T_1} matches {@code T01} as well.
+     *
+     * @param owner values of the owner
+     * @param elapsed the latency of the call
+     * @param fields the fields of owner columns; {@code null} for not grouped
+     * @param elements the elements bound by the call
+     * @throws IllegalAccessException if failed to read any field
+     */
+    void called(final List<String> owner, final long elapsed,
+                final List<Field> fields, final List<Object> elements)
+            throws IllegalAccessException {
+        spent += elapsed;
+        if (fields != null) {
+            final List<Object> own = groups(fields, elements).get(owner);
+            probed.put(owner, own == null ? 0 : own.size());
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // the method and the arguments of the bulk call
+    final List<Object> key;
+
+    // the number of calls requested
+    private int requests;
+
+    // the total latency of calls made per owner
+    private long spent;
+
+    // elements of the bulk call grouped by owners
+    private Map<List<String>, List<Object>> groups;
+
+    // owners served with their groups
+    private final Set<List<String>> served = new HashSet<List<String>>();
+
+    // numbers of elements of owners called per owner
+    private final Map<List<String>, Integer> probed
+            = new HashMap<List<String>, Integer>();
+}
@@ -81,7 +81,11 @@ public class Catalog implements Serializable {//extends AbstractTableDomain {
      */
     public List<Schema> getSchemas() {
         if (schemas == null) {
-            schemas = new ArrayList<Schema>();
+            final List<Schema> list = new ArrayList<Schema>();
+            if (!Deferred.load(deferred, this, "schemas", list)) {
+                return list; // retried on the next access
+            }
+            schemas = list;
         }
         return schemas;
     }
@@ -90,6 +94,8 @@ public class Catalog implements Serializable {//extends AbstractTableDomain {
     @XmlAttribute
     Boolean virtual;
 
+    transient Deferred deferred;
+
     @XmlElement
     @Bind(label = "TABLE_CAT")
     private String tableCat;
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static java.lang.String.format;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A result of {@link MetadataCensus#take(String, String)}; numbers of tables,
+ * columns and indices per schema and the distribution of column types.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class Census {
+
+    /**
+     * Numbers of objects in a schema.
+     */
+    public static class Tally {
+
+        Tally(final String catalog, final String schema) {
+            super();
+            this.catalog = catalog;
+            this.schema = schema;
+        }
+
+        // ---------------------------------------------------------------------
+        @Override
+        public String toString() {
+            return format("%s.%s: tables=%d, columns=%d, indices=%d,"
+                          + " maxColumns=%d", catalog, schema, tables, columns,
+                          indices, maxColumns);
+        }
+
+        // ---------------------------------------------------------------------
+        /**
+         * Returns the catalog of the schema.
+         *
+         * @return the catalog; may be {@code null}
+         */
+        public String getCatalog() {
+            return catalog;
+        }
+
+        /**
+         * Returns the name of the schema.
+         *
+         * @return the name of the schema; may be {@code null}
+         */
+        public String getSchema() {
+            return schema;
+        }
+
+        /**
+         * Returns the number of tables.
+         *
+         * @return the number of tables
+         */
+        public int getTables() {
+            return tables;
+        }
+
+        /**
+         * Returns the number of columns of tables.
+         *
+         * @return the number of columns
+         */
+        public long getColumns() {
+            return columns;
+        }
+
+        /**
+         * Returns the number of indices of tables.
+         *
+         * @return the number of indices; {@code -1} if not counted
+         */
+        public long getIndices() {
+            return indices;
+        }
+
+        /**
+         * Returns the maximum number of columns of a table.
+         *
+         * @return the maximum number of columns
+         */
+        public int getMaxColumns() {
+            return maxColumns;
+        }
+
+        // ---------------------------------------------------------------------
+        private final String catalog;
+
+        private final String schema;
+
+        int tables;
+
+        long columns;
+
+        long indices = -1L;
+
+        int maxColumns;
+
+        // names of tables counted
+        final Set<String> names = new HashSet<String>();
+    }
+
+    // -------------------------------------------------------------------------
+    Census() {
+        super();
+    }
+
+    // -------------------------------------------------------------------------
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Tally tally : tallies) {
+            builder.append(tally).append(format("%n"));
+        }
+        builder.append("types:");
+        for (int i = 0; i < types; i++) {
+            builder.append(' ').append(dataTypes[i]).append('=')
+                    .append(typeCounts[i]);
+        }
+        return builder.toString();
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Counts a column of specified type.
+     *
+     * @param dataType the type of the column
+     */
+    void type(final int dataType) {
+        for (int i = 0; i < types; i++) {
+            if (dataTypes[i] == dataType) {
+                typeCounts[i]++;
+                return;
+            }
+        }
+        if (types == dataTypes.length) {
+            dataTypes = Arrays.copyOf(dataTypes, types << 1);
+            typeCounts = Arrays.copyOf(typeCounts, types << 1);
+        }
+        dataTypes[types] = dataType;
+        typeCounts[types++] = 1L;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns tallies of schemas in the order they are found.
+     *
+     * @return an unmodifiable list of tallies
+     */
+    public List<Tally> getTallies() {
+        return Collections.unmodifiableList(tallies);
+    }
+
+    /**
+     * Returns the number of tables of all schemas.
+     *
+     * @return the total number of tables
+     */
+    public long getTables() {
+        long total = 0L;
+        for (final Tally tally : tallies) {
+            total += tally.tables;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of columns of all schemas.
+     *
+     * @return the total number of columns
+     */
+    public long getColumns() {
+        long total = 0L;
+        for (final Tally tally : tallies) {
+            total += tally.columns;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the maximum number of columns of a table of all schemas.
+     *
+     * @return the maximum number of columns
+     */
+    public int getMaxColumns() {
+        int max = 0;
+        for (final Tally tally : tallies) {
+            max = Math.max(max, tally.maxColumns);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the types of columns counted, in ascending order.
+     *
+     * @return an array of values of {@link java.sql.Types}
+     */
+    public int[] getDataTypes() {
+        final int[] sorted = Arrays.copyOf(dataTypes, types);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Returns the number of columns of specified type.
+     *
+     * @param dataType a value of {@link java.sql.Types}
+     * @return the number of columns of the type
+     */
+    public long getColumns(final int dataType) {
+        for (int i = 0; i < types; i++) {
+            if (dataTypes[i] == dataType) {
+                return typeCounts[i];
+            }
+        }
+        return 0L;
+    }
+
+    // -------------------------------------------------------------------------
+    final List<Tally> tallies = new ArrayList<Tally>();
+
+    // distinct types and their counts
+    private int[] dataTypes = new int[16];
+
+    private long[] typeCounts = new long[16];
+
+    private int types;
+}
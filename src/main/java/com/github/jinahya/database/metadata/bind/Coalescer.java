@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces identical invocations made concurrently by contexts.
+ * <p>
+ * While an invocation is in flight, other contexts making the same
+ * invocation, the same method with the same arguments, wait for it and take
+ * its bound elements instead of calling the database. Elements are shared,
+ * not copied, among those contexts. Elements holding invocation fields
+ * deferred, by a fetch plan or a deadline, are never shared since they load
+ * those fields through the context which bound them; other contexts make
+ * such invocations by themselves. A coalescer should only be shared among
+ * contexts configured identically on the same database.
+ *
+ * <pre>{@code
+ * final Coalescer coalescer = new Coalescer();
+ * // for each thread
+ * new MetadataContext(metadata).coalescer(coalescer);
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#coalescer(Coalescer)
+ */
+public class Coalescer {
+
+    private static final class Flight {
+
+        List<?> result;
+
+        Exception failure;
+
+        boolean unshared;
+
+        final CountDownLatch latch = new CountDownLatch(1);
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Calls given callable unless an identical call is in flight, in which
+     * case waits for it and returns its result.
+     *
+     * @param <T> element type parameter
+     * @param key the key identifying the call
+     * @param callable the callable
+     * @return the result of the call
+     * @throws SQLException if a database error occurs.
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> call(final Object key, final Callable<List<T>> callable)
+            throws SQLException {
+        final Flight flight = new Flight();
+        final Flight leader = flights.putIfAbsent(key, flight);
+        if (leader != null) {
+            try {
+                leader.latch.await();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("interrupted while waiting", ie);
+            }
+            if (leader.unshared) {
+                return call(callable);
+            }
+            coalesced.incrementAndGet();
+            if (leader.failure instanceof SQLException) {
+                throw (SQLException) leader.failure;
+            }
+            if (leader.failure != null) {
+                throw new SQLException(leader.failure);
+            }
+            return (List<T>) leader.result;
+        }
+        try {
+            final List<T> result = call(callable);
+            flight.result = result;
+            return result;
+        } catch (final SQLException sqle) {
+            flight.failure = sqle;
+            throw sqle;
+        } catch (final RuntimeException re) {
+            flight.failure = re;
+            throw re;
+        } finally {
+            flights.remove(key, flight);
+            flight.latch.countDown();
+        }
+    }
+
+    private static <T> List<T> call(final Callable<List<T>> callable)
+            throws SQLException {
+        try {
+            return callable.call();
+        } catch (final SQLException sqle) {
+            throw sqle;
+        } catch (final RuntimeException re) {
+            throw re;
+        } catch (final Exception e) {
+            throw new SQLException(e);
+        }
+    }
+
+    /**
+     * Marks the call of given key, in flight by the current thread, as not
+     * shareable. Those waiting for it make the call by themselves.
+     *
+     * @param key the key identifying the call
+     */
+    void unshared(final Object key) {
+        final Flight flight = flights.get(key);
+        if (flight != null) {
+            flight.unshared = true;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the number of calls which have taken results of identical calls
+     * in flight.
+     *
+     * @return the number of coalesced calls
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    // -------------------------------------------------------------------------
+    private final ConcurrentMap<Object, Flight> flights
+            = new ConcurrentHashMap<Object, Flight>();
+
+    private final AtomicLong coalesced = new AtomicLong();
+}
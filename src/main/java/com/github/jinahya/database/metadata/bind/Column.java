@@ -238,6 +238,15 @@ public class Column implements Serializable {
         this.nullable = nullable;
     }
 
+    /**
+     * Returns the constant of {@link #getNullable() nullable} value.
+     *
+     * @return the constant of nullable value; {@code null} if unknown
+     */
+    public Nullable getNullableAsEnum() {
+        return IntFieldEnums.lookup(Nullable.class, nullable);
+    }
+
     // ----------------------------------------------------------------- remarks
     public String getRemarks() {
         return remarks;
@@ -358,11 +367,18 @@ public class Column implements Serializable {
     // -------------------------------------------------------- columnPrivileges
     public List<ColumnPrivilege> getColumnPrivileges() {
         if (columnPrivileges == null) {
-            columnPrivileges = new ArrayList<ColumnPrivilege>();
+            final List<ColumnPrivilege> list = new ArrayList<ColumnPrivilege>();
+            if (!Deferred.load(deferred, this, "columnPrivileges", list)) {
+                return list; // retried on the next access
+            }
+            columnPrivileges = list;
         }
         return columnPrivileges;
     }
 
+    // -------------------------------------------------------------------------
+    transient Deferred deferred;
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "TABLE_CAT", nillable = true)
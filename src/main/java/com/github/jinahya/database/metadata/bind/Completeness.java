@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+/**
+ * Constants for how completely descendants of an instance are crawled.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#deadline(long, java.util.concurrent.TimeUnit)
+ */
+public enum Completeness {
+
+    /**
+     * All descendants are fetched, or deferred by the fetch plan.
+     */
+    COMPLETE,
+    /**
+     * Some of descendants are not fetched due to the deadline.
+     */
+    PARTIAL,
+    /**
+     * None of children are fetched due to the deadline.
+     */
+    NOT_FETCHED
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static java.lang.String.format;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * An estimate of a crawl made by {@link MetadataContext#estimate(int)}.
+ * <p>
+ * For each {@link java.sql.DatabaseMetaData} method, the number of calls the
+ * crawl would make and the number of rows those calls would return are
+ * estimated. Rows of methods marked as {@link #isSampled(String) sampled}
+ * are extrapolated from calls made for a sample of owners.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CrawlEstimate {
+
+    // -------------------------------------------------------------------------
+    /**
+     * Adds calls of specified method.
+     *
+     * @param method the name of the method
+     * @param calls the number of calls
+     * @param rows the number of rows
+     * @param sampled {@code true} if the rows are extrapolated from samples
+     */
+    void add(final String method, final long calls, final long rows,
+             final boolean sampled) {
+        long[] counts = methods.get(method);
+        if (counts == null) {
+            counts = new long[2];
+            methods.put(method, counts);
+        }
+        counts[0] += calls;
+        counts[1] += rows;
+        if (sampled) {
+            this.sampled.add(method);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the names of methods called, in the order they are first
+     * called.
+     *
+     * @return an unmodifiable set of method names
+     */
+    public Set<String> getMethods() {
+        return Collections.unmodifiableSet(methods.keySet());
+    }
+
+    /**
+     * Returns the estimated number of calls of specified method.
+     *
+     * @param method the name of the method
+     * @return the number of calls; {@code 0} if not called
+     */
+    public long getCalls(final String method) {
+        final long[] counts = methods.get(method);
+        return counts == null ? 0L : counts[0];
+    }
+
+    /**
+     * Returns the estimated number of rows returned by calls of specified
+     * method.
+     *
+     * @param method the name of the method
+     * @return the number of rows; {@code 0} if not called
+     */
+    public long getRows(final String method) {
+        final long[] counts = methods.get(method);
+        return counts == null ? 0L : counts[1];
+    }
+
+    /**
+     * Checks whether rows of specified method are extrapolated from samples.
+     *
+     * @param method the name of the method
+     * @return {@code true} if sampled; {@code false} otherwise
+     */
+    public boolean isSampled(final String method) {
+        return sampled.contains(method);
+    }
+
+    /**
+     * Returns the estimated number of calls of all methods.
+     *
+     * @return the total number of calls
+     */
+    public long getTotalCalls() {
+        long total = 0L;
+        for (final long[] counts : methods.values()) {
+            total += counts[0];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the estimated number of rows of all methods.
+     *
+     * @return the total number of rows
+     */
+    public long getTotalRows() {
+        long total = 0L;
+        for (final long[] counts : methods.values()) {
+            total += counts[1];
+        }
+        return total;
+    }
+
+    // -------------------------------------------------------------------------
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder(
+                format("%-24s %12s %12s%n", "method", "calls", "rows"));
+        for (final Entry<String, long[]> entry : methods.entrySet()) {
+            builder.append(format(
+                    "%-24s %12d %12d%s%n", entry.getKey(),
+                    entry.getValue()[0], entry.getValue()[1],
+                    sampled.contains(entry.getKey()) ? " (sampled)" : ""));
+        }
+        return builder.append(format("%-24s %12d %12d", "total",
+                                     getTotalCalls(), getTotalRows()))
+                .toString();
+    }
+
+    // -------------------------------------------------------------------------
+    // calls and rows mapped to method names
+    private final Map<String, long[]> methods
+            = new LinkedHashMap<String, long[]>();
+
+    private final Set<String> sampled = new HashSet<String>();
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+/**
+ * An event published by {@link CrawlPublisher}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CrawlEvent {
+
+    /**
+     * Constants for types of events.
+     */
+    public static enum Type {
+
+        /**
+         * A schema is bound and its children are about to be crawled. The
+         * instance is a {@link Schema}.
+         */
+        SCHEMA_STARTED,
+        /**
+         * A table is bound. The instance is a {@link Table}.
+         */
+        TABLE_BOUND,
+        /**
+         * A column is bound. The instance is a {@link Column}.
+         */
+        COLUMN_BOUND,
+        /**
+         * Children of a schema are crawled. The instance is a {@link Schema}.
+         */
+        SCHEMA_FINISHED
+    }
+
+    // -------------------------------------------------------------------------
+    CrawlEvent(final Type type, final Object instance) {
+        super();
+        this.type = type;
+        this.instance = instance;
+    }
+
+    // -------------------------------------------------------------------------
+    @Override
+    public String toString() {
+        return super.toString() + "{"
+               + "type=" + type
+               + ",instance=" + instance
+               + "}";
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the type of this event.
+     *
+     * @return the type of this event
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the instance of this event.
+     *
+     * @return the instance of this event
+     */
+    public Object getInstance() {
+        return instance;
+    }
+
+    // -------------------------------------------------------------------------
+    private final Type type;
+
+    private final Object instance;
+}
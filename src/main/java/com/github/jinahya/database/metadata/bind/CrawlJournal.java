@@ -0,0 +1,275 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import static java.lang.String.format;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static java.util.logging.Level.SEVERE;
+import java.util.logging.Logger;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * A journal of completely crawled schemas and tables.
+ * <p>
+ * A context with a journal appends each schema and table, along with its
+ * descendants, to the journal file as soon as it's completely crawled. When
+ * a crawl is restarted with the same file, units found in the journal are
+ * restored in place, without descending into them, so that the result equals
+ * to that of an uninterrupted crawl. A journal should only be reused by
+ * contexts configured identically on the same database, and the file should
+ * be deleted once the crawl is finished.
+ *
+ * <pre>{@code
+ * final CrawlJournal journal = new CrawlJournal(new File("crawl.journal"));
+ * try {
+ *     catalogs = getCatalogs(
+ *             new MetadataContext(metadata).journal(journal), true);
+ * } finally {
+ *     journal.close();
+ * }
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#journal(CrawlJournal)
+ */
+public class CrawlJournal implements Closeable {
+
+    private static final Logger logger
+            = getLogger(CrawlJournal.class.getName());
+
+    /**
+     * A reference, by key, to a unit recorded earlier.
+     */
+    private static final class Ref implements Serializable {
+
+        private static final long serialVersionUID = -3195311476405380839L;
+
+        Ref(final List<String> key) {
+            super();
+            this.key = key;
+        }
+
+        final List<String> key;
+    }
+
+    // -------------------------------------------------------------------------
+    private static List<String> key(final Object instance) {
+        if (instance instanceof Table) {
+            final Table table = (Table) instance;
+            return Arrays.asList("table", table.getTableCat(),
+                                 table.getTableSchem(), table.getTableName());
+        }
+        if (instance instanceof Schema) {
+            final Schema schema = (Schema) instance;
+            return Arrays.asList("schema", schema.getTableCatalog(),
+                                 schema.getTableSchem());
+        }
+        return null;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new instance with given file. Units recorded in the file, if
+     * exists, are read.
+     *
+     * @param file the journal file
+     * @throws IOException if an I/O error occurs.
+     */
+    public CrawlJournal(final File file) throws IOException {
+        super();
+        if (file == null) {
+            throw new NullPointerException("file is null");
+        }
+        if (file.exists()) {
+            read(file);
+        }
+        output = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file, true)));
+    }
+
+    private void read(final File file) throws IOException {
+        long valid = 0L;
+        final DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(file)));
+        try {
+            while (true) {
+                final byte[] bytes;
+                try {
+                    bytes = new byte[input.readInt()];
+                    input.readFully(bytes);
+                } catch (final EOFException eofe) {
+                    break; // possibly a record partially written
+                }
+                final Object[] record;
+                final ObjectInputStream objects = new ObjectInputStream(
+                        new ByteArrayInputStream(bytes)) {
+                    {
+                        enableResolveObject(true);
+                    }
+
+                    @Override
+                    protected Object resolveObject(final Object obj)
+                            throws IOException {
+                        if (!(obj instanceof Ref)) {
+                            return obj;
+                        }
+                        final Object unit = units.get(((Ref) obj).key);
+                        if (unit == null) {
+                            throw new InvalidObjectException(
+                                    "no unit recorded for " + ((Ref) obj).key);
+                        }
+                        return unit;
+                    }
+                };
+                valid += 4 + bytes.length;
+                try {
+                    record = (Object[]) objects.readObject();
+                } catch (final ClassNotFoundException cnfe) {
+                    throw new IOException(cnfe);
+                } catch (final InvalidObjectException ioe) {
+                    logger.log(SEVERE, "skipping a record", ioe);
+                    continue;
+                } finally {
+                    objects.close();
+                }
+                units.put((List<?>) record[0], record[1]);
+                recorded.add((List<?>) record[0]);
+            }
+        } finally {
+            input.close();
+        }
+        if (valid < file.length()) {
+            final RandomAccessFile truncating
+                    = new RandomAccessFile(file, "rw");
+            try {
+                truncating.setLength(valid);
+            } finally {
+                truncating.close();
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Closes the journal file.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        output.close();
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the recorded unit identical to given instance.
+     *
+     * @param <T> instance type parameter
+     * @param type the type of the instance
+     * @param instance the instance whose bind fields are set
+     * @return the recorded unit; {@code null} if not recorded
+     */
+    synchronized <T> T restore(final Class<T> type, final T instance) {
+        if (units.isEmpty()) {
+            return null;
+        }
+        final List<String> key = key(instance);
+        if (key == null) {
+            return null;
+        }
+        final Object unit = units.get(key);
+        return type.isInstance(unit) ? type.cast(unit) : null;
+    }
+
+    /**
+     * Records given instance, along with its descendants, if it's a unit.
+     * Descendant units already recorded, e.g. tables of a schema, are written
+     * as references to their own records.
+     *
+     * @param instance the instance completely crawled
+     */
+    synchronized void record(final Object instance) {
+        final List<String> key = key(instance);
+        if (key == null) {
+            return;
+        }
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final ObjectOutputStream objects = new ObjectOutputStream(bytes) {
+                {
+                    enableReplaceObject(true);
+                }
+
+                @Override
+                protected Object replaceObject(final Object obj) {
+                    if (obj == instance) {
+                        return obj;
+                    }
+                    final List<String> ref = key(obj);
+                    return ref != null && recorded.contains(ref)
+                           ? new Ref(ref) : obj;
+                }
+            };
+            objects.writeObject(new Object[]{key, instance});
+            objects.close();
+            output.writeInt(bytes.size());
+            bytes.writeTo(output);
+            output.flush();
+            recorded.add(key);
+        } catch (final IOException ioe) {
+            logger.log(SEVERE, format("failed to record %s", instance), ioe);
+        }
+    }
+
+    /**
+     * Returns the number of units read from the journal file.
+     *
+     * @return the number of units read
+     */
+    public synchronized int size() {
+        return units.size();
+    }
+
+    // -------------------------------------------------------------------------
+    private final Map<List<?>, Object> units = new HashMap<List<?>, Object>();
+
+    // keys of units in the journal file
+    private final Set<List<?>> recorded = new HashSet<List<?>>();
+
+    private final DataOutputStream output;
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+/**
+ * A management interface of crawls monitored by a {@link CrawlMonitor}.
+ * Rates are averages since the monitor was created.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public interface CrawlMXBean {
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the number of {@link java.sql.DatabaseMetaData} calls made,
+     * either directly by {@code getXxx} methods or for invocation fields.
+     *
+     * @return the number of calls made
+     */
+    long getCallCount();
+
+    /**
+     * Returns the number of {@link java.sql.DatabaseMetaData} calls in
+     * progress. A call is done once it returned its results; calls made while
+     * binding the results are counted on their own.
+     *
+     * @return the number of calls in flight
+     */
+    int getInflightCallCount();
+
+    /**
+     * Returns the number of calls made per second.
+     *
+     * @return the number of calls per second
+     */
+    double getCallsPerSecond();
+
+    /**
+     * Returns the number of rows bound.
+     *
+     * @return the number of rows bound
+     */
+    long getRowCount();
+
+    /**
+     * Returns the number of rows bound per second.
+     *
+     * @return the number of rows per second
+     */
+    double getRowsPerSecond();
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the ratio of invocations served by identical invocations in
+     * flight to all invocations made with a {@link Coalescer}.
+     *
+     * @return the hit rate of the coalescer; {@code 0} if none made
+     */
+    double getCoalescerHitRate();
+
+    /**
+     * Returns the ratio of instances restored from a {@link CrawlJournal} to
+     * all instances looked up.
+     *
+     * @return the hit rate of the journal; {@code 0} if none looked up
+     */
+    double getJournalHitRate();
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the catalog being crawled.
+     *
+     * @return the catalog being crawled; {@code null} if unknown
+     */
+    String getCurrentCatalog();
+
+    /**
+     * Returns the schema being crawled.
+     *
+     * @return the schema being crawled; {@code null} if unknown
+     */
+    String getCurrentSchema();
+
+    /**
+     * Returns the table being crawled.
+     *
+     * @return the table being crawled; {@code null} if unknown
+     */
+    String getCurrentTable();
+
+    /**
+     * Returns the number of invocation fields of instances being crawled
+     * which are yet to be processed. Each of them may lead to more, thus,
+     * this value is a lower bound of the remaining work.
+     *
+     * @return the number of pending invocations
+     */
+    long getPendingInvocationCount();
+
+    // -------------------------------------------------------------------------
+    /**
+     * Checks whether crawls have been cancelled.
+     *
+     * @return {@code true} if cancelled; {@code false} otherwise
+     */
+    boolean isCancelled();
+
+    /**
+     * Cancels crawls. Results sets already being read are read to the end
+     * while no more invocations are made, as if the deadline has passed.
+     */
+    void cancel();
+
+    /**
+     * Makes contexts discard what they have cached, such as resolved fields
+     * of model classes and the search string escape, before binding their
+     * next result sets.
+     */
+    void flushCaches();
+}
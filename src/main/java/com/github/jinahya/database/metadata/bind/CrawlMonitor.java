@@ -0,0 +1,320 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.management.ManagementFactory;
+import static java.lang.System.nanoTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Monitors crawls of contexts and exposes their state as a
+ * {@link CrawlMXBean}.
+ * <p>
+ * A monitor may be shared by contexts of a crawler, such as those created by
+ * an {@link AsyncMetadataContext}, in which case its counts are summed and
+ * its current catalog, schema and table are those most recently entered by
+ * any of them.
+ *
+ * <pre>{@code
+ * final CrawlMonitor monitor = new CrawlMonitor().register("nightly");
+ * try {
+ *     MetadataContext.getCatalogs(
+ *             new MetadataContext(metadata).monitor(monitor), true);
+ * } finally {
+ *     monitor.unregister();
+ * }
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#monitor(CrawlMonitor)
+ */
+public class CrawlMonitor implements CrawlMXBean {
+
+    /**
+     * The domain of object names of registered monitors.
+     */
+    public static final String DOMAIN
+            = CrawlMonitor.class.getPackage().getName();
+
+    // -------------------------------------------------------------------------
+    /**
+     * Registers this monitor to the platform MBean server with an object
+     * name of {@value #DOMAIN}{@code :type=CrawlMonitor,name=<name>} and
+     * returns this instance.
+     *
+     * @param name the name of the crawler
+     * @return this instance
+     * @throws JMException if failed to register.
+     */
+    public synchronized CrawlMonitor register(final String name)
+            throws JMException {
+        if (name == null) {
+            throw new NullPointerException("name is null");
+        }
+        if (objectName != null) {
+            throw new IllegalStateException(
+                    "already registered as " + objectName);
+        }
+        final ObjectName objectName = new ObjectName(
+                DOMAIN + ":type=" + CrawlMonitor.class.getSimpleName()
+                + ",name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer()
+                .registerMBean(this, objectName);
+        this.objectName = objectName;
+        return this;
+    }
+
+    /**
+     * Unregisters this monitor from the platform MBean server. Does nothing
+     * if not registered.
+     *
+     * @throws JMException if failed to unregister.
+     */
+    public synchronized void unregister() throws JMException {
+        if (objectName == null) {
+            return;
+        }
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(objectName);
+        } finally {
+            objectName = null;
+        }
+    }
+
+    /**
+     * Returns the object name with which this monitor is registered.
+     *
+     * @return the object name; {@code null} if not registered
+     */
+    public synchronized ObjectName getObjectName() {
+        return objectName;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Notifies that a call is made.
+     */
+    void calling() {
+        calls.incrementAndGet();
+        inflight.incrementAndGet();
+    }
+
+    /**
+     * Notifies that a call made is done, either succeeded or failed.
+     */
+    void called() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * Notifies that given instance is bound.
+     *
+     * @param instance the instance
+     */
+    void bound(final Object instance) {
+        rows.incrementAndGet();
+        if (MetadataEvents.phased(instance.getClass())) {
+            current = instance;
+        }
+    }
+
+    /**
+     * Adds given delta to the number of pending invocations.
+     *
+     * @param delta the delta
+     */
+    void pending(final int delta) {
+        pending.addAndGet(delta);
+    }
+
+    /**
+     * Notifies that an invocation is made with a coalescer.
+     */
+    void coalescing() {
+        coalescings.incrementAndGet();
+    }
+
+    /**
+     * Notifies that an invocation made with a coalescer is not served by an
+     * identical invocation and calls the database.
+     */
+    void uncoalesced() {
+        uncoalesced.incrementAndGet();
+    }
+
+    /**
+     * Notifies that an instance is looked up in a journal.
+     *
+     * @param restored {@code true} if restored; {@code false} otherwise
+     */
+    void journaled(final boolean restored) {
+        lookups.incrementAndGet();
+        if (restored) {
+            restorations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the number of times caches have been flushed.
+     *
+     * @return the number of flushes
+     */
+    int getFlushCount() {
+        return flushes.get();
+    }
+
+    // -------------------------------------------------------------------------
+    @Override
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    @Override
+    public int getInflightCallCount() {
+        return inflight.get();
+    }
+
+    @Override
+    public double getCallsPerSecond() {
+        return rate(calls.get());
+    }
+
+    @Override
+    public long getRowCount() {
+        return rows.get();
+    }
+
+    @Override
+    public double getRowsPerSecond() {
+        return rate(rows.get());
+    }
+
+    @Override
+    public double getCoalescerHitRate() {
+        final long coalescings = this.coalescings.get();
+        if (coalescings == 0L) {
+            return 0.0d;
+        }
+        return (coalescings - uncoalesced.get()) / (double) coalescings;
+    }
+
+    @Override
+    public double getJournalHitRate() {
+        final long lookups = this.lookups.get();
+        if (lookups == 0L) {
+            return 0.0d;
+        }
+        return restorations.get() / (double) lookups;
+    }
+
+    @Override
+    public String getCurrentCatalog() {
+        final Object current = this.current;
+        if (current instanceof Catalog) {
+            return ((Catalog) current).getTableCat();
+        }
+        if (current instanceof Schema) {
+            return ((Schema) current).getTableCatalog();
+        }
+        if (current instanceof Table) {
+            return ((Table) current).getTableCat();
+        }
+        return null;
+    }
+
+    @Override
+    public String getCurrentSchema() {
+        final Object current = this.current;
+        if (current instanceof Schema) {
+            return ((Schema) current).getTableSchem();
+        }
+        if (current instanceof Table) {
+            return ((Table) current).getTableSchem();
+        }
+        return null;
+    }
+
+    @Override
+    public String getCurrentTable() {
+        final Object current = this.current;
+        if (current instanceof Table) {
+            return ((Table) current).getTableName();
+        }
+        return null;
+    }
+
+    @Override
+    public long getPendingInvocationCount() {
+        return pending.get();
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public void flushCaches() {
+        flushes.incrementAndGet();
+    }
+
+    // -------------------------------------------------------------------------
+    private double rate(final long count) {
+        final long elapsed = nanoTime() - created;
+        if (elapsed <= 0L) {
+            return 0.0d;
+        }
+        return count / (elapsed / 1000000000.0d);
+    }
+
+    // -------------------------------------------------------------------------
+    private final long created = nanoTime();
+
+    private final AtomicLong calls = new AtomicLong();
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final AtomicLong rows = new AtomicLong();
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private final AtomicLong coalescings = new AtomicLong();
+
+    private final AtomicLong uncoalesced = new AtomicLong();
+
+    private final AtomicLong lookups = new AtomicLong();
+
+    private final AtomicLong restorations = new AtomicLong();
+
+    private final AtomicInteger flushes = new AtomicInteger();
+
+    // the catalog, the schema or the table most recently entered
+    private volatile Object current;
+
+    private volatile boolean cancelled;
+
+    private ObjectName objectName;
+}
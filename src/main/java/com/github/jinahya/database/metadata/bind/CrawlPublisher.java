@@ -0,0 +1,264 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import javax.sql.DataSource;
+
+/**
+ * A publisher of {@link CrawlEvent}s which crawls catalogs as subscribers
+ * demand.
+ * <p>
+ * The nested interfaces mirror those of Reactive Streams. Each subscription
+ * crawls on its own connection taken from the data source, in a task executed
+ * by the executor. The crawl blocks whenever the subscriber has no outstanding
+ * demand, so a slow subscriber throttles the crawl rather than events being
+ * buffered. Bound instances other than catalogs and schemas are not retained,
+ * thus tables and columns are published without their children lists.
+ * Override {@link #context(java.sql.DatabaseMetaData)} for configuring
+ * contexts with suppressions, predicates and so on.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CrawlPublisher {
+
+    /**
+     * A receiver of events.
+     *
+     * @param <T> event type parameter
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * Invoked, before any other methods, with the subscription.
+         *
+         * @param subscription the subscription
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Invoked with the next event.
+         *
+         * @param item the event
+         */
+        void onNext(T item);
+
+        /**
+         * Invoked when the crawl has failed.
+         *
+         * @param throwable the error
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Invoked when the crawl has completed.
+         */
+        void onComplete();
+    }
+
+    /**
+     * A link between a publisher and a subscriber.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds given number of events to the current unfulfilled demand.
+         *
+         * @param n the number of events; must be positive
+         */
+        void request(long n);
+
+        /**
+         * Stops the crawl.
+         */
+        void cancel();
+    }
+
+    // -------------------------------------------------------------------------
+    private class Crawl extends BindListener implements Subscription, Runnable {
+
+        Crawl(final Subscriber<? super CrawlEvent> subscriber) {
+            super();
+            this.subscriber = subscriber;
+        }
+
+        // ------------------------------------------------------- Subscription
+        @Override
+        public synchronized void request(final long n) {
+            if (n <= 0L) {
+                error = new IllegalArgumentException(
+                        "non-positive request: " + n);
+                cancelled = true;
+            } else {
+                demand += n;
+                if (demand < 0L) {
+                    demand = Long.MAX_VALUE;
+                }
+            }
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        // ------------------------------------------------------- BindListener
+        @Override
+        void started(final Object instance) {
+            if (instance instanceof Schema) {
+                emit(new CrawlEvent(CrawlEvent.Type.SCHEMA_STARTED, instance));
+            } else if (instance instanceof Table) {
+                emit(new CrawlEvent(CrawlEvent.Type.TABLE_BOUND, instance));
+            } else if (instance instanceof Column) {
+                emit(new CrawlEvent(CrawlEvent.Type.COLUMN_BOUND, instance));
+            } else {
+                check();
+            }
+        }
+
+        @Override
+        boolean finished(final Object instance) {
+            if (instance instanceof Schema) {
+                emit(new CrawlEvent(CrawlEvent.Type.SCHEMA_FINISHED,
+                                    instance));
+                return true;
+            }
+            return instance instanceof Catalog;
+        }
+
+        private synchronized void check() {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+        }
+
+        private void emit(final CrawlEvent event) {
+            synchronized (this) {
+                while (demand == 0L && !cancelled) {
+                    try {
+                        wait();
+                    } catch (final InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        cancelled = true;
+                    }
+                }
+                check();
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            }
+            subscriber.onNext(event);
+        }
+
+        // ----------------------------------------------------------- Runnable
+        @Override
+        public void run() {
+            subscriber.onSubscribe(this);
+            try {
+                check();
+                final Connection connection = dataSource.getConnection();
+                try {
+                    final MetadataContext context
+                            = context(connection.getMetaData()).listener(this);
+                    MetadataContext.getCatalogs(context, true);
+                } finally {
+                    connection.close();
+                }
+            } catch (final CancellationException ce) {
+                final Throwable throwable;
+                synchronized (this) {
+                    throwable = error;
+                }
+                if (throwable != null) {
+                    subscriber.onError(throwable);
+                }
+                return;
+            } catch (final SQLException sqle) {
+                subscriber.onError(sqle);
+                return;
+            } catch (final RuntimeException re) {
+                subscriber.onError(re);
+                return;
+            }
+            subscriber.onComplete();
+        }
+
+        // ---------------------------------------------------------------------
+        private final Subscriber<? super CrawlEvent> subscriber;
+
+        private long demand;
+
+        private boolean cancelled;
+
+        private Throwable error;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new instance.
+     *
+     * @param dataSource the data source from which connections are taken
+     * @param executor the executor on which crawls are executed
+     */
+    public CrawlPublisher(final DataSource dataSource,
+                          final Executor executor) {
+        super();
+        if (dataSource == null) {
+            throw new NullPointerException("dataSource is null");
+        }
+        if (executor == null) {
+            throw new NullPointerException("executor is null");
+        }
+        this.dataSource = dataSource;
+        this.executor = executor;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new context for given metadata. The default implementation
+     * returns a plain new context. Override this method for configuring
+     * contexts.
+     *
+     * @param metadata the metadata
+     * @return a new context
+     */
+    protected MetadataContext context(final DatabaseMetaData metadata) {
+        return new MetadataContext(metadata);
+    }
+
+    /**
+     * Subscribes given subscriber and starts a new crawl for it.
+     *
+     * @param subscriber the subscriber
+     */
+    public void subscribe(final Subscriber<? super CrawlEvent> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber is null");
+        }
+        executor.execute(new Crawl(subscriber));
+    }
+
+    // -------------------------------------------------------------------------
+    private final DataSource dataSource;
+
+    private final Executor executor;
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Traces spans of crawls and writes them in the Chrome trace event format.
+ * <p>
+ * A span is recorded for each bound instance, for each invocation field of
+ * it and for each {@link java.sql.DatabaseMetaData} call made for the field.
+ * Spans nest the way a crawl recurses, e.g. a table encloses its
+ * {@code table/columns} invocation which encloses the {@code getColumns} call
+ * which encloses the columns bound. Spans are kept in a ring buffer allocated
+ * up front; once the buffer is full the oldest spans are overwritten. Bound
+ * instances are not kept, only their names, so that a tracer doesn't retain
+ * the crawled graph.
+ * <p>
+ * The output of {@link #write(Writer)} can be loaded in
+ * {@code chrome://tracing}, Perfetto or Speedscope and viewed as a flame
+ * chart.
+ *
+ * <pre>{@code
+ * final CrawlTracer tracer = new CrawlTracer();
+ * final List<Catalog> catalogs = MetadataContext.getCatalogs(
+ *         new MetadataContext(metadata).tracer(tracer), true);
+ * tracer.write(new FileOutputStream("crawl.json"));
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#tracer(CrawlTracer)
+ */
+public class CrawlTracer {
+
+    /**
+     * The default capacity.
+     */
+    public static final int DEFAULT_CAPACITY = 65536;
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new instance with {@link #DEFAULT_CAPACITY}.
+     */
+    public CrawlTracer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new instance keeping up to specified number of spans.
+     *
+     * @param capacity the maximum number of spans kept
+     */
+    public CrawlTracer(final int capacity) {
+        super();
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "capacity(" + capacity + ") < 1");
+        }
+        begins = new long[capacity];
+        ends = new long[capacity];
+        threads = new long[capacity];
+        subjects = new Object[capacity];
+        origin = System.nanoTime();
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Begins a span.
+     *
+     * @return the time the span began
+     */
+    long begin() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends a span began with {@link #begin()}.
+     *
+     * @param begin the value returned by {@link #begin()}
+     * @param subject the bound instance, the invocation field or the method
+     * called
+     */
+    void end(final long begin, final Object subject) {
+        final long end = System.nanoTime();
+        final long thread = Thread.currentThread().getId();
+        synchronized (this) {
+            final int i = (int) (count++ % subjects.length);
+            begins[i] = begin;
+            ends[i] = end;
+            threads[i] = thread;
+            subjects[i] = subject instanceof Method || subject instanceof Field
+                          ? subject : name(subject);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the number of spans currently kept.
+     *
+     * @return the number of spans kept
+     */
+    public synchronized int size() {
+        return (int) Math.min(count, subjects.length);
+    }
+
+    /**
+     * Returns the number of spans overwritten since created or cleared.
+     *
+     * @return the number of spans overwritten
+     */
+    public synchronized long getDropped() {
+        return Math.max(0L, count - subjects.length);
+    }
+
+    /**
+     * Discards all spans kept.
+     */
+    public synchronized void clear() {
+        Arrays.fill(subjects, null);
+        count = 0L;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Writes spans kept, oldest first, to specified writer as a JSON object
+     * of the trace event format. The writer is flushed but not closed.
+     *
+     * @param writer the writer
+     * @throws IOException if an I/O error occurs.
+     */
+    public synchronized void write(final Writer writer) throws IOException {
+        if (writer == null) {
+            throw new NullPointerException("writer is null");
+        }
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        final int size = size();
+        final int first = (int) ((count - size) % subjects.length);
+        for (int j = 0; j < size; j++) {
+            final int i = (first + j) % subjects.length;
+            if (j > 0) {
+                writer.write(',');
+            }
+            writer.write("\n{\"name\":");
+            string(writer, name(subjects[i]));
+            writer.write(",\"cat\":");
+            string(writer, category(subjects[i]));
+            writer.write(",\"ph\":\"X\",\"ts\":");
+            writer.write(micros(begins[i] - origin));
+            writer.write(",\"dur\":");
+            writer.write(micros(ends[i] - begins[i]));
+            writer.write(",\"pid\":1,\"tid\":");
+            writer.write(Long.toString(threads[i]));
+            writer.write('}');
+        }
+        writer.write("\n]}\n");
+        writer.flush();
+    }
+
+    /**
+     * Writes spans kept to specified stream in {@code UTF-8}. The stream is
+     * flushed but not closed.
+     *
+     * @param stream the stream
+     * @throws IOException if an I/O error occurs.
+     * @see #write(Writer)
+     */
+    public void write(final OutputStream stream) throws IOException {
+        if (stream == null) {
+            throw new NullPointerException("stream is null");
+        }
+        write(new OutputStreamWriter(stream, "UTF-8"));
+    }
+
+    // -------------------------------------------------------------------------
+    private static String category(final Object subject) {
+        if (subject instanceof Method) {
+            return "call";
+        }
+        if (subject instanceof Field) {
+            return "invoke";
+        }
+        return "bind"; // the name of a bound instance
+    }
+
+    private static String name(final Object subject) {
+        if (subject instanceof String) {
+            return (String) subject;
+        }
+        if (subject instanceof Method) {
+            return ((Method) subject).getName();
+        }
+        if (subject instanceof Field) {
+            final Field field = (Field) subject;
+            return Utils.path(field);
+        }
+        final String type = subject.getClass().getSimpleName();
+        if (subject instanceof Catalog) {
+            return type + " " + ((Catalog) subject).getTableCat();
+        }
+        if (subject instanceof Schema) {
+            return type + " " + ((Schema) subject).getTableSchem();
+        }
+        if (subject instanceof Table) {
+            return type + " " + ((Table) subject).getTableName();
+        }
+        if (subject instanceof Column) {
+            return type + " " + ((Column) subject).getColumnName();
+        }
+        return type;
+    }
+
+    private static String micros(final long nanos) {
+        final long fraction = Math.abs(nanos % 1000L);
+        return (nanos < 0L && nanos > -1000L ? "-" : "") + nanos / 1000L + "."
+               + (fraction < 100L ? fraction < 10L ? "00" : "0" : "")
+               + fraction;
+    }
+
+    private static void string(final Writer writer, final String value)
+            throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    // -------------------------------------------------------------------------
+    private final long[] begins;
+
+    private final long[] ends;
+
+    private final long[] threads;
+
+    // methods, invocation fields or names of bound instances
+    private final Object[] subjects;
+
+    private final long origin;
+
+    private long count;
+}
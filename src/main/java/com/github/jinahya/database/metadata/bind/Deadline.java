@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * A deadline of crawls counting invocations skipped once it has passed.
+ * <p>
+ * The number of skipped invocations is read before fetching an instance and
+ * compared, after fetching, for its {@link Completeness completeness}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#deadline(long, java.util.concurrent.TimeUnit)
+ */
+final class Deadline {
+
+    /**
+     * Sets the deadline to given timeout from now.
+     *
+     * @param timeout the timeout in nanoseconds; {@code 0} for no deadline
+     */
+    void set(final long timeout) {
+        this.timeout = timeout;
+        deadline = nanoTime() + timeout;
+    }
+
+    /**
+     * Checks whether the deadline has passed, or the crawl has been
+     * cancelled, and, if so, counts a skipped invocation.
+     *
+     * @param cancelled a flag for a cancelled crawl
+     * @return {@code true} if the deadline has passed or cancelled;
+     * {@code false} otherwise
+     */
+    boolean expired(final boolean cancelled) {
+        if (!cancelled
+            && (timeout == 0L || nanoTime() - deadline < 0L)) {
+            return false;
+        }
+        skipped++;
+        return true;
+    }
+
+    /**
+     * Returns the number of invocations skipped so far.
+     *
+     * @return the number of skipped invocations
+     */
+    long skipped() {
+        return skipped;
+    }
+
+    /**
+     * Returns the completeness of an instance.
+     *
+     * @param skipped the number of skipped invocations read before fetching
+     * the instance
+     * @param fetched a flag for any invocation field of the instance fetched
+     * @return the completeness
+     */
+    Completeness completeness(final long skipped, final boolean fetched) {
+        if (this.skipped == skipped) {
+            return Completeness.COMPLETE;
+        }
+        return fetched ? Completeness.PARTIAL : Completeness.NOT_FETCHED;
+    }
+
+    // -------------------------------------------------------------------------
+    // the timeout, in nanoseconds
+    private long timeout;
+
+    private long deadline;
+
+    // the number of invocations skipped
+    private long skipped;
+}
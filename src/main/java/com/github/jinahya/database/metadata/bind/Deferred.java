@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static java.lang.String.format;
+import java.sql.SQLException;
+import java.util.List;
+import static java.util.logging.Level.FINE;
+import java.util.logging.Logger;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * Holds what's required for loading unfetched invocation fields of an
+ * instance.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see FetchPlan
+ */
+final class Deferred {
+
+    private static final Logger logger = getLogger(Deferred.class.getName());
+
+    // -------------------------------------------------------------------------
+    /**
+     * Loads elements of the field of given name of specified instance, if
+     * deferred, into specified list. When failed, the list is cleared and
+     * callers should leave the field unset so that the next access retries.
+     * Failures are counted, as {@link BindDiagnostics.Kind#FAILED_LOAD}, into
+     * the diagnostics of the context.
+     *
+     * @param deferred the deferred; may be {@code null}
+     * @param instance the instance
+     * @param name the name of the field
+     * @param list the list to which elements are added
+     * @return {@code false} if failed; {@code true} otherwise
+     */
+    static boolean load(final Deferred deferred, final Object instance,
+                        final String name, final List<?> list) {
+        if (deferred == null) {
+            return true;
+        }
+        try {
+            if (deferred.context.fetch(instance, name, list,
+                                       deferred.segments, deferred.plan)) {
+                return true;
+            }
+        } catch (final SQLException sqle) {
+            // counted and reported by the context
+            logger.log(FINE, format("failed to load %s of %s", name,
+                                    instance), sqle);
+        }
+        list.clear();
+        return false;
+    }
+
+    // -------------------------------------------------------------------------
+    Deferred(final MetadataContext context, final String[] segments,
+             final FetchPlan plan) {
+        super();
+        this.context = context;
+        this.segments = segments;
+        this.plan = plan;
+    }
+
+    // -------------------------------------------------------------------------
+    private final MetadataContext context;
+
+    private final String[] segments;
+
+    private final FetchPlan plan;
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A plan describing which {@code @Invoke} fields are fetched eagerly.
+ * <p>
+ * An invocation field is fetched eagerly when its depth, counted from the
+ * outermost bound type, does not exceed the {@link #depth(int) depth} limit
+ * and, if any {@link #include(java.lang.String, java.lang.String...) paths}
+ * are added, its path matches one of them. Paths follow the syntax of
+ * {@link MetadataContext#suppress(java.lang.String, java.lang.String...)}.
+ * Fields out of the plan are left unfetched and loaded, through the context
+ * which bound their owner, when their getters are invoked for the first time.
+ *
+ * <pre>{@code
+ * context.fetchPlan(FetchPlan.of("schema/tables", "table/columns",
+ *                                "table/primaryKeys").depth(3));
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#fetchPlan(FetchPlan)
+ */
+public class FetchPlan {
+
+    /**
+     * Creates a new plan which eagerly fetches given paths.
+     *
+     * @param paths the paths to fetch eagerly
+     * @return a new plan
+     */
+    public static FetchPlan of(final String... paths) {
+        final FetchPlan plan = new FetchPlan();
+        if (paths != null) {
+            for (final String path : paths) {
+                plan.include(path);
+            }
+        }
+        return plan;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Adds paths to fetch eagerly and returns this instance.
+     *
+     * @param path the first path
+     * @param otherPaths other paths
+     * @return this instance
+     */
+    public FetchPlan include(final String path, final String... otherPaths) {
+        include(path);
+        if (otherPaths != null) {
+            for (final String otherPath : otherPaths) {
+                include(otherPath);
+            }
+        }
+        return this;
+    }
+
+    private void include(final String path) {
+        if (path == null) {
+            throw new NullPointerException("path is null");
+        }
+        paths.add(path);
+        matcher = null;
+    }
+
+    /**
+     * Limits the depth of eager fetching and returns this instance. The
+     * invocation fields of the outermost bound type are at depth {@code 1}.
+     *
+     * @param depth the maximum depth; {@code 0} for no limit
+     * @return this instance
+     */
+    public FetchPlan depth(final int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth(" + depth + ") < 0");
+        }
+        this.depth = depth;
+        return this;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Checks whether the field of given name of specified type is fetched
+     * eagerly.
+     *
+     * @param type the type segment of the field
+     * @param name the name of the field
+     * @param segments the segments of the path to the owner of the field
+     * @param length the number of segments
+     * @return {@code true} if the field is fetched eagerly; {@code false}
+     * otherwise
+     */
+    boolean fetches(final String type, final String name,
+                    final String[] segments, final int length) {
+        if (depth > 0 && length > depth) {
+            return false;
+        }
+        if (paths.isEmpty()) {
+            return true;
+        }
+        if (matcher == null) {
+            matcher = PathMatcher.compile(paths);
+        }
+        return matcher.matches(type, name)
+               || matcher.matches(segments, length, name);
+    }
+
+    // -------------------------------------------------------------------------
+    private final Set<String> paths = new LinkedHashSet<String>();
+
+    private int depth;
+
+    private transient PathMatcher matcher;
+}
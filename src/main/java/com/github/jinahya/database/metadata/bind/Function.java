@@ -119,11 +119,18 @@ public class Function implements Serializable {
     // --------------------------------------------------------- functionColumns
     public List<FunctionColumn> getFunctionColumns() {
         if (functionColumns == null) {
-            functionColumns = new ArrayList<FunctionColumn>();
+            final List<FunctionColumn> list = new ArrayList<FunctionColumn>();
+            if (!Deferred.load(deferred, this, "functionColumns", list)) {
+                return list; // retried on the next access
+            }
+            functionColumns = list;
         }
         return functionColumns;
     }
 
+    // -------------------------------------------------------------------------
+    transient Deferred deferred;
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "FUNCTION_CAT", nillable = true)
@@ -246,6 +246,15 @@ public class FunctionColumn implements Serializable {
         this.columnType = columnType;
     }
 
+    /**
+     * Returns the constant of {@link #getColumnType() columnType} value.
+     *
+     * @return the constant of columnType value; {@code null} if unknown
+     */
+    public ColumnType getColumnTypeAsEnum() {
+        return IntFieldEnums.lookup(ColumnType.class, columnType);
+    }
+
     // ---------------------------------------------------------------- dataType
     public int getDataType() {
         return dataType;
@@ -309,6 +318,15 @@ public class FunctionColumn implements Serializable {
         this.nullable = nullable;
     }
 
+    /**
+     * Returns the constant of {@link #getNullable() nullable} value.
+     *
+     * @return the constant of nullable value; {@code null} if unknown
+     */
+    public Nullable getNullableAsEnum() {
+        return IntFieldEnums.lookup(Nullable.class, nullable);
+    }
+
     // ----------------------------------------------------------------- remarks
     public String getRemarks() {
         return remarks;
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A policy of hedging calls of {@link AsyncMetadataContext}.
+ * <p>
+ * Latencies of successful calls are sampled per method and shape of
+ * arguments, e.g. whether the table name is given or left for all tables, so
+ * that a selective call isn't compared with a full one. Once enough samples
+ * are taken for a shape, a call of the shape not finished within the
+ * percentile of the samples, since it started running on a connection, is
+ * hedged with an identical call on another connection. The first result wins
+ * and the other call is cancelled by closing its connection.
+ * <p>
+ * Hedges are limited by a {@link #budget(double) budget} so that they don't
+ * multiply the load when most calls slow down at once, e.g. when the database
+ * is overloaded.
+ *
+ * <pre>{@code
+ * final AsyncMetadataContext context
+ *         = new AsyncMetadataContext(dataSource, executor)
+ *                 .hedging(new HedgingPolicy().percentile(0.95d));
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see AsyncMetadataContext#hedging(HedgingPolicy)
+ */
+public class HedgingPolicy {
+
+    private static final class Samples {
+
+        Samples(final int window) {
+            super();
+            latencies = new long[window];
+        }
+
+        final long[] latencies;
+
+        int count;
+
+        int index;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Sets the percentile of sampled latencies after which calls are hedged
+     * and returns this instance. Default value is {@code 0.95}.
+     *
+     * @param percentile the percentile between {@code 0} exclusive and
+     * {@code 1} inclusive
+     * @return this instance
+     */
+    public synchronized HedgingPolicy percentile(final double percentile) {
+        if (!(percentile > 0.0d && percentile <= 1.0d)) {
+            throw new IllegalArgumentException(
+                    "percentile(" + percentile + ") not in (0, 1]");
+        }
+        this.percentile = percentile;
+        return this;
+    }
+
+    /**
+     * Sets the maximum ratio of hedges to calls and returns this instance.
+     * A call is hedged only if the number of hedges, including it, doesn't
+     * exceed this ratio of the number of calls. Default value is {@code 0.05}.
+     *
+     * @param budget the ratio between {@code 0} and {@code 1}, inclusive
+     * @return this instance
+     */
+    public synchronized HedgingPolicy budget(final double budget) {
+        if (!(budget >= 0.0d && budget <= 1.0d)) {
+            throw new IllegalArgumentException(
+                    "budget(" + budget + ") not in [0, 1]");
+        }
+        this.budget = budget;
+        return this;
+    }
+
+    /**
+     * Sets the minimum number of samples of a shape required for hedging
+     * calls of the shape and returns this instance. Default value is
+     * {@code 20}.
+     *
+     * @param samples the minimum number of samples
+     * @return this instance
+     */
+    public synchronized HedgingPolicy samples(final int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("samples(" + samples + ") < 1");
+        }
+        this.samples = samples;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of recent samples kept for each shape and
+     * returns this instance. Default value is {@code 100}. Samples taken so
+     * far are discarded.
+     *
+     * @param window the maximum number of samples per shape
+     * @return this instance
+     */
+    public synchronized HedgingPolicy window(final int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window(" + window + ") < 1");
+        }
+        this.window = window;
+        shapes.clear();
+        return this;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the shape of a call of specified method with given arguments.
+     * Each argument is shaped as {@code *} if {@code null} or {@code %},
+     * which selects everything, as itself if a boolean, and as {@code ?}
+     * otherwise.
+     *
+     * @param method the name of the method
+     * @param arguments the arguments
+     * @return the shape of the call
+     */
+    static String shape(final String method, final Object... arguments) {
+        final StringBuilder builder = new StringBuilder(method).append('(');
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            final Object argument = arguments[i];
+            if (argument == null || "%".equals(argument)) {
+                builder.append('*');
+            } else if (argument instanceof Boolean) {
+                builder.append(argument);
+            } else {
+                builder.append('?');
+            }
+        }
+        return builder.append(')').toString();
+    }
+
+    /**
+     * Returns the delay after which a call of specified shape is hedged.
+     *
+     * @param shape the shape of the call
+     * @return the delay in nanoseconds; {@code -1} if not enough samples
+     * @see #shape(String, Object...)
+     */
+    synchronized long delay(final String shape) {
+        final Samples sampled = shapes.get(shape);
+        if (sampled == null || sampled.count < Math.min(samples, window)) {
+            return -1L;
+        }
+        final long[] sorted = Arrays.copyOf(sampled.latencies, sampled.count);
+        Arrays.sort(sorted);
+        final int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, rank)];
+    }
+
+    /**
+     * Samples the latency of a successful call of specified shape.
+     *
+     * @param shape the shape of the call
+     * @param latency the latency in nanoseconds
+     */
+    synchronized void sample(final String shape, final long latency) {
+        Samples sampled = shapes.get(shape);
+        if (sampled == null) {
+            sampled = new Samples(window);
+            shapes.put(shape, sampled);
+        }
+        sampled.latencies[sampled.index] = latency;
+        sampled.index = (sampled.index + 1) % sampled.latencies.length;
+        if (sampled.count < sampled.latencies.length) {
+            sampled.count++;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the number of hedged calls.
+     *
+     * @return the number of hedged calls
+     */
+    public synchronized long getHedgedCount() {
+        return hedged;
+    }
+
+    /**
+     * Returns the number of hedged calls won by hedges.
+     *
+     * @return the number of calls won by hedges
+     */
+    public synchronized long getWonCount() {
+        return won;
+    }
+
+    /**
+     * Counts a call.
+     */
+    synchronized void called() {
+        calls++;
+    }
+
+    /**
+     * Counts a hedge if the budget allows.
+     *
+     * @return {@code true} if the call should be hedged; {@code false} if the
+     * budget is exhausted
+     */
+    synchronized boolean hedge() {
+        if (hedged + 1L > budget * calls) {
+            return false;
+        }
+        hedged++;
+        return true;
+    }
+
+    synchronized void won() {
+        won++;
+    }
+
+    // -------------------------------------------------------------------------
+    private double percentile = 0.95d;
+
+    private double budget = 0.05d;
+
+    private int samples = 20;
+
+    private int window = 100;
+
+    private final Map<String, Samples> shapes
+            = new HashMap<String, Samples>();
+
+    private long calls;
+
+    private long hedged;
+
+    private long won;
+}
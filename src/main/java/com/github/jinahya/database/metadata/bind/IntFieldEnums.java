@@ -15,8 +15,69 @@
  */
 package com.github.jinahya.database.metadata.bind;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 final class IntFieldEnums {
 
+    /**
+     * A dense table of constants indexed by their raw values.
+     */
+    private static final class Table {
+
+        Table(final Enum<?>[] constants, final int[] rawValues) {
+            super();
+            int min = 0;
+            int max = -1;
+            for (int i = 0; i < rawValues.length; i++) {
+                if (i == 0 || rawValues[i] < min) {
+                    min = rawValues[i];
+                }
+                if (i == 0 || rawValues[i] > max) {
+                    max = rawValues[i];
+                }
+            }
+            offset = min;
+            this.constants = new Enum<?>[max - min + 1];
+            for (int i = 0; i < rawValues.length; i++) {
+                if (this.constants[rawValues[i] - min] == null) {
+                    this.constants[rawValues[i] - min] = constants[i];
+                }
+            }
+        }
+
+        Enum<?> get(final int rawValue) {
+            final int index = rawValue - offset;
+            if (index < 0 || index >= constants.length) {
+                return null;
+            }
+            return constants[index];
+        }
+
+        private final int offset;
+
+        private final Enum<?>[] constants;
+    }
+
+    // tables mapped to enum types
+    private static final ConcurrentMap<Class<?>, Table> TABLES
+            = new ConcurrentHashMap<Class<?>, Table>();
+
+    private static <E extends Enum<E> & IntFieldEnum<E>> Table table(
+            final Class<E> enumType) {
+        Table table = TABLES.get(enumType);
+        if (table == null) {
+            table = new Table(enumType.getEnumConstants(),
+                              rawValues(enumType));
+            final Table previous = TABLES.putIfAbsent(enumType, table);
+            if (previous != null) {
+                table = previous;
+            }
+        }
+        return table;
+    }
+
+    // -------------------------------------------------------------------------
     static <E extends Enum<E> & IntFieldEnum<E>> int[] rawValues(
             final Class<E> enumType) {
         final E[] enumConstants = enumType.getEnumConstants();
@@ -29,13 +90,28 @@ final class IntFieldEnums {
 
     static <E extends Enum<E> & IntFieldEnum<E>> E valueOf(
             final Class<E> enumType, final int rawValue) {
-        for (final E enumConstant : enumType.getEnumConstants()) {
-            final int constantFieldValue = enumConstant.getRawValue();
-            if (constantFieldValue == rawValue) {
-                return enumConstant;
-            }
+        final E constant = lookup(enumType, rawValue);
+        if (constant == null) {
+            throw new IllegalArgumentException(
+                    "unknown raw value: " + rawValue);
         }
-        throw new IllegalArgumentException("unknown raw value: " + rawValue);
+        return constant;
+    }
+
+    /**
+     * Returns the constant whose raw value equals to given. Constants are
+     * looked up from a table built once per enum type.
+     *
+     * @param <E> enum type parameter
+     * @param enumType the enum type
+     * @param rawValue the raw value
+     * @return the constant whose raw value equals to given; {@code null} if
+     * no constants matches
+     */
+    @SuppressWarnings("unchecked")
+    static <E extends Enum<E> & IntFieldEnum<E>> E lookup(
+            final Class<E> enumType, final int rawValue) {
+        return (E) table(enumType).get(rawValue);
     }
 
     // -------------------------------------------------------------------------    
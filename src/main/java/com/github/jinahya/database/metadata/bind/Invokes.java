@@ -18,6 +18,13 @@ package com.github.jinahya.database.metadata.bind;
 import java.lang.reflect.Field;
 import static com.github.jinahya.database.metadata.bind.Utils.field;
 import static com.github.jinahya.database.metadata.bind.Utils.wrapper;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import static java.util.Collections.unmodifiableMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A utility class for {@link Invocation}.
@@ -26,6 +33,123 @@ import static com.github.jinahya.database.metadata.bind.Utils.wrapper;
  */
 final class Invokes {
 
+    // -------------------------------------------------------------------------
+    // labels of key columns of pattern parameters, mapped to method names
+    private static final Map<String, String[]> PATTERNS;
+
+    static {
+        final Map<String, String[]> m = new HashMap<String, String[]>();
+        m.put("getAttributes",
+              new String[]{null, "TYPE_SCHEM", "TYPE_NAME", "ATTR_NAME"});
+        m.put("getColumnPrivileges",
+              new String[]{null, null, null, "COLUMN_NAME"});
+        m.put("getColumns",
+              new String[]{null, "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME"});
+        m.put("getFunctionColumns",
+              new String[]{null, "FUNCTION_SCHEM", "FUNCTION_NAME",
+                           "COLUMN_NAME"});
+        m.put("getFunctions",
+              new String[]{null, "FUNCTION_SCHEM", "FUNCTION_NAME"});
+        m.put("getProcedureColumns",
+              new String[]{null, "PROCEDURE_SCHEM", "PROCEDURE_NAME",
+                           "COLUMN_NAME"});
+        m.put("getProcedures",
+              new String[]{null, "PROCEDURE_SCHEM", "PROCEDURE_NAME"});
+        m.put("getPseudoColumns",
+              new String[]{null, "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME"});
+        m.put("getSchemas", new String[]{null, "TABLE_SCHEM"});
+        m.put("getSuperTables",
+              new String[]{null, "TABLE_SCHEM", "TABLE_NAME"});
+        m.put("getSuperTypes", new String[]{null, "TYPE_SCHEM", "TYPE_NAME"});
+        m.put("getTablePrivileges",
+              new String[]{null, "TABLE_SCHEM", "TABLE_NAME"});
+        m.put("getTables",
+              new String[]{null, "TABLE_SCHEM", "TABLE_NAME", null});
+        m.put("getUDTs",
+              new String[]{null, "TYPE_SCHEM", "TYPE_NAME", null});
+        PATTERNS = unmodifiableMap(m);
+    }
+
+    /**
+     * Returns, for each parameter of given method, the label of the column
+     * matched by the parameter if it's a pattern parameter, or {@code null}
+     * otherwise.
+     *
+     * @param method the method
+     * @return an array of labels; {@code null} if the method has no pattern
+     * parameters
+     */
+    static String[] patterns(final Method method) {
+        final String[] labels = PATTERNS.get(method.getName());
+        if (labels == null
+            || labels.length != method.getParameterTypes().length) {
+            return null;
+        }
+        return labels;
+    }
+
+    /**
+     * Escapes wildcard characters, {@code _} and {@code %}, and occurrences of
+     * the escape itself in given value.
+     *
+     * @param value the value to escape
+     * @param escape the search string escape
+     * @return an escaped value
+     * @see java.sql.DatabaseMetaData#getSearchStringEscape()
+     */
+    static String escape(final String value, final String escape) {
+        if (escape == null || escape.isEmpty()) {
+            return value;
+        }
+        StringBuilder builder = null;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.startsWith(escape, i)) {
+                if (builder == null) {
+                    builder = new StringBuilder(value.length() + 8)
+                            .append(value, 0, i);
+                }
+                builder.append(escape).append(escape);
+                i += escape.length() - 1;
+                continue;
+            }
+            final char c = value.charAt(i);
+            if (c == '_' || c == '%') {
+                if (builder == null) {
+                    builder = new StringBuilder(value.length() + 8)
+                            .append(value, 0, i);
+                }
+                builder.append(escape);
+            }
+            if (builder != null) {
+                builder.append(c);
+            }
+        }
+        return builder == null ? value : builder.toString();
+    }
+
+    /**
+     * Returns a list of given arguments, with arrays converted to lists, which
+     * is equal to that of other arguments of equal elements.
+     *
+     * @param arguments the arguments
+     * @return a list of arguments
+     */
+    static List<Object> values(final Object[] arguments) {
+        final List<Object> values = new ArrayList<Object>(arguments.length);
+        for (final Object argument : arguments) {
+            if (argument == null || !argument.getClass().isArray()) {
+                values.add(argument);
+                continue;
+            }
+            final Object[] elements = new Object[Array.getLength(argument)];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = Array.get(argument, i);
+            }
+            values.add(values(elements));
+        }
+        return values;
+    }
+
     // -------------------------------------------------------------------------
     static <T> Object[] arguments(final Class<T> klass, final T instance,
                                   final Class<?>[] types,
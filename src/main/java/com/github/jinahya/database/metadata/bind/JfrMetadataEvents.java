@@ -0,0 +1,193 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.codehaus.mojo.animal_sniffer.IgnoreJRERequirement;
+
+/**
+ * Emits Java Flight Recorder events. This class is loaded only when the
+ * runtime has {@code jdk.jfr.Event}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+@IgnoreJRERequirement // jdk.jfr since 1.8u262 and 11
+final class JfrMetadataEvents extends MetadataEvents {
+
+    private static final String PREFIX
+            = "com.github.jinahya.database.metadata.bind.";
+
+    @Name(PREFIX + "Call")
+    @Label("Metadata Call")
+    @Description("An invocation of a DatabaseMetaData method")
+    @Category({"Database", "Metadata"})
+    @Enabled(false)
+    @StackTrace(false)
+    @IgnoreJRERequirement
+    static final class CallEvent extends Event {
+
+        @Label("Method")
+        String method;
+
+        @Label("Arguments")
+        String arguments;
+
+        @Label("Rows")
+        int rows;
+    }
+
+    @Name(PREFIX + "Bind")
+    @Label("Metadata Bind")
+    @Description("Binding of a result set")
+    @Category({"Database", "Metadata"})
+    @Enabled(false)
+    @StackTrace(false)
+    @IgnoreJRERequirement
+    static final class BindEvent extends Event {
+
+        @Label("Model Class")
+        Class<?> modelClass;
+
+        @Label("Rows")
+        int rows;
+    }
+
+    @Name(PREFIX + "Phase")
+    @Label("Metadata Crawl Phase")
+    @Description("Crawling of a catalog, a schema or a table")
+    @Category({"Database", "Metadata"})
+    @Enabled(false)
+    @StackTrace(false)
+    @IgnoreJRERequirement
+    static final class PhaseEvent extends Event {
+
+        @Label("Model Class")
+        Class<?> modelClass;
+
+        @Label("Catalog")
+        String catalog;
+
+        @Label("Schema")
+        String schema;
+
+        @Label("Table")
+        String table;
+    }
+
+    // -------------------------------------------------------------------------
+    private static final EventType CALL
+            = EventType.getEventType(CallEvent.class);
+
+    private static final EventType BIND
+            = EventType.getEventType(BindEvent.class);
+
+    private static final EventType PHASE
+            = EventType.getEventType(PhaseEvent.class);
+
+    // -------------------------------------------------------------------------
+    @Override
+    Object beginCall() {
+        if (!CALL.isEnabled()) {
+            return null;
+        }
+        final CallEvent event = new CallEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endCall(final Object event, final Method method,
+                 final Object[] arguments, final int rows) {
+        if (event == null) {
+            return;
+        }
+        final CallEvent call = (CallEvent) event;
+        call.end();
+        if (call.shouldCommit()) {
+            call.method = method.getName();
+            call.arguments = Arrays.toString(arguments);
+            call.rows = rows;
+            call.commit();
+        }
+    }
+
+    @Override
+    Object beginBind() {
+        if (!BIND.isEnabled()) {
+            return null;
+        }
+        final BindEvent event = new BindEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endBind(final Object event, final Class<?> type, final int rows) {
+        if (event == null) {
+            return;
+        }
+        final BindEvent bind = (BindEvent) event;
+        bind.end();
+        if (bind.shouldCommit()) {
+            bind.modelClass = type;
+            bind.rows = rows;
+            bind.commit();
+        }
+    }
+
+    @Override
+    Object beginPhase() {
+        if (!PHASE.isEnabled()) {
+            return null;
+        }
+        final PhaseEvent event = new PhaseEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    void endPhase(final Object event, final Object instance) {
+        if (event == null) {
+            return;
+        }
+        final PhaseEvent phase = (PhaseEvent) event;
+        phase.end();
+        if (!phase.shouldCommit()) {
+            return;
+        }
+        phase.modelClass = instance.getClass();
+        if (instance instanceof Catalog) {
+            phase.catalog = ((Catalog) instance).getTableCat();
+        } else if (instance instanceof Schema) {
+            phase.catalog = ((Schema) instance).getTableCatalog();
+            phase.schema = ((Schema) instance).getTableSchem();
+        } else if (instance instanceof Table) {
+            phase.catalog = ((Table) instance).getTableCat();
+            phase.schema = ((Table) instance).getTableSchem();
+            phase.table = ((Table) instance).getTableName();
+        }
+        phase.commit();
+    }
+}
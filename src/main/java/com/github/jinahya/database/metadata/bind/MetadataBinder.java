@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind;
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.NULL_VALUE;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import static java.util.logging.Level.FINE;
+import java.util.logging.Logger;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * Binds result sets of any source, such as queries against system catalogs,
+ * into model classes or projection types by column labels.
+ * <p>
+ * A result set is bound the way {@link MetadataContext} binds results of
+ * {@link DatabaseMetaData}, so a query returning the labels of, say,
+ * {@link DatabaseMetaData#getColumns(String, String, String, String)} can be
+ * bound into {@link Column}s. Such queries commonly select only some of the
+ * labels of a class, so missing labels are logged at {@code FINE}; only
+ * unexpected {@code null} values are logged as warnings.
+ * <p>
+ * By default, only bind fields are bound and {@link Invoke invocation fields}
+ * are left unfetched, which takes a plan resolved once per class and reads
+ * columns by their indices. When constructed with a {@link DatabaseMetaData},
+ * each result set is bound through a new context which also fetches
+ * invocation fields, e.g. columns of tables, from the metadata.
+ * <p>
+ * An instance constructed without a {@link DatabaseMetaData} is safe for
+ * concurrent use. An instance constructed with one shares the connection of
+ * the metadata among all result sets bound, and should be used by a single
+ * thread at a time unless the driver allows concurrent use of a connection.
+ * <pre>{@code
+ * final MetadataBinder binder = new MetadataBinder();
+ * final ResultSet results = statement.executeQuery(
+ *         "SELECT ... AS TABLE_NAME, ... AS COLUMN_NAME, ... AS DATA_TYPE"
+ *         + " FROM pg_catalog.pg_attribute ...");
+ * final List<Column> columns
+ *         = binder.bind(results, Column.class, new ArrayList<Column>());
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class MetadataBinder {
+
+    private static final Logger logger
+            = getLogger(MetadataBinder.class.getName());
+
+    // kinds of binding anomalies logged as warnings
+    private static final Set<Kind> WARNED = EnumSet.of(NULL_VALUE);
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new instance which doesn't fetch invocation fields.
+     */
+    public MetadataBinder() {
+        this(null);
+    }
+
+    /**
+     * Creates a new instance which fetches invocation fields from specified
+     * metadata.
+     *
+     * @param metadata the metadata from which invocation fields are fetched;
+     * {@code null} for not fetching invocation fields
+     */
+    public MetadataBinder(final DatabaseMetaData metadata) {
+        super();
+        this.metadata = metadata;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Binds all records of specified result set as instances of given type
+     * and adds them to specified list. The result set is neither closed nor
+     * positioned before the first record.
+     *
+     * @param <T> binding type parameter
+     * @param results the result set to bind
+     * @param type the model class or the projection type
+     * @param instances the list to which bound instances are added
+     * @return given list
+     * @throws SQLException if a database error occurs.
+     * @throws IllegalArgumentException if {@code type} has no bind members or
+     * no no-arg constructor.
+     */
+    public <T> List<? super T> bind(final ResultSet results,
+                                    final Class<T> type,
+                                    final List<? super T> instances)
+            throws SQLException {
+        if (results == null) {
+            throw new NullPointerException("results is null");
+        }
+        if (type == null) {
+            throw new NullPointerException("type is null");
+        }
+        if (instances == null) {
+            throw new NullPointerException("instances is null");
+        }
+        if (metadata != null && !type.isInterface()) {
+            // contexts aren't thread-safe; one per result set
+            return new MetadataContext(metadata)
+                    .warned(WARNED)
+                    .bind(results, type, instances);
+        }
+        final BindDiagnostics diagnostics = new BindDiagnostics();
+        projection(type).bind(results, instances, diagnostics);
+        final String report = diagnostics.drain(WARNED);
+        if (report != null) {
+            logger.warning(report);
+        }
+        final String others = diagnostics.drain();
+        if (others != null && logger.isLoggable(FINE)) {
+            logger.fine(others);
+        }
+        return instances;
+    }
+
+    private <T> Projection<T> projection(final Class<T> type) {
+        @SuppressWarnings("unchecked")
+        Projection<T> projection = (Projection<T>) projections.get(type);
+        if (projection == null) {
+            projection = new Projection<T>(type);
+            final Projection<?> previous
+                    = projections.putIfAbsent(type, projection);
+            if (previous != null) {
+                @SuppressWarnings("unchecked")
+                final Projection<T> existing = (Projection<T>) previous;
+                projection = existing;
+            }
+        }
+        return projection;
+    }
+
+    // -------------------------------------------------------------------------
+    private final DatabaseMetaData metadata;
+
+    // plans by their types
+    private final ConcurrentMap<Class<?>, Projection<?>> projections
+            = new ConcurrentHashMap<Class<?>, Projection<?>>();
+}
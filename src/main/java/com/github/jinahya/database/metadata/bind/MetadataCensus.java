@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts tables, columns and indices without binding them.
+ * <p>
+ * A census reads the result sets a crawl would read, but only the few
+ * columns identifying owners and types, and accumulates primitive counters
+ * into a {@link Census}. No instance of model classes is created. Tables are
+ * read with a single call of
+ * {@link DatabaseMetaData#getTables(String, String, String, String[])} and
+ * columns with a single call of
+ * {@link DatabaseMetaData#getColumns(String, String, String, String)}.
+ * Indices, which JDBC can only read per table, are counted only when
+ * {@link #indices(boolean) enabled}.
+ *
+ * <pre>{@code
+ * final Census census = new MetadataCensus(metadata)
+ *         .types("TABLE").indices(true).take(null, null);
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class MetadataCensus {
+
+    /**
+     * Creates a new instance with given metadata.
+     *
+     * @param metadata the metadata
+     */
+    public MetadataCensus(final DatabaseMetaData metadata) {
+        super();
+        if (metadata == null) {
+            throw new NullPointerException("metadata is null");
+        }
+        this.metadata = metadata;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Sets the types of tables to count and returns this instance.
+     *
+     * @param types the types of tables; {@code null} for all types
+     * @return this instance
+     * @see DatabaseMetaData#getTableTypes()
+     */
+    public MetadataCensus types(final String... types) {
+        this.types = types;
+        return this;
+    }
+
+    /**
+     * Sets whether to count indices, with a call per table, and returns this
+     * instance. Default value is {@code false}.
+     *
+     * @param indices {@code true} for counting indices; {@code false}
+     * otherwise
+     * @return this instance
+     */
+    public MetadataCensus indices(final boolean indices) {
+        this.indices = indices;
+        return this;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Takes a census of specified schemas.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @return a census
+     * @throws SQLException if a database error occurs.
+     */
+    public Census take(final String catalog, final String schemaPattern)
+            throws SQLException {
+        final Census census = new Census();
+        final Map<String, Map<String, Census.Tally>> tallies
+                = new HashMap<String, Map<String, Census.Tally>>();
+        tables(census, tallies, catalog, schemaPattern);
+        columns(census, tallies, catalog, schemaPattern);
+        if (indices) {
+            indices(census);
+        }
+        return census;
+    }
+
+    private void tables(final Census census,
+                        final Map<String, Map<String, Census.Tally>> tallies,
+                        final String catalog, final String schemaPattern)
+            throws SQLException {
+        final ResultSet results
+                = metadata.getTables(catalog, schemaPattern, null, types);
+        if (results == null) {
+            return;
+        }
+        try {
+            while (results.next()) {
+                final String cat = results.getString("TABLE_CAT");
+                final String schem = results.getString("TABLE_SCHEM");
+                Map<String, Census.Tally> schemas = tallies.get(cat);
+                if (schemas == null) {
+                    schemas = new HashMap<String, Census.Tally>();
+                    tallies.put(cat, schemas);
+                }
+                Census.Tally tally = schemas.get(schem);
+                if (tally == null) {
+                    tally = new Census.Tally(cat, schem);
+                    schemas.put(schem, tally);
+                    census.tallies.add(tally);
+                }
+                if (tally.names.add(results.getString("TABLE_NAME"))) {
+                    tally.tables++;
+                }
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    private void columns(final Census census,
+                         final Map<String, Map<String, Census.Tally>> tallies,
+                         final String catalog, final String schemaPattern)
+            throws SQLException {
+        final ResultSet results
+                = metadata.getColumns(catalog, schemaPattern, null, null);
+        if (results == null) {
+            return;
+        }
+        try {
+            // columns are ordered by tables; count runs of each table
+            Census.Tally tally = null;
+            String cat = null;
+            String schem = null;
+            String name = null;
+            boolean counted = false;
+            int run = 0;
+            while (results.next()) {
+                final String c = results.getString("TABLE_CAT");
+                final String s = results.getString("TABLE_SCHEM");
+                final String n = results.getString("TABLE_NAME");
+                if (!equal(n, name) || !equal(s, schem) || !equal(c, cat)) {
+                    if (counted && run > tally.maxColumns) {
+                        tally.maxColumns = run;
+                    }
+                    cat = c;
+                    schem = s;
+                    name = n;
+                    run = 0;
+                    final Map<String, Census.Tally> schemas = tallies.get(c);
+                    tally = schemas == null ? null : schemas.get(s);
+                    counted = tally != null && tally.names.contains(n);
+                }
+                if (!counted) {
+                    continue;
+                }
+                run++;
+                tally.columns++;
+                census.type(results.getInt("DATA_TYPE"));
+            }
+            if (counted && run > tally.maxColumns) {
+                tally.maxColumns = run;
+            }
+        } finally {
+            results.close();
+        }
+    }
+
+    private void indices(final Census census) throws SQLException {
+        for (final Census.Tally tally : census.tallies) {
+            tally.indices = 0L;
+            for (final String name : tally.names) {
+                final ResultSet results = metadata.getIndexInfo(
+                        tally.getCatalog(), tally.getSchema(), name, false,
+                        true);
+                if (results == null) {
+                    continue;
+                }
+                try {
+                    // rows of an index are adjacent
+                    String previous = null;
+                    while (results.next()) {
+                        if (results.getShort("TYPE")
+                            == DatabaseMetaData.tableIndexStatistic) {
+                            continue;
+                        }
+                        final String index = results.getString("INDEX_NAME");
+                        if (index != null && !index.equals(previous)) {
+                            tally.indices++;
+                        }
+                        previous = index;
+                    }
+                } finally {
+                    results.close();
+                }
+            }
+        }
+    }
+
+    private static boolean equal(final String a, final String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    // -------------------------------------------------------------------------
+    private final DatabaseMetaData metadata;
+
+    private String[] types;
+
+    private boolean indices;
+}
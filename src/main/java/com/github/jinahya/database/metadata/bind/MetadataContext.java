@@ -15,29 +15,44 @@
  */
 package com.github.jinahya.database.metadata.bind;
 
+import com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind;
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.FAILED_LOAD;
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.NULL_VALUE;
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.UNHANDLED_LABEL;
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.UNKNOWN_LABEL;
 import static com.github.jinahya.database.metadata.bind.Invokes.arguments;
+import static com.github.jinahya.database.metadata.bind.Invokes.escape;
+import static com.github.jinahya.database.metadata.bind.Invokes.patterns;
+import static com.github.jinahya.database.metadata.bind.Invokes.values;
 import static com.github.jinahya.database.metadata.bind.Utils.field;
 import static com.github.jinahya.database.metadata.bind.Utils.fields;
 import static com.github.jinahya.database.metadata.bind.Utils.labels;
 import static com.github.jinahya.database.metadata.bind.Utils.path;
+import static java.beans.Introspector.decapitalize;
+import static java.lang.System.nanoTime;
 import static java.lang.String.format;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.logging.Level;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.SEVERE;
 import java.util.logging.Logger;
@@ -55,6 +70,10 @@ public class MetadataContext {
     private static final Logger logger
             = getLogger(MetadataContext.class.getName());
 
+    // kinds of binding anomalies logged as warnings by default
+    private static final Set<Kind> WARNED
+            = EnumSet.of(UNKNOWN_LABEL, NULL_VALUE, FAILED_LOAD);
+
     // -------------------------------------------------------------------------
     /**
      * Invokes {@link #getSchemas(java.lang.String, java.lang.String)} on given
@@ -83,27 +102,64 @@ public class MetadataContext {
             schema.virtual = true;
             schema.setTableCatalog(catalog);
             schema.setTableSchem("");
-            if (!context.suppressed("schema/functions")) {
-                schema.getFunctions().addAll(context.getFunctions(
-                        schema.getTableCatalog(), schema.getTableSchem(),
-                        null));
+            if (context.listener != null) {
+                context.listener.started(schema);
+            }
+            final long skipped = context.deadline.skipped();
+            boolean fetched = false;
+            if (!context.suppressed(Schema.class, "functions")
+                && context.fetches(Schema.class, schema, "functions")) {
+                fetched = true;
+                final int previous = context.enter(Schema.class, "functions");
+                try {
+                    schema.getFunctions().addAll(context.getFunctions(
+                            schema.getTableCatalog(), schema.getTableSchem(),
+                            null));
+                } finally {
+                    context.leave(previous);
+                }
+            }
+            if (!context.suppressed(Schema.class, "procedures")
+                && context.fetches(Schema.class, schema, "procedures")) {
+                fetched = true;
+                final int previous = context.enter(Schema.class, "procedures");
+                try {
+                    schema.getProcedures().addAll(context.getProcedures(
+                            schema.getTableCatalog(), schema.getTableSchem(),
+                            null));
+                } finally {
+                    context.leave(previous);
+                }
             }
-            if (!context.suppressed("schema/procedures")) {
-                schema.getProcedures().addAll(context.getProcedures(
-                        schema.getTableCatalog(), schema.getTableSchem(),
-                        null));
+            if (!context.suppressed(Schema.class, "tables")
+                && context.fetches(Schema.class, schema, "tables")) {
+                fetched = true;
+                final int previous = context.enter(Schema.class, "tables");
+                try {
+                    schema.getTables().addAll(context.getTables(
+                            schema.getTableCatalog(), schema.getTableSchem(),
+                            null, null));
+                } finally {
+                    context.leave(previous);
+                }
             }
-            if (!context.suppressed("schema/tables")) {
-                schema.getTables().addAll(context.getTables(
-                        schema.getTableCatalog(), schema.getTableSchem(), null,
-                        null));
+            if (!context.suppressed(Schema.class, "UDTs")
+                && context.fetches(Schema.class, schema, "UDTs")) {
+                fetched = true;
+                final int previous = context.enter(Schema.class, "UDTs");
+                try {
+                    schema.getUDTs().addAll(context.getUDTs(
+                            schema.getTableCatalog(), schema.getTableSchem(),
+                            null, null));
+                } finally {
+                    context.leave(previous);
+                }
             }
-            if (!context.suppressed("schema/UDTs")) {
-                schema.getUDTs().addAll(context.getUDTs(
-                        schema.getTableCatalog(), schema.getTableSchem(), null,
-                        null));
+            context.complete(Schema.class, schema, skipped, fetched);
+            if (context.listener == null
+                || context.listener.finished(schema)) {
+                schemas.add(schema);
             }
-            schemas.add(schema);
         }
         return schemas;
     }
@@ -131,12 +187,20 @@ public class MetadataContext {
             catalog.virtual = true;
             catalog.setTableCat("");
             catalogs.add(catalog);
-            if (!context.suppressed("catalog/schemas")) {
-                catalog.getSchemas().addAll(
-                        context.getSchemas(catalog.getTableCat(), ""));
+            if (!context.suppressed(Catalog.class, "schemas")
+                && context.fetches(Catalog.class, catalog, "schemas")) {
+                final int previous = context.enter(Catalog.class, "schemas");
+                try {
+                    catalog.getSchemas().addAll(
+                            context.getSchemas(catalog.getTableCat(), ""));
+                } finally {
+                    context.leave(previous);
+                }
             }
         }
-        if (!context.suppressed("catalog/schemas")) {
+        // not to load schemas deferred by the plan
+        if (!context.suppressed(Catalog.class, "schemas")
+            && context.fetches(Catalog.class, null, "schemas")) {
             boolean allempty = true;
             for (final Catalog catalog : catalogs) {
                 if (!catalog.getSchemas().isEmpty()) {
@@ -146,9 +210,14 @@ public class MetadataContext {
             }
             if (allempty) {
                 logger.warning("schemas are all empty");
-                for (final Catalog catalog : catalogs) {
-                    catalog.getSchemas().addAll(
-                            getSchemas(context, catalog.getTableCat(), true));
+                final int previous = context.enter(Catalog.class, "schemas");
+                try {
+                    for (final Catalog catalog : catalogs) {
+                        catalog.getSchemas().addAll(getSchemas(
+                                context, catalog.getTableCat(), true));
+                    }
+                } finally {
+                    context.leave(previous);
                 }
             }
         }
@@ -171,111 +240,207 @@ public class MetadataContext {
 
     // -------------------------------------------------------------------------
     /**
-     * Binds given instance from specified record.
+     * Binds given instance from the current record of specified result set.
      *
      * @param <T> instance type parameter
      * @param results the result set from which the instance is bound
      * @param type the type of the instance
      * @param instance the instance
-     * @return given instance
+     * @param bfields the fields to bind mapped to their annotations
+     * @param ifields the fields to invoke mapped to their annotations
+     * @param predicates the predicates to test the instance with; may be
+     * {@code null}
+     * @param nulls counts of unexpected {@code null} values, indexed in the
+     * order of {@code bfields}
+     * @return given instance; {@code null} if rejected by any of predicates
+     * or discarded by the listener
      * @throws SQLException if a database error occurs.
+     * @see #finish(Class, Object, Map, long)
      */
     private <T> T bind(final ResultSet results, final Class<T> type,
-                       final T instance)
+                       final T instance, final Map<Field, Bind> bfields,
+                       final Map<Field, Invoke> ifields,
+                       final List<BindPredicate<? super T>> predicates,
+                       final long[] nulls)
             throws SQLException {
-        final Set<String> labels = labels(results);
-        for (final Entry<Field, Bind> bfield : bfields(type).entrySet()) {
+        final long traced = tracer == null ? 0L : tracer.begin();
+        int index = 0;
+        for (final Entry<Field, Bind> bfield : bfields.entrySet()) {
+            final int i = index++;
             final Field field = bfield.getKey();
             final Bind bind = bfield.getValue();
-            String label = bind.label();
-            final String path = path(type, field);
-            final String formatted = format(
-                    "field=%s, path=%s, bind=%s", field, path, bind);
-            if (!labels.remove(label)) {
-                logger.warning(format("unknown; %s", formatted));
-                continue;
-//                label = alias(path);
-//                if (label == null) {
-//                    continue;
-//                }
-//                if (logger.isLoggable(FINE)) {
-//                    logger.log(FINE, "using alias: {0}", label);
-//                }
-            }
-            if (suppressed(path)) {
-                if (logger.isLoggable(FINE)) {
-                    logger.fine(format("suppressed; %s", formatted));
-                }
-                continue;
-            }
-            if (bind.unused()) {
-                if (logger.isLoggable(FINE)) {
-                    logger.fine(format("unused: %s", formatted));
-                }
-                continue;
-            }
-            final Object value = results.getObject(label);
-            if (value == null) {
-                if (!bind.nillable() && !bind.unused() && !bind.reserved()) {
-                    logger.warning(format("null value; %s", formatted));
-                }
-                if (field.getType().isPrimitive()) {
-                    logger.warning(format("null value; %s", formatted));
-                }
-            }
             try {
-                field(field, instance, results, label);
+                field(field, instance, results, bind.label());
             } catch (final ReflectiveOperationException roe) {
-                logger.log(SEVERE, format("failed to set %s with %s on %s",
-                                          field, value, instance), roe);
+                logger.log(SEVERE, format("failed to set %s on %s", field,
+                                          instance), roe);
                 continue;
             }
+            if (results.wasNull()
+                && (field.getType().isPrimitive()
+                    || (!bind.nillable() && !bind.reserved()))) {
+                nulls[i]++;
+            }
         }
-        if (false && !labels.isEmpty()) {
-            logger.log(Level.INFO, "labels:{0}", labels);
+        if (monitor != null && !shallow) {
+            monitor.bound(instance);
         }
-        for (String label : labels) {
-            final Object value = results.getObject(label);
-            if (logger.isLoggable(FINE)) {
-                logger.fine(format(
-                        "unhandled; klass=%s, label=%s, value=%s",
-                        type, label, value));
+        if (predicates != null) {
+            for (final BindPredicate<? super T> predicate : predicates) {
+                if (!predicate.test(instance)) {
+                    if (logger.isLoggable(FINE)) {
+                        logger.fine(format("rejected; %s", instance));
+                    }
+                    return null;
+                }
             }
         }
-        for (final Entry<Field, Invoke> ifield : ifields(type).entrySet()) {
-            final Field field = ifield.getKey();
-            if (!field.getType().equals(List.class)) {
-                logger.severe(format("wrong field type: %s", field.getType()));
-                continue;
+        if (shallow) {
+            return instance; // finished when served; see adapt
+        }
+        return finish(type, instance, ifields, traced);
+    }
+
+    /**
+     * Finishes given instance bound from a record. The instance is restored
+     * from or recorded to the journal, notified to the listener and its
+     * invocation fields are invoked.
+     *
+     * @param <T> instance type parameter
+     * @param type the type of the instance
+     * @param instance the instance
+     * @param ifields the fields to invoke mapped to their annotations
+     * @param traced the time the span of the instance began
+     * @return given instance or the one restored from the journal;
+     * {@code null} if discarded by the listener
+     * @throws SQLException if a database error occurs.
+     */
+    private <T> T finish(final Class<T> type, final T instance,
+                         final Map<Field, Invoke> ifields, final long traced)
+            throws SQLException {
+        if (journal != null) {
+            final T restored = journal.restore(type, instance);
+            if (monitor != null) {
+                monitor.journaled(restored != null);
             }
-            final Invoke invoke = ifield.getValue();
-            final String path = path(type, field);
-            final String formatted = format(
-                    "field=%s, path=%s, invoke=%s", field, path, invoke);
-            if (suppressed(path)) {
-                if (logger.isLoggable(FINE)) {
-                    logger.fine(format("skipping; %s", formatted));
+            if (restored != null) {
+                complete(type, restored, deadline.skipped(), true);
+                if (listener != null) {
+                    listener.started(restored);
+                    if (!listener.finished(restored)) {
+                        return null;
+                    }
                 }
-                continue;
+                return restored;
             }
-            final String name = invoke.name();
-            final Class<?>[] types = invoke.types();
-            final Method method;
-            try {
-                method = DatabaseMetaData.class.getMethod(name, types);
-            } catch (final NoSuchMethodException nsme) {
-                logger.log(SEVERE, format("unknown method; {0}", formatted),
-                           nsme);
-                continue;
-            } catch (final NoSuchMethodError nsme) {
-                logger.log(SEVERE, format("unknown method; %s", formatted),
-                           nsme);
-                continue;
+        }
+        if (listener != null) {
+            listener.started(instance);
+        }
+        final Object phase = MetadataEvents.phased(type)
+                             ? MetadataEvents.INSTANCE.beginPhase() : null;
+        Deferred deferred = null;
+        final long skipped = deadline.skipped();
+        final long deferrals = this.deferrals;
+        final long failures = this.failures;
+        boolean fetched = false;
+        int pending = 0;
+        if (monitor != null) {
+            pending = ifields.size();
+            monitor.pending(pending);
+        }
+        try {
+            for (final Entry<Field, Invoke> ifield : ifields.entrySet()) {
+                final Field field = ifield.getKey();
+                final Invoke invoke = ifield.getValue();
+                if (monitor != null) {
+                    monitor.pending(-1);
+                    pending--;
+                }
+                if ((plan != null && !plan.fetches(
+                     segment(type), field.getName(), segments, depth))
+                    || expired()) {
+                    if (deferred == null) {
+                        deferred = defer(type, instance);
+                    }
+                    continue;
+                }
+                final List<Object> fvalue = new ArrayList<Object>();
+                if (!invoke(type, instance, field, invoke, fvalue)) {
+                    continue;
+                }
+                fetched = true;
+                try {
+                    field.set(instance, fvalue);
+                } catch (final ReflectiveOperationException roe) {
+                    logger.severe(format("failed to set %s with %s on %s",
+                                         field, fvalue, instance));
+                }
+            } // end-of-invoke-field-loop
+        } finally {
+            if (pending > 0) {
+                monitor.pending(-pending);
             }
-            final List<Object> fvalue = new ArrayList<Object>();
-            final Class<?> ptype = ptype(field);
-            for (final Literals parameters : invoke.parameters()) {
-                final String[] literals = parameters.value();
+        }
+        complete(type, instance, skipped, fetched);
+        MetadataEvents.INSTANCE.endPhase(phase, instance);
+        traced(traced, instance);
+        if (listener != null && !listener.finished(instance)) {
+            return null;
+        }
+        if (journal != null && deadline.skipped() == skipped
+            && this.deferrals == deferrals && this.failures == failures) {
+            journal.record(instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Invokes the method described by specified annotation of given field and
+     * binds results to specified list.
+     *
+     * @param <T> instance type parameter
+     * @param type the type of the instance
+     * @param instance the instance whose field is invoked
+     * @param field the field
+     * @param invoke the annotation of the field
+     * @param fvalue the list to which bound elements are added
+     * @return {@code true} if the method has been invoked; {@code false} if
+     * the method could not be resolved
+     * @throws SQLException if a database error occurs.
+     */
+    private <T> boolean invoke(final Class<T> type, final T instance,
+                               final Field field, final Invoke invoke,
+                               final List<Object> fvalue)
+            throws SQLException {
+        final String name = invoke.name();
+        final Class<?>[] types = invoke.types();
+        final Method method;
+        try {
+            method = DatabaseMetaData.class.getMethod(name, types);
+        } catch (final NoSuchMethodException nsme) {
+            logger.log(SEVERE, format("unknown method; %s",
+                                      formatted(type, field, invoke)),
+                       nsme);
+            return false;
+        } catch (final NoSuchMethodError nsme) {
+            logger.log(SEVERE, format("unknown method; %s",
+                                      formatted(type, field, invoke)),
+                       nsme);
+            return false;
+        }
+        final Class<?> ptype = ptype(field);
+        final long traced = tracer == null ? 0L : tracer.begin();
+        push(field.getName());
+        try {
+            for (final String[] literals : literals(type, field, invoke)) {
+                if (literals.length != types.length) {
+                    logger.severe(format(
+                            "wrong number of literals %s; %s",
+                            Arrays.toString(literals),
+                            formatted(type, field, invoke)));
+                    continue;
+                }
                 final Object[] arguments;
                 try {
                     arguments = arguments(type, instance, types, literals);
@@ -285,202 +450,757 @@ public class MetadataContext {
                             Arrays.toString(literals), type));
                     continue;
                 }
-                final Object result;
-                try {
-                    result = method.invoke(metadata, arguments);
-                } catch (final Exception e) { // NoSuchMethod
-                    logger.log(SEVERE, format(
-                               "failed to invoke %s with %s", formatted,
-                               Arrays.toString(arguments)), e);
-                    continue;
-                } catch (final Error e) { // NoSuchMethod/AbstractMethod
-                    logger.log(SEVERE, format(
-                               "failed to invoke %s with %s",
-                               formatted, Arrays.toString(arguments)), e);
+                final List<String> owner = adaptive == null
+                        ? null : owner(method, literals, arguments);
+                final Map<String, String> keys
+                        = exactMatch ? keys(method, literals, arguments) : null;
+                if (owner != null) {
+                    adapt(type, field, invoke, method, literals, arguments,
+                          ptype, fvalue, keys, owner);
                     continue;
                 }
-                if (!ResultSet.class.isInstance(result)) {
-                    logger.severe(format(
-                            "wrong result; %s for %s", result, formatted));
+                if (coalescer == null) {
+                    call(type, field, invoke, method, arguments, ptype, fvalue,
+                         keys);
                     continue;
                 }
-                try {
-                    bind((ResultSet) result, ptype, fvalue);
-                } finally {
-                    ((ResultSet) result).close();
+                final List<Object> key = Arrays.<Object>asList(
+                        method, values(arguments), keys);
+                if (monitor != null) {
+                    monitor.coalescing();
                 }
+                fvalue.addAll(coalescer.call(key, new Callable<List<Object>>() {
+                    @Override
+                    public List<Object> call() throws SQLException {
+                        if (monitor != null) {
+                            monitor.uncoalesced();
+                        }
+                        final List<Object> list = new ArrayList<Object>();
+                        final long deferrals = MetadataContext.this.deferrals;
+                        MetadataContext.this.call(type, field, invoke, method,
+                                                  arguments, ptype, list,
+                                                  keys);
+                        if (MetadataContext.this.deferrals != deferrals) {
+                            // loaded lazily through this context only
+                            coalescer.unshared(key);
+                        }
+                        return list;
+                    }
+                }));
             }
-            try {
-                field.set(instance, fvalue);
-            } catch (final ReflectiveOperationException roe) {
-                logger.severe(format("failed to set %s with %s on %s",
-                                     field, fvalue, instance));
-            }
-        } // end-of-invoke-field-loop
-        return instance;
+        } finally {
+            pop();
+            traced(traced, field);
+        }
+        return true;
     }
 
     /**
-     * Binds all records as given type and add them to specified list.
+     * Invokes given method with specified arguments and binds the result.
      *
-     * @param <T> binding type parameter
-     * @param results the records to bind
-     * @param klass the type of instances
-     * @param instances a list to which instances are added
-     * @return given list
+     * @param type the type declaring the field
+     * @param field the invocation field
+     * @param invoke the annotation of the field
+     * @param method the method to invoke
+     * @param arguments the arguments for the method
+     * @param ptype the type of elements
+     * @param list the list to which bound elements are added
+     * @param keys values of key columns; {@code null} for all records
+     * @return {@code true} if the result has been bound; {@code false} if
+     * the call failed
      * @throws SQLException if a database error occurs.
      */
-    private <T> List<? super T> bind(final ResultSet results,
-                                     final Class<T> klass,
-                                     final List<? super T> instances)
+    private boolean call(final Class<?> type, final Field field,
+                      final Invoke invoke, final Method method,
+                      final Object[] arguments, final Class<?> ptype,
+                      final List<Object> list, final Map<String, String> keys)
             throws SQLException {
-        if (results == null) {
-            throw new NullPointerException("results is null");
+        long started = 0L;
+        if (limiter != null) {
+            try {
+                started = limiter.acquire();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("interrupted while acquiring", ie);
+            }
         }
-        if (klass == null) {
-            throw new NullPointerException("klass is null");
+        final Object event = MetadataEvents.INSTANCE.beginCall();
+        final long traced = tracer == null ? 0L : tracer.begin();
+        calling();
+        final Object result;
+        try {
+            result = method.invoke(metadata, arguments);
+        } catch (final Exception e) { // NoSuchMethod
+            if (e instanceof InvocationTargetException
+                && e.getCause() instanceof SQLException
+                && !(e.getCause() instanceof SQLFeatureNotSupportedException)) {
+                failures++;
+                if (depth == fetching) {
+                    fetchFailures++;
+                }
+            }
+            MetadataEvents.INSTANCE.endCall(event, method, arguments, -1);
+            traced(traced, method);
+            logger.log(SEVERE, format(
+                       "failed to invoke %s with %s",
+                       formatted(type, field, invoke),
+                       Arrays.toString(arguments)), e);
+            return false;
+        } catch (final Error e) { // NoSuchMethod/AbstractMethod
+            MetadataEvents.INSTANCE.endCall(event, method, arguments, -1);
+            traced(traced, method);
+            logger.log(SEVERE, format(
+                       "failed to invoke %s with %s",
+                       formatted(type, field, invoke),
+                       Arrays.toString(arguments)), e);
+            return false;
+        } finally {
+            called();
+            if (limiter != null) {
+                limiter.release(started);
+            }
         }
-        if (instances == null) {
-            throw new NullPointerException("instances is null");
+        if (!ResultSet.class.isInstance(result)) {
+            MetadataEvents.INSTANCE.endCall(event, method, arguments, -1);
+            traced(traced, method);
+            logger.severe(format(
+                    "wrong result; %s for %s", result,
+                    formatted(type, field, invoke)));
+            return false;
         }
-        while (results.next()) {
-            final T instance;
-            try {
-                instance = klass.newInstance();
-            } catch (final ReflectiveOperationException roe) {
-                logger.log(SEVERE,
-                           format("failed to create new instance of %s", klass),
-                           roe);
+        final int size = list.size();
+        try {
+            bind((ResultSet) result, ptype, list, keys);
+        } finally {
+            ((ResultSet) result).close();
+            MetadataEvents.INSTANCE.endCall(event, method, arguments,
+                                            list.size() - size);
+            traced(traced, method);
+        }
+        return true;
+    }
+
+    /**
+     * Returns values of the owner referred by given arguments, if the method
+     * can be called in bulk by the adaptive fetch.
+     *
+     * @param method the method
+     * @param literals the literals of the arguments
+     * @param arguments the arguments, not escaped yet
+     * @return a list of values; {@code null} if not callable in bulk
+     */
+    private List<String> owner(final Method method, final String[] literals,
+                               final Object[] arguments) {
+        final String[] labels = adaptive.labels(method);
+        if (labels == null) {
+            return null;
+        }
+        final List<String> owner = new ArrayList<String>(labels.length);
+        boolean nulled = false;
+        for (int i = 1; i < literals.length; i++) { // except the catalog
+            if (!literals[i].startsWith(":")) {
                 continue;
             }
-            instances.add(bind(results, klass, instance));
+            if (labels[i] == null) {
+                if (i > 1) { // not the schema
+                    return null;
+                }
+                continue;
+            }
+            if (!(arguments[i] == null || arguments[i] instanceof String)) {
+                return null;
+            }
+            nulled |= i > 1;
+            owner.add((String) arguments[i]);
         }
-        return instances;
+        return nulled ? owner : null;
     }
 
     /**
-     * Invokes
-     * {@link DatabaseMetaData#getAttributes(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}
-     * with given arguments and returns bound information.
+     * Invokes given method for an owner either per owner or in bulk, as
+     * chosen by the adaptive fetch.
      *
-     * @param catalog the value for {@code catalog} parameter.
-     * @param schemaPattern the value for {@code schemaPattern} parameter.
-     * @param typeNamePattern the value for {@code typeNamePattern} parameter.
-     * @param attributeNamePattern the value for {@code attributeNamePattern}
-     * parameter.
-     * @return a list of attributes.
+     * @param type the type declaring the field
+     * @param field the invocation field
+     * @param invoke the annotation of the field
+     * @param method the method to invoke
+     * @param literals the literals of the arguments
+     * @param arguments the arguments for the method
+     * @param ptype the type of elements
+     * @param list the list to which bound elements are added
+     * @param keys values of key columns; {@code null} for all records
+     * @param owner values of the owner returned by
+     * {@link #owner(Method, String[], Object[])}
      * @throws SQLException if a database error occurs.
      */
-    public List<Attribute> getAttributes(final String catalog,
-                                         final String schemaPattern,
-                                         final String typeNamePattern,
-                                         final String attributeNamePattern)
+    private void adapt(final Class<?> type, final Field field,
+                       final Invoke invoke, final Method method,
+                       final String[] literals, final Object[] arguments,
+                       final Class<?> ptype, final List<Object> list,
+                       final Map<String, String> keys,
+                       final List<String> owner)
             throws SQLException {
-        final List<Attribute> list = new ArrayList<Attribute>();
-        final ResultSet results = metadata.getAttributes(
-                catalog, schemaPattern, typeNamePattern, attributeNamePattern);
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
+        final String path = path(type, field);
+        final List<Field> owners
+                = owners(ptype, literals, adaptive.labels(method));
+        final Object[] scoped = arguments.clone();
+        for (int i = 2; i < literals.length; i++) {
+            if (literals[i].startsWith(":")) {
+                scoped[i] = null;
+            }
+        }
+        final List<Object> key = Arrays.<Object>asList(
+                method, values(scoped));
+        BulkScope scope = scopes.get(path);
+        if (scope == null || !scope.key.equals(key)) {
+            scope = new BulkScope(key);
+            scopes.put(path, scope);
+        }
+        if (!scope.grouped() && owners != null
+            && adaptive.bulk(path, scope.requested(), scope.spent())) {
+            final long failures = this.failures;
+            final long fetchFailures = this.fetchFailures;
+            final List<Object> all = new ArrayList<Object>();
+            final long started = nanoTime();
+            final boolean shallow = this.shallow;
+            this.shallow = true; // finished only when served
+            try {
+                if (call(type, field, invoke, method, scoped, ptype, all,
+                         null) && !scope.group(owners, all)) {
+                    logger.warning(format(
+                            "inconsistent bulk call of %s with %s", path,
+                            Arrays.toString(scoped)));
+                }
+            } catch (final IllegalAccessException iae) {
+                logger.log(SEVERE, format("failed to group %s", ptype), iae);
+            } finally {
+                this.shallow = shallow;
+            }
+            if (!scope.grouped()) {
+                this.failures = failures; // called per owner instead
+                this.fetchFailures = fetchFailures;
+                adaptive.bulked(path, -1L);
+            } else {
+                adaptive.bulked(path, nanoTime() - started);
+            }
         }
+        final List<Object> grouped = scope.serve(owner);
+        if (grouped != null) {
+            serve(ptype, grouped, list);
+            return;
+        }
+        final int size = list.size();
+        final long started = nanoTime();
+        call(type, field, invoke, method, arguments, ptype, list, keys);
+        final long elapsed = nanoTime() - started;
         try {
-            bind(results, Attribute.class, list);
-        } finally {
-            results.close();
+            scope.called(owner, elapsed, owners,
+                         list.subList(size, list.size()));
+        } catch (final IllegalAccessException iae) {
+            logger.log(SEVERE, format("failed to group %s", ptype), iae);
         }
-        return list;
+        adaptive.called(path, elapsed);
     }
 
     /**
-     * Invokes
-     * {@link DatabaseMetaData#getBestRowIdentifier(java.lang.String, java.lang.String, java.lang.String, int, boolean)}
-     * with given arguments and returns bound information.
+     * Finishes elements of a group of a bulk call, which have been bound
+     * without being finished, and adds them to specified list.
      *
-     * @param catalog the value for {@code catalog} parameter
-     * @param schema the value for {@code schema} parameter
-     * @param table the value for {@code table} parameter
-     * @param scope the value for {@code scope} parameter
-     * @param nullable the value for {@code nullable} parameter
-     * @return a list of best row identifies
+     * @param <T> element type parameter
+     * @param ptype the type of elements
+     * @param group the elements of the group
+     * @param list the list to which finished elements are added
      * @throws SQLException if a database error occurs.
      */
-    public List<BestRowIdentifier> getBestRowIdentifier(
-            final String catalog, final String schema, final String table,
-            final int scope, final boolean nullable)
+    private <T> void serve(final Class<T> ptype, final List<Object> group,
+                           final List<Object> list)
             throws SQLException {
-        final List<BestRowIdentifier> list = new ArrayList<BestRowIdentifier>();
-        final ResultSet results = metadata.getBestRowIdentifier(
-                catalog, schema, table, scope, nullable);
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
-        }
-        try {
-            bind(results, BestRowIdentifier.class, list);
-        } finally {
-            results.close();
+        final Map<Field, Invoke> ifields = invocations(ptype);
+        for (final Object element : group) {
+            final long traced = tracer == null ? 0L : tracer.begin();
+            final T instance = ptype.cast(element);
+            if (monitor != null) {
+                monitor.bound(instance);
+            }
+            final T finished = finish(ptype, instance, ifields, traced);
+            if (finished != null) {
+                list.add(finished);
+            }
         }
-        return list;
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getCatalogs()} and returns bound
-     * information.
+     * Returns the fields of elements which identify their owners. Elements
+     * of a bulk call are grouped by these fields, thus, none of them may be
+     * left unbound.
      *
-     * @return a list of catalogs
-     * @throws SQLException if a database error occurs.
+     * @param ptype the type of elements
+     * @param literals the literals of the arguments
+     * @param labels the labels of owner columns
+     * @return the fields of owner columns; {@code null} if any of them is not
+     * bound
      */
-    public List<Catalog> getCatalogs() throws SQLException {
-        final List<Catalog> list = new ArrayList<Catalog>();
-        final ResultSet results = metadata.getCatalogs();
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
-        }
-        try {
-            bind(results, Catalog.class, list);
-        } finally {
-            results.close();
+    private List<Field> owners(final Class<?> ptype, final String[] literals,
+                               final String[] labels) {
+        final List<Field> fields = new ArrayList<Field>();
+        for (int i = 1; i < literals.length; i++) {
+            if (!literals[i].startsWith(":") || labels[i] == null) {
+                continue;
+            }
+            Field found = null;
+            for (final Entry<Field, Bind> bfield
+                 : bfields(ptype).entrySet()) {
+                if (bfield.getValue().label().equals(labels[i])) {
+                    found = bfield.getKey();
+                    break;
+                }
+            }
+            if (found == null) {
+                logger.warning(format("no field labeled %s in %s", labels[i],
+                                      ptype));
+                return null;
+            }
+            if (found.getAnnotation(Bind.class).unused()
+                || suppressed(ptype, found)) {
+                if (logger.isLoggable(FINE)) {
+                    logger.fine(format("not bulked; %s is not bound",
+                                       path(ptype, found)));
+                }
+                return null;
+            }
+            fields.add(found);
         }
-        return list;
+        return fields;
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getClientInfoProperties()} and returns
-     * bound information.
-     *
-     * @return a list of client info properties
-     * @throws SQLException if a database error occurs.
+     * Notifies the monitor, if any, that a call is made.
      */
-    public List<ClientInfoProperty> getClientInfoProperties()
-            throws SQLException {
-        final List<ClientInfoProperty> list
-                = new ArrayList<ClientInfoProperty>();
-        final ResultSet results = metadata.getClientInfoProperties();
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
+    private void calling() {
+        if (monitor != null) {
+            monitor.calling();
         }
-        try {
-            bind(results, ClientInfoProperty.class, list);
-        } finally {
-            results.close();
+    }
+
+    /**
+     * Notifies the monitor, if any, that a call made is done.
+     */
+    private void called() {
+        if (monitor != null) {
+            monitor.called();
         }
-        return list;
     }
 
     /**
-     * Invokes
-     * {@link DatabaseMetaData#getColumns(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}
-     * with given arguments and returns bound information.
+     * Ends a span of the tracer, if any.
      *
-     * @param catalog the value for {@code catalog} parameter
-     * @param schemaPattern the value for {@code schemaPattern} parameter
-     * @param tableNamePattern the value for {@code tableNameSchema} parameter
-     * @param columnNamePattern the value for {@code columnNamePattern}
-     * parameter
-     * @return a list of columns
-     * @throws SQLException if a database error occurs.
+     * @param begin the time the span began
+     * @param subject the subject of the span
+     */
+    private void traced(final long begin, final Object subject) {
+        if (tracer != null) {
+            tracer.end(begin, subject);
+        }
+    }
+
+    /**
+     * Returns parameter sets for the invocation of given field, which are
+     * either overridden or declared with the annotation.
+     *
+     * @param type the type declaring the field
+     * @param field the field
+     * @param invoke the annotation of the field
+     * @return a list of parameter sets
+     */
+    private List<String[]> literals(final Class<?> type, final Field field,
+                                    final Invoke invoke) {
+        if (parameters != null) {
+            final List<String[]> overridden
+                    = parameters.get(path(type, field));
+            if (overridden != null) {
+                return overridden;
+            }
+        }
+        final Literals[] declared = invoke.parameters();
+        final List<String[]> literals
+                = new ArrayList<String[]>(declared.length);
+        for (final Literals parameter : declared) {
+            literals.add(parameter.value());
+        }
+        return literals;
+    }
+
+    /**
+     * Escapes values bound to pattern parameters of given method in place and
+     * returns them mapped to the labels of their key columns.
+     *
+     * @param method the method
+     * @param literals the literals of the arguments
+     * @param arguments the arguments
+     * @return a map of labels and values; {@code null} if none is escaped
+     * @throws SQLException if a database error occurs.
+     */
+    private Map<String, String> keys(final Method method,
+                                     final String[] literals,
+                                     final Object[] arguments)
+            throws SQLException {
+        final String[] labels = patterns(method);
+        if (labels == null) {
+            return null;
+        }
+        Map<String, String> keys = null;
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i] == null || !literals[i].startsWith(":")
+                || !(arguments[i] instanceof String)) {
+                continue;
+            }
+            if (keys == null) {
+                keys = new HashMap<String, String>();
+            }
+            final String value = (String) arguments[i];
+            keys.put(labels[i], value);
+            arguments[i] = escape(value, getSearchStringEscape());
+        }
+        return keys;
+    }
+
+    private String getSearchStringEscape() throws SQLException {
+        if (searchStringEscape == null) {
+            final String escape = metadata.getSearchStringEscape();
+            searchStringEscape = escape == null ? "" : escape;
+        }
+        return searchStringEscape;
+    }
+
+    private String formatted(final Class<?> type, final Field field,
+                             final Invoke invoke) {
+        return format("field=%s, path=%s, invoke=%s", field, path(type, field),
+                      invoke);
+    }
+
+    /**
+     * Binds all records as given type and add them to specified list.
+     *
+     * @param <T> binding type parameter
+     * @param results the records to bind
+     * @param klass the type of instances
+     * @param instances a list to which instances are added
+     * @return given list
+     * @throws SQLException if a database error occurs.
+     */
+    <T> List<? super T> bind(final ResultSet results, final Class<T> klass,
+                             final List<? super T> instances)
+            throws SQLException {
+        return bind(results, klass, instances, null);
+    }
+
+    /**
+     * Binds records, whose key columns equal to given values, as given type
+     * and add them to specified list.
+     *
+     * @param <T> binding type parameter
+     * @param results the records to bind
+     * @param klass the type of instances
+     * @param instances a list to which instances are added
+     * @param keys values of key columns mapped to their labels; {@code null}
+     * for all records
+     * @return given list
+     * @throws SQLException if a database error occurs.
+     */
+    private <T> List<? super T> bind(final ResultSet results,
+                                     final Class<T> klass,
+                                     final List<? super T> instances,
+                                     final Map<String, String> keys)
+            throws SQLException {
+        if (results == null) {
+            throw new NullPointerException("results is null");
+        }
+        if (klass == null) {
+            throw new NullPointerException("klass is null");
+        }
+        if (instances == null) {
+            throw new NullPointerException("instances is null");
+        }
+        if (monitor != null && monitor.getFlushCount() != flushes) {
+            flush();
+        }
+        final boolean root = depth == 0;
+        if (root) {
+            push(segment(klass));
+        }
+        final Object event = MetadataEvents.INSTANCE.beginBind();
+        try {
+            // resolve fields once per result set, not per record
+            final Set<String> unhandled = labels(results);
+            // drop keys of columns absent in this result set
+            Map<String, String> matching = keys;
+            if (keys != null && !unhandled.containsAll(keys.keySet())) {
+                matching = new HashMap<String, String>(keys);
+                matching.keySet().retainAll(unhandled);
+            }
+            final List<String> unknown = new ArrayList<String>();
+            final Map<Field, Bind> bfields
+                    = new LinkedHashMap<Field, Bind>();
+            for (final Entry<Field, Bind> bfield : bfields(klass).entrySet()) {
+                final Field field = bfield.getKey();
+                final Bind bind = bfield.getValue();
+                if (!unhandled.remove(bind.label())) {
+                    unknown.add(bind.label());
+                    continue;
+                }
+                if (suppressed(klass, field)) {
+                    if (logger.isLoggable(FINE)) {
+                        logger.fine(format(
+                                "suppressed; field=%s, path=%s, bind=%s",
+                                field, path(klass, field), bind));
+                    }
+                    continue;
+                }
+                if (bind.unused()) {
+                    if (logger.isLoggable(FINE)) {
+                        logger.fine(format(
+                                "unused: field=%s, path=%s, bind=%s", field,
+                                path(klass, field), bind));
+                    }
+                    continue;
+                }
+                bfields.put(field, bind);
+            }
+            final Map<Field, Invoke> ifields = invocations(klass);
+            final List<BindPredicate<? super T>> predicates
+                    = predicates(klass);
+            final long[] nulls = new long[bfields.size()];
+            long records = 0L;
+            while (results.next()) {
+                if (matching != null && !matches(results, matching)) {
+                    continue;
+                }
+                records++;
+                final T instance;
+                try {
+                    instance = klass.newInstance();
+                } catch (final ReflectiveOperationException roe) {
+                    logger.log(SEVERE, format(
+                               "failed to create new instance of %s", klass),
+                               roe);
+                    continue;
+                }
+                final T bound = bind(results, klass, instance, bfields,
+                                     ifields, predicates, nulls);
+                if (bound == null) {
+                    continue;
+                }
+                instances.add(bound);
+            }
+            MetadataEvents.INSTANCE.endBind(event, klass, (int) records);
+            // count anomalies once per result set, not per record
+            for (final String label : unknown) {
+                diagnostics.add(klass, label, UNKNOWN_LABEL, records);
+            }
+            for (final String label : unhandled) {
+                diagnostics.add(klass, label, UNHANDLED_LABEL, records);
+            }
+            int i = 0;
+            for (final Bind bind : bfields.values()) {
+                diagnostics.add(klass, bind.label(), NULL_VALUE, nulls[i++]);
+            }
+        } finally {
+            if (root) {
+                pop();
+                report();
+            }
+        }
+        return instances;
+    }
+
+    /**
+     * Returns invocation fields of given type, which are not suppressed,
+     * mapped to their annotations.
+     *
+     * @param klass the type
+     * @return a map of invocation fields and their annotations
+     */
+    private Map<Field, Invoke> invocations(final Class<?> klass) {
+        final Map<Field, Invoke> ifields = new LinkedHashMap<Field, Invoke>();
+        for (final Entry<Field, Invoke> ifield : ifields(klass).entrySet()) {
+            final Field field = ifield.getKey();
+            final Invoke invoke = ifield.getValue();
+            if (!field.getType().equals(List.class)) {
+                logger.severe(format("wrong field type: %s", field.getType()));
+                continue;
+            }
+            if (suppressed(klass, field)) {
+                if (logger.isLoggable(FINE)) {
+                    logger.fine(format(
+                            "skipping; field=%s, path=%s, invoke=%s",
+                            field, path(klass, field), invoke));
+                }
+                continue;
+            }
+            ifields.put(field, invoke);
+        }
+        return ifields;
+    }
+
+    private static boolean matches(final ResultSet results,
+                                   final Map<String, String> keys)
+            throws SQLException {
+        for (final Entry<String, String> key : keys.entrySet()) {
+            if (!key.getValue().equals(results.getString(key.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Invokes
+     * {@link DatabaseMetaData#getAttributes(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}
+     * with given arguments and returns bound information.
+     *
+     * @param catalog the value for {@code catalog} parameter.
+     * @param schemaPattern the value for {@code schemaPattern} parameter.
+     * @param typeNamePattern the value for {@code typeNamePattern} parameter.
+     * @param attributeNamePattern the value for {@code attributeNamePattern}
+     * parameter.
+     * @return a list of attributes.
+     * @throws SQLException if a database error occurs.
+     */
+    public List<Attribute> getAttributes(final String catalog,
+                                         final String schemaPattern,
+                                         final String typeNamePattern,
+                                         final String attributeNamePattern)
+            throws SQLException {
+        final List<Attribute> list = new ArrayList<Attribute>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getAttributes(
+                    catalog, schemaPattern, typeNamePattern,
+                    attributeNamePattern);
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, Attribute.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    /**
+     * Invokes
+     * {@link DatabaseMetaData#getBestRowIdentifier(java.lang.String, java.lang.String, java.lang.String, int, boolean)}
+     * with given arguments and returns bound information.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schema the value for {@code schema} parameter
+     * @param table the value for {@code table} parameter
+     * @param scope the value for {@code scope} parameter
+     * @param nullable the value for {@code nullable} parameter
+     * @return a list of best row identifies
+     * @throws SQLException if a database error occurs.
+     */
+    public List<BestRowIdentifier> getBestRowIdentifier(
+            final String catalog, final String schema, final String table,
+            final int scope, final boolean nullable)
+            throws SQLException {
+        final List<BestRowIdentifier> list = new ArrayList<BestRowIdentifier>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getBestRowIdentifier(
+                    catalog, schema, table, scope, nullable);
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, BestRowIdentifier.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getCatalogs()} and returns bound
+     * information.
+     *
+     * @return a list of catalogs
+     * @throws SQLException if a database error occurs.
+     */
+    public List<Catalog> getCatalogs() throws SQLException {
+        final List<Catalog> list = new ArrayList<Catalog>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getCatalogs();
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, Catalog.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getClientInfoProperties()} and returns
+     * bound information.
+     *
+     * @return a list of client info properties
+     * @throws SQLException if a database error occurs.
+     */
+    public List<ClientInfoProperty> getClientInfoProperties()
+            throws SQLException {
+        final List<ClientInfoProperty> list
+                = new ArrayList<ClientInfoProperty>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getClientInfoProperties();
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, ClientInfoProperty.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    /**
+     * Invokes
+     * {@link DatabaseMetaData#getColumns(java.lang.String, java.lang.String, java.lang.String, java.lang.String)}
+     * with given arguments and returns bound information.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNameSchema} parameter
+     * @param columnNamePattern the value for {@code columnNamePattern}
+     * parameter
+     * @return a list of columns
+     * @throws SQLException if a database error occurs.
      */
     public List<Column> getColumns(final String catalog,
                                    final String schemaPattern,
@@ -488,8 +1208,15 @@ public class MetadataContext {
                                    final String columnNamePattern)
             throws SQLException {
         final List<Column> list = new ArrayList<Column>();
-        final ResultSet results = metadata.getColumns(
-                catalog, schemaPattern, tableNamePattern, columnNamePattern);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getColumns(
+                    catalog, schemaPattern, tableNamePattern,
+                    columnNamePattern);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -520,8 +1247,14 @@ public class MetadataContext {
             final String columnNamePattern)
             throws SQLException {
         final List<ColumnPrivilege> list = new ArrayList<ColumnPrivilege>();
-        final ResultSet results = metadata.getColumnPrivileges(
-                catalog, schema, table, columnNamePattern);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getColumnPrivileges(
+                    catalog, schema, table, columnNamePattern);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -555,9 +1288,15 @@ public class MetadataContext {
             final String foreignTable)
             throws SQLException {
         final List<CrossReference> list = new ArrayList<CrossReference>();
-        final ResultSet results = metadata.getCrossReference(
-                parentCatalog, parentSchema, parentTable, foreignCatalog,
-                foreignSchema, foreignTable);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getCrossReference(
+                    parentCatalog, parentSchema, parentTable, foreignCatalog,
+                    foreignSchema, foreignTable);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -589,8 +1328,15 @@ public class MetadataContext {
             final String functionNamePattern, final String columnNamePattern)
             throws SQLException {
         final List<FunctionColumn> list = new ArrayList<FunctionColumn>();
-        final ResultSet results = metadata.getFunctionColumns(
-                catalog, schemaPattern, functionNamePattern, columnNamePattern);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getFunctionColumns(
+                    catalog, schemaPattern, functionNamePattern,
+                    columnNamePattern);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -620,8 +1366,14 @@ public class MetadataContext {
                                        final String functionNamePattern)
             throws SQLException {
         final List<Function> list = new ArrayList<Function>();
-        final ResultSet results = metadata.getFunctions(
-                catalog, schemaPattern, functionNamePattern);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getFunctions(
+                    catalog, schemaPattern, functionNamePattern);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -649,8 +1401,14 @@ public class MetadataContext {
             final String catalog, final String schema, final String table)
             throws SQLException {
         final List<ExportedKey> list = new ArrayList<ExportedKey>();
-        final ResultSet results = metadata.getExportedKeys(
-                catalog, schema, table);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getExportedKeys(
+                    catalog, schema, table);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -678,8 +1436,14 @@ public class MetadataContext {
             final String catalog, final String schema, final String table)
             throws SQLException {
         final List<ImportedKey> list = new ArrayList<ImportedKey>();
-        final ResultSet results = metadata.getImportedKeys(
-                catalog, schema, table);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getImportedKeys(
+                    catalog, schema, table);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -711,8 +1475,14 @@ public class MetadataContext {
             final boolean unique, final boolean approximate)
             throws SQLException {
         final List<IndexInfo> list = new ArrayList<IndexInfo>();
-        final ResultSet results = metadata.getIndexInfo(
-                catalog, schema, table, unique, approximate);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getIndexInfo(
+                    catalog, schema, table, unique, approximate);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -740,8 +1510,14 @@ public class MetadataContext {
             final String catalog, final String schema, final String table)
             throws SQLException {
         final List<PrimaryKey> list = new ArrayList<PrimaryKey>();
-        final ResultSet results = metadata.getPrimaryKeys(
-                catalog, schema, table);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getPrimaryKeys(
+                    catalog, schema, table);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -773,9 +1549,15 @@ public class MetadataContext {
             final String procedureNamePattern, final String columnNamePattern)
             throws SQLException {
         final List<ProcedureColumn> list = new ArrayList<ProcedureColumn>();
-        final ResultSet results = metadata.getProcedureColumns(
-                catalog, schemaPattern, procedureNamePattern,
-                columnNamePattern);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getProcedureColumns(
+                    catalog, schemaPattern, procedureNamePattern,
+                    columnNamePattern);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -805,8 +1587,14 @@ public class MetadataContext {
                                          final String procedureNamePattern)
             throws SQLException {
         final List<Procedure> list = new ArrayList<Procedure>();
-        final ResultSet results = metadata.getProcedures(
-                catalog, schemaPattern, procedureNamePattern);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getProcedures(
+                    catalog, schemaPattern, procedureNamePattern);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -838,8 +1626,15 @@ public class MetadataContext {
                                                final String columnNamePattern)
             throws SQLException {
         final List<PseudoColumn> list = new ArrayList<PseudoColumn>();
-        final ResultSet results = metadata.getPseudoColumns(
-                catalog, schemaPattern, tableNamePattern, columnNamePattern);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getPseudoColumns(
+                    catalog, schemaPattern, tableNamePattern,
+                    columnNamePattern);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -861,7 +1656,13 @@ public class MetadataContext {
      */
     public List<SchemaName> getSchemas() throws SQLException {
         final List<SchemaName> list = new ArrayList<SchemaName>();
-        final ResultSet results = metadata.getSchemas();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getSchemas();
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -888,7 +1689,13 @@ public class MetadataContext {
                                    final String schemaPattern)
             throws SQLException {
         final List<Schema> list = new ArrayList<Schema>();
-        final ResultSet results = metadata.getSchemas(catalog, schemaPattern);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getSchemas(catalog, schemaPattern);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -919,8 +1726,14 @@ public class MetadataContext {
                                  final String[] types)
             throws SQLException {
         final List<Table> list = new ArrayList<Table>();
-        final ResultSet results = metadata.getTables(
-                catalog, schemaPattern, tableNamePattern, types);
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getTables(
+                    catalog, schemaPattern, tableNamePattern, types);
+        } finally {
+            called();
+        }
         if (results == null) {
             logger.warning("empty result set retrived");
             return list;
@@ -930,188 +1743,1066 @@ public class MetadataContext {
         } finally {
             results.close();
         }
-        return list;
+        return list;
+    }
+
+    /**
+     * Invokes
+     * {@link DatabaseMetaData#getTablePrivileges(java.lang.String, java.lang.String, java.lang.String)}
+     * with given arguments and returns bound information.
+     *
+     * @param catalog the value for {@code catalog} parameter
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param tableNamePattern the value for {@code tableNamePattern} parameter
+     * @return a list of table privileges
+     * @throws SQLException if a database error occurs.
+     */
+    public List<TablePrivilege> getTablePrivileges(
+            final String catalog, final String schemaPattern,
+            final String tableNamePattern)
+            throws SQLException {
+        final List<TablePrivilege> list = new ArrayList<TablePrivilege>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getTablePrivileges(
+                    catalog, schemaPattern, tableNamePattern);
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, TablePrivilege.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getTableTypes()} and returns bound
+     * information.
+     *
+     * @return a list of table types
+     * @throws SQLException if a database error occurs.
+     */
+    public List<TableType> getTableTypes() throws SQLException {
+        final List<TableType> list = new ArrayList<TableType>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getTableTypes();
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, TableType.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    /**
+     * Invokes {@link DatabaseMetaData#getTypeInfo()} and returns bound
+     * information.
+     *
+     * @return a list of type info
+     * @throws SQLException if a database error occurs.
+     */
+    public List<TypeInfo> getTypeInfo() throws SQLException {
+        final List<TypeInfo> list = new ArrayList<TypeInfo>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getTypeInfo();
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, TypeInfo.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    /**
+     * Invokes
+     * {@link DatabaseMetaData#getUDTs(java.lang.String, java.lang.String, java.lang.String, int[])}
+     * with given arguments and returns bound information.
+     *
+     * @param catalog the value for {@code catalog} parameter.
+     * @param schemaPattern the value for {@code schemaPattern} parameter
+     * @param typeNamePattern the value for {@code typeNamePattern} parameter.
+     * @param types the value for {@code type} parameter
+     * @return a list of UDTs
+     * @throws SQLException if a database error occurs.
+     */
+    public List<UDT> getUDTs(final String catalog, final String schemaPattern,
+                             final String typeNamePattern, final int[] types)
+            throws SQLException {
+        final List<UDT> list = new ArrayList<UDT>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getUDTs(
+                    catalog, schemaPattern, typeNamePattern, types);
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, UDT.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    /**
+     * Invokes
+     * {@link DatabaseMetaData#getVersionColumns(java.lang.String, java.lang.String, java.lang.String)}
+     * with given arguments and returns bound information.
+     *
+     * @param catalog catalog the value for {@code catalog} parameter
+     * @param schema schema the value for {@code schema} parameter
+     * @param table table the value for {@code table} parameter
+     * @return a list of version columns
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<VersionColumn> getVersionColumns(final String catalog,
+                                                 final String schema,
+                                                 final String table)
+            throws SQLException {
+        final List<VersionColumn> list = new ArrayList<VersionColumn>();
+        final ResultSet results;
+        calling();
+        try {
+            results = metadata.getVersionColumns(
+                    catalog, schema, table);
+        } finally {
+            called();
+        }
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            bind(results, VersionColumn.class, list);
+        } finally {
+            results.close();
+        }
+        return list;
+    }
+
+    // ----------------------------------------------------------------- project
+    /**
+     * Invokes the method of {@link DatabaseMetaData} of specified name with
+     * given arguments and returns records bound as instances of specified
+     * projection type.
+     * <p>
+     * A projection type is either a class, with a no-arg constructor, whose
+     * fields are annotated with {@link Bind} or an interface whose getters are
+     * annotated with {@link Bind}. Only the columns of the annotated labels
+     * are read, which makes narrow queries cheaper than binding whole model
+     * instances. Invocation fields, suppressions, predicates and listeners are
+     * not applied to projections.
+     * <pre>{@code
+     * final List<TableColumn> columns = context.project(
+     *         TableColumn.class, "getColumns", null, "PUBLIC", "%", "%");
+     * }</pre>
+     *
+     * @param <T> projection type parameter
+     * @param type the projection type
+     * @param method the name of the method which returns a result set
+     * @param arguments the arguments of the method
+     * @return a list of projections
+     * @throws SQLException if a database error occurs.
+     * @throws IllegalArgumentException if {@code type} is not a projection
+     * type, or no such method of {@code arguments.length} parameters exists.
+     */
+    public <T> List<T> project(final Class<T> type, final String method,
+                               final Object... arguments)
+            throws SQLException {
+        if (method == null) {
+            throw new NullPointerException("method is null");
+        }
+        final Object[] args = arguments == null ? new Object[1] : arguments;
+        final Projection<T> projection = projection(type);
+        Method resolved = null;
+        for (final Method candidate : DatabaseMetaData.class.getMethods()) {
+            if (candidate.getName().equals(method)
+                && candidate.getParameterTypes().length == args.length
+                && candidate.getReturnType() == ResultSet.class) {
+                resolved = candidate;
+                break;
+            }
+        }
+        if (resolved == null) {
+            throw new IllegalArgumentException(
+                    "no method of " + args.length + " parameter(s) named "
+                    + method);
+        }
+        final ResultSet results;
+        try {
+            results = (ResultSet) resolved.invoke(metadata, args);
+        } catch (final InvocationTargetException ite) {
+            final Throwable cause = ite.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException(cause);
+        } catch (final IllegalAccessException iae) {
+            throw new RuntimeException(iae);
+        }
+        final List<T> list = new ArrayList<T>();
+        if (results == null) {
+            logger.warning("empty result set retrived");
+            return list;
+        }
+        try {
+            projection.bind(results, list, diagnostics);
+        } finally {
+            results.close();
+        }
+        report();
+        return list;
+    }
+
+    private <T> Projection<T> projection(final Class<T> type) {
+        if (type == null) {
+            throw new NullPointerException("type is null");
+        }
+        @SuppressWarnings("unchecked")
+        Projection<T> projection = (Projection<T>) projections.get(type);
+        if (projection == null) {
+            projection = new Projection<T>(type);
+            projections.put(type, projection);
+        }
+        return projection;
+    }
+
+    // ---------------------------------------------------------------- estimate
+    /**
+     * Estimates, without crawling, the numbers of calls and rows of
+     * {@link #getCatalogs(MetadataContext, boolean) getCatalogs(this, true)}
+     * with current suppressions, fetch plan and parameter sets.
+     * <p>
+     * Each invocation field is counted with a single call whose arguments
+     * referring to its owners are replaced with {@code null}, which returns
+     * rows of all owners at once. An invocation whose owner is referred by
+     * an argument other than the catalog, the schema or a pattern, such as the
+     * {@code table} argument of
+     * {@link DatabaseMetaData#getIndexInfo(String, String, String, boolean, boolean)},
+     * is called for a random sample of up to {@code samples} owners and
+     * extrapolated. Rows are counted, not bound, except for those of sampled
+     * owners. Predicates are not taken into account.
+     *
+     * @param samples the maximum number of owners sampled per invocation
+     * @return an estimate
+     * @throws SQLException if a database error occurs.
+     */
+    public CrawlEstimate estimate(final int samples) throws SQLException {
+        if (samples < 1) {
+            throw new IllegalArgumentException("samples(" + samples + ") < 1");
+        }
+        final CrawlEstimate estimate = new CrawlEstimate();
+        reservoir = new Reservoir(0L);
+        final List<Object> catalogs = new ArrayList<Object>();
+        long count = count(metadata.getCatalogs(), Catalog.class, catalogs,
+                           samples);
+        estimate.add("getCatalogs", 1L, count, false);
+        if (count == 0L) {
+            final Catalog catalog = new Catalog();
+            catalog.virtual = true;
+            catalog.setTableCat("");
+            catalogs.add(catalog);
+            count = 1L;
+        }
+        estimate(Catalog.class, count, catalogs,
+                 new String[]{segment(Catalog.class)}, samples, estimate);
+        return estimate;
+    }
+
+    private void estimate(final Class<?> type, final long count,
+                          final List<Object> owners, final String[] segments,
+                          final int samples, final CrawlEstimate estimate)
+            throws SQLException {
+        for (final Entry<Field, Invoke> ifield : ifields(type).entrySet()) {
+            final Field field = ifield.getKey();
+            final Invoke invoke = ifield.getValue();
+            if (suppressed(type, field)
+                || (plan != null && !plan.fetches(segment(type),
+                                                  field.getName(), segments,
+                                                  segments.length))) {
+                continue;
+            }
+            final Method method;
+            try {
+                method = DatabaseMetaData.class.getMethod(
+                        invoke.name(), invoke.types());
+            } catch (final NoSuchMethodException nsme) {
+                logger.log(FINE, format("unknown method; %s",
+                                        formatted(type, field, invoke)),
+                           nsme);
+                continue;
+            } catch (final NoSuchMethodError nsme) {
+                logger.log(FINE, format("unknown method; %s",
+                                        formatted(type, field, invoke)),
+                           nsme);
+                continue;
+            }
+            final Class<?> ptype = ptype(field);
+            final List<String[]> sets = literals(type, field, invoke);
+            final List<Object> children = new ArrayList<Object>();
+            long rows = 0L;
+            boolean sampled = false;
+            for (final String[] literals : sets) {
+                final long bulk = bulk(method, literals)
+                                  ? count(type, null, method, literals, ptype,
+                                          children, samples)
+                                  : -1L;
+                if (bulk >= 0L) {
+                    rows += bulk;
+                    continue;
+                }
+                sampled = true;
+                long sampledRows = 0L;
+                int sampledCalls = 0;
+                for (final Object owner : owners) {
+                    if (sampledCalls == samples) {
+                        break;
+                    }
+                    final long counted = count(type, owner, method, literals,
+                                               ptype, children, samples);
+                    sampledCalls++;
+                    sampledRows += Math.max(counted, 0L);
+                }
+                if (sampledCalls > 0) {
+                    rows += Math.round(
+                            (double) sampledRows / sampledCalls * count);
+                }
+            }
+            estimate.add(method.getName(), count * sets.size(), rows,
+                         sampled);
+            final String[] path = Arrays.copyOf(segments, segments.length + 1);
+            path[segments.length] = field.getName();
+            estimate(ptype, rows, children, path, samples, estimate);
+        }
+    }
+
+    /**
+     * Checks whether given method returns rows of all owners when arguments
+     * referring to owners are replaced with {@code null}.
+     *
+     * @param method the method
+     * @param literals the literals of the arguments
+     * @return {@code true} if so; {@code false} otherwise
+     */
+    private static boolean bulk(final Method method, final String[] literals) {
+        final String[] labels = patterns(method);
+        for (int i = 2; i < literals.length; i++) { // catalog, schema
+            if (literals[i].startsWith(":")
+                && (labels == null || labels[i] == null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls given method for specified owner and counts rows of the result.
+     *
+     * @param type the type of the owner
+     * @param owner the owner; {@code null} for all owners
+     * @param method the method
+     * @param literals the literals of the arguments
+     * @param ptype the type of elements
+     * @param samples a list to which first rows are added as bound
+     * @param limit the maximum number of rows added to {@code samples}
+     * @return the number of rows; {@code -1} if the call failed
+     */
+    private long count(final Class<?> type, final Object owner,
+                       final Method method, final String[] literals,
+                       final Class<?> ptype, final List<Object> samples,
+                       final int limit) {
+        final String[] values = literals.clone();
+        if (owner == null) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].startsWith(":")) {
+                    values[i] = "null";
+                }
+            }
+        }
+        try {
+            @SuppressWarnings("unchecked")
+            final Object[] arguments = arguments(
+                    (Class<Object>) type, owner, method.getParameterTypes(),
+                    values);
+            return count((ResultSet) method.invoke(metadata, arguments),
+                         ptype, samples, limit - samples.size());
+        } catch (final Exception e) { // Reflective, SQL, ClassCast
+            logger.log(FINE, format("failed to count %s with %s", method,
+                                    Arrays.toString(values)), e);
+            return -1L;
+        } catch (final Error e) { // AbstractMethod
+            logger.log(FINE, format("failed to count %s with %s", method,
+                                    Arrays.toString(values)), e);
+            return -1L;
+        }
+    }
+
+    /**
+     * Counts rows of given result set and binds, without invocations, a
+     * uniform sample of up to specified number of rows.
+     *
+     * @param results the result set; may be {@code null}
+     * @param klass the type of instances
+     * @param samples a list to which bound instances are added
+     * @param limit the maximum number of rows to bind
+     * @return the number of rows
+     * @throws SQLException if a database error occurs.
+     */
+    private long count(final ResultSet results, final Class<?> klass,
+                       final List<Object> samples, final int limit)
+            throws SQLException {
+        if (results == null) {
+            return 0L;
+        }
+        try {
+            final Set<String> labels = labels(results);
+            final int offset = samples.size();
+            long count = 0L;
+            while (results.next()) {
+                final long slot = reservoir.slot(count++, limit);
+                if (slot < 0L) {
+                    continue;
+                }
+                final Object instance;
+                try {
+                    instance = klass.newInstance();
+                    for (final Entry<Field, Bind> bfield
+                         : bfields(klass).entrySet()) {
+                        final String label = bfield.getValue().label();
+                        if (labels.contains(label)) {
+                            field(bfield.getKey(), instance, results, label);
+                        }
+                    }
+                } catch (final ReflectiveOperationException roe) {
+                    logger.log(FINE, format("failed to bind %s", klass), roe);
+                    continue;
+                }
+                Reservoir.put(samples, offset, slot, instance);
+            }
+            return count;
+        } finally {
+            results.close();
+        }
+    }
+
+    // ---------------------------------------------------------------- metadata
+    @Deprecated
+    private DatabaseMetaData getMetaData() {
+        return metadata;
+    }
+
+    // ------------------------------------------------------------ suppressions
+    private Set<String> getSuppressions() {
+        if (suppressions == null) {
+            suppressions = new HashSet<String>();
+        }
+        return suppressions;
+    }
+
+    private void suppress(final String path) {
+        if (path == null) {
+            throw new NullPointerException("path is null");
+        }
+        if (!getSuppressions().add(path)) {
+            if (logger.isLoggable(FINE)) {
+                logger.fine(format("duplicate suppression path: %s", path));
+            }
+        }
+        matcher = null;
+    }
+
+    /**
+     * Adds suppression paths and returns this instance.
+     * <p>
+     * A path is a sequence of slash-separated segments which is matched either
+     * against the {@code type/field} path of a field (e.g.
+     * {@code "table/columns"}) or against the full path of the field starting
+     * from the type of the outermost invocation (e.g.
+     * {@code "catalog/schemas/tables/columns"}). A segment of {@code *}
+     * matches any single segment (e.g. {@code "*}{@code /remarks"},
+     * {@code "table/*"}) and a segment of {@code **} matches any number of
+     * segments (e.g. {@code "column/**"}).
+     *
+     * @param path the first suppression path
+     * @param otherPaths other suppression paths
+     * @return this instance
+     */
+    public MetadataContext suppress(final String path,
+                                    final String... otherPaths) {
+        suppress(path);
+        if (otherPaths != null) {
+            for (final String otherPath : otherPaths) {
+                suppress(otherPath);
+            }
+        }
+        return this;
+    }
+
+    private PathMatcher getMatcher() {
+        if (matcher == null) {
+            matcher = PathMatcher.compile(getSuppressions());
+        }
+        return matcher;
+    }
+
+    private boolean suppressed(final Class<?> klass, final String name) {
+        final PathMatcher m = getMatcher();
+        return m.matches(segment(klass), name)
+               || (depth > 0 && m.matches(segments, depth, name));
+    }
+
+    private boolean suppressed(final Class<?> klass, final Field field) {
+        return suppressed(klass, field.getName());
+    }
+
+    // ------------------------------------------------------------------- paths
+    private String segment(final Class<?> klass) {
+        String segment = tsegments.get(klass);
+        if (segment == null) {
+            segment = decapitalize(klass.getSimpleName());
+            tsegments.put(klass, segment);
+        }
+        return segment;
+    }
+
+    private void push(final String segment) {
+        if (depth == segments.length) {
+            segments = Arrays.copyOf(segments, depth << 1);
+        }
+        segments[depth++] = segment;
+    }
+
+    private void pop() {
+        segments[--depth] = null;
+    }
+
+    private int enter(final Class<?> klass, final String name) {
+        final int previous = depth;
+        if (depth == 0) {
+            push(segment(klass));
+        }
+        push(name);
+        return previous;
+    }
+
+    private void leave(final int previous) {
+        while (depth > previous) {
+            pop();
+        }
+        report();
+    }
+
+    // ------------------------------------------------------------- diagnostics
+    /**
+     * Returns the diagnostics of this context. Anomalies found while binding
+     * are counted into the diagnostics and a summary of those found during
+     * each crawl is logged when the crawl is finished; as a warning for
+     * unknown labels, unexpected {@code null} values and failed lazy loads,
+     * and at {@code FINE} for unhandled labels, which drivers commonly add.
+     *
+     * @return the diagnostics of this context
+     */
+    public BindDiagnostics getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Sets the kinds of anomalies logged as warnings and returns this
+     * instance. Anomalies of other kinds are logged at {@code FINE}.
+     *
+     * @param warned the kinds of anomalies logged as warnings
+     * @return this instance
+     */
+    MetadataContext warned(final Set<Kind> warned) {
+        if (warned == null) {
+            throw new NullPointerException("warned is null");
+        }
+        this.warned = warned;
+        return this;
+    }
+
+    private void report() {
+        if (depth > 0) {
+            return;
+        }
+        final String report = diagnostics.drain(warned);
+        if (report != null) {
+            logger.warning(report);
+        }
+        // vendor specific columns are common; not worth warning
+        final String others = diagnostics.drain();
+        if (others != null && logger.isLoggable(FINE)) {
+            logger.fine(others);
+        }
     }
 
+    // --------------------------------------------------------------- fetchPlan
     /**
-     * Invokes
-     * {@link DatabaseMetaData#getTablePrivileges(java.lang.String, java.lang.String, java.lang.String)}
-     * with given arguments and returns bound information.
+     * Sets the plan for eager fetching of subsequent invocations and returns
+     * this instance. Invocation fields out of the plan are left unfetched and
+     * loaded lazily, through this context, when their getters are invoked for
+     * the first time. Note that this context, and thus its underlying
+     * {@link DatabaseMetaData}, should remain usable for lazy loading.
      *
-     * @param catalog the value for {@code catalog} parameter
-     * @param schemaPattern the value for {@code schemaPattern} parameter
-     * @param tableNamePattern the value for {@code tableNamePattern} parameter
-     * @return a list of table privileges
-     * @throws SQLException if a database error occurs.
+     * @param plan the plan; {@code null} for fetching everything eagerly
+     * @return this instance
      */
-    public List<TablePrivilege> getTablePrivileges(
-            final String catalog, final String schemaPattern,
-            final String tableNamePattern)
-            throws SQLException {
-        final List<TablePrivilege> list = new ArrayList<TablePrivilege>();
-        final ResultSet results = metadata.getTablePrivileges(
-                catalog, schemaPattern, tableNamePattern);
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
+    public MetadataContext fetchPlan(final FetchPlan plan) {
+        this.plan = plan;
+        return this;
+    }
+
+    private <T> Deferred defer(final Class<T> type, final T instance) {
+        final Field field = typed(type, Deferred.class, dfields);
+        if (field == null) {
+            return null;
         }
         try {
-            bind(results, TablePrivilege.class, list);
-        } finally {
-            results.close();
+            final Deferred existing = (Deferred) field.get(instance);
+            if (existing != null) {
+                return existing;
+            }
+        } catch (final ReflectiveOperationException roe) {
+            logger.log(SEVERE, format("failed to get %s on %s", field,
+                                      instance), roe);
         }
-        return list;
+        final Deferred deferred = new Deferred(
+                this, Arrays.copyOf(segments, depth), plan);
+        deferrals++;
+        try {
+            field.set(instance, deferred);
+        } catch (final ReflectiveOperationException roe) {
+            logger.log(SEVERE, format("failed to set %s on %s", field,
+                                      instance), roe);
+        }
+        return deferred;
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getTableTypes()} and returns bound
-     * information.
+     * Checks whether the invocation field of given name of specified virtual
+     * instance, which is not bound from a record, is fetched now. Otherwise
+     * the field is deferred, as those of bound instances are, unless the
+     * instance is {@code null}.
      *
-     * @return a list of table types
-     * @throws SQLException if a database error occurs.
+     * @param <T> instance type parameter
+     * @param type the type of the instance
+     * @param instance the instance; may be {@code null}
+     * @param name the name of the invocation field
+     * @return {@code true} if fetched now; {@code false} otherwise
      */
-    public List<TableType> getTableTypes() throws SQLException {
-        final List<TableType> list = new ArrayList<TableType>();
-        final ResultSet results = metadata.getTableTypes();
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
+    private <T> boolean fetches(final Class<T> type, final T instance,
+                                final String name) {
+        final int previous = depth;
+        if (depth == 0) {
+            push(segment(type)); // as if bound at the root
         }
         try {
-            bind(results, TableType.class, list);
+            if ((plan == null
+                 || plan.fetches(segment(type), name, segments, depth))
+                && !expired()) {
+                return true;
+            }
+            if (instance != null) {
+                defer(type, instance);
+            }
+            return false;
         } finally {
-            results.close();
+            while (depth > previous) {
+                pop();
+            }
         }
-        return list;
     }
 
     /**
-     * Invokes {@link DatabaseMetaData#getTypeInfo()} and returns bound
-     * information.
+     * Fetches the invocation field of given name of specified instance.
      *
-     * @return a list of type info
+     * @param instance the instance
+     * @param name the name of the invocation field
+     * @param list the list to which bound elements are added
+     * @param prefix the segments of the path to the instance
+     * @param plan the plan for fetching descendants
+     * @return {@code true} if fetched; {@code false} if the method couldn't
+     * be invoked or any of its calls failed with a database error
      * @throws SQLException if a database error occurs.
      */
-    public List<TypeInfo> getTypeInfo() throws SQLException {
-        final List<TypeInfo> list = new ArrayList<TypeInfo>();
-        final ResultSet results = metadata.getTypeInfo();
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
-        }
-        try {
-            bind(results, TypeInfo.class, list);
-        } finally {
-            results.close();
+    boolean fetch(final Object instance, final String name, final List<?> list,
+                  final String[] prefix, final FetchPlan plan)
+            throws SQLException {
+        return fetch(instance.getClass(), instance, name, list, prefix, plan);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> boolean fetch(final Class<T> type, final Object instance,
+                              final String name, final List<?> list,
+                              final String[] prefix, final FetchPlan plan)
+            throws SQLException {
+        for (final Entry<Field, Invoke> ifield : ifields(type).entrySet()) {
+            final Field field = ifield.getKey();
+            if (!field.getName().equals(name)) {
+                continue;
+            }
+            final String[] previousSegments = segments;
+            final int previousDepth = depth;
+            final FetchPlan previousPlan = this.plan;
+            final int previousFetching = fetching;
+            segments = Arrays.copyOf(prefix, prefix.length + 8);
+            depth = prefix.length;
+            this.plan = plan;
+            fetching = depth + 1; // calls of the field, not of descendants
+            final long fetchFailures = this.fetchFailures;
+            boolean fetched = false;
+            try {
+                fetched = suppressed(type, field)
+                          || (invoke(type, type.cast(instance), field,
+                                     ifield.getValue(), (List<Object>) list)
+                              && this.fetchFailures == fetchFailures);
+                return fetched;
+            } finally {
+                if (!fetched) {
+                    diagnostics.add(type, name, FAILED_LOAD, 1L);
+                }
+                segments = previousSegments;
+                depth = previousDepth;
+                this.plan = previousPlan;
+                fetching = previousFetching;
+                report();
+            }
         }
-        return list;
+        logger.warning(format("no invocation field named %s in %s", name,
+                              type));
+        return false;
     }
 
+    // ---------------------------------------------------------------- deadline
     /**
-     * Invokes
-     * {@link DatabaseMetaData#getUDTs(java.lang.String, java.lang.String, java.lang.String, int[])}
-     * with given arguments and returns bound information.
+     * Sets a deadline, from now, for crawls and returns this instance. Once
+     * the deadline has passed, records of result sets already being read are
+     * still bound but no more invocation fields are fetched. Those fields are
+     * left to be loaded lazily, as with a {@link #fetchPlan(FetchPlan) fetch
+     * plan}, and each bound {@link Schema} and {@link Table} is marked with
+     * its {@link Completeness completeness}. Note that a single database call
+     * in progress can't be interrupted and may run past the deadline.
      *
-     * @param catalog the value for {@code catalog} parameter.
-     * @param schemaPattern the value for {@code schemaPattern} parameter
-     * @param typeNamePattern the value for {@code typeNamePattern} parameter.
-     * @param types the value for {@code type} parameter
-     * @return a list of UDTs
-     * @throws SQLException if a database error occurs.
+     * @param timeout the timeout from now; {@code 0} for no deadline
+     * @param unit the unit of {@code timeout}
+     * @return this instance
      */
-    public List<UDT> getUDTs(final String catalog, final String schemaPattern,
-                             final String typeNamePattern, final int[] types)
-            throws SQLException {
-        final List<UDT> list = new ArrayList<UDT>();
-        final ResultSet results = metadata.getUDTs(
-                catalog, schemaPattern, typeNamePattern, types);
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
+    public MetadataContext deadline(final long timeout, final TimeUnit unit) {
+        if (timeout < 0L) {
+            throw new IllegalArgumentException("timeout(" + timeout + ") < 0");
         }
-        try {
-            bind(results, UDT.class, list);
-        } finally {
-            results.close();
+        if (unit == null) {
+            throw new NullPointerException("unit is null");
         }
-        return list;
+        deadline.set(unit.toNanos(timeout));
+        return this;
     }
 
     /**
-     * Invokes
-     * {@link DatabaseMetaData#getVersionColumns(java.lang.String, java.lang.String, java.lang.String)}
-     * with given arguments and returns bound information.
+     * Cancels crawls of this context. Invocations not made yet are skipped as
+     * if the deadline has passed, while a database call in progress runs to
+     * its end on the thread making it. This method may be called from any
+     * thread.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether the deadline has passed, or crawls have been cancelled,
+     * and, if so, counts a skipped invocation.
      *
-     * @param catalog catalog the value for {@code catalog} parameter
-     * @param schema schema the value for {@code schema} parameter
-     * @param table table the value for {@code table} parameter
-     * @return a list of version columns
-     * @throws SQLException if a database access error occurs.
+     * @return {@code true} if the deadline has passed or cancelled;
+     * {@code false} otherwise
      */
-    public List<VersionColumn> getVersionColumns(final String catalog,
-                                                 final String schema,
-                                                 final String table)
-            throws SQLException {
-        final List<VersionColumn> list = new ArrayList<VersionColumn>();
-        final ResultSet results = metadata.getVersionColumns(
-                catalog, schema, table);
-        if (results == null) {
-            logger.warning("empty result set retrived");
-            return list;
+    private boolean expired() {
+        return deadline.expired(
+                cancelled || (monitor != null && monitor.isCancelled()));
+    }
+
+    private <T> void complete(final Class<T> type, final T instance,
+                              final long skipped, final boolean fetched) {
+        final Field field = typed(type, Completeness.class, cfields);
+        if (field == null) {
+            return;
         }
         try {
-            bind(results, VersionColumn.class, list);
-        } finally {
-            results.close();
+            field.set(instance, deadline.completeness(skipped, fetched));
+        } catch (final ReflectiveOperationException roe) {
+            logger.log(SEVERE, format("failed to set %s on %s", field,
+                                      instance), roe);
         }
-        return list;
     }
 
-    // ---------------------------------------------------------------- metadata
-    @Deprecated
-    private DatabaseMetaData getMetaData() {
-        return metadata;
+    // ----------------------------------------------------------------- journal
+    /**
+     * Sets the journal for checkpointing crawls and returns this instance.
+     * Each schema and table is recorded once its descendants are completely
+     * fetched, without being skipped, deferred or failed, and restored from
+     * the journal, instead of being crawled, when the crawl is restarted.
+     *
+     * @param journal the journal; {@code null} for none
+     * @return this instance
+     */
+    public MetadataContext journal(final CrawlJournal journal) {
+        this.journal = journal;
+        return this;
     }
 
-    // ------------------------------------------------------------ suppressions
-    private Set<String> getSuppressions() {
-        if (suppressions == null) {
-            suppressions = new HashSet<String>();
+    // -------------------------------------------------------------- predicates
+    /**
+     * Adds a predicate for instances of given type and returns this instance.
+     * The predicate is tested right after the bind fields of each instance
+     * are set and before its invocation fields are processed. An instance
+     * rejected by any of predicates is discarded and none of its descendants
+     * are fetched.
+     *
+     * @param <T> instance type parameter
+     * @param type the type of instances to test
+     * @param predicate the predicate
+     * @return this instance
+     */
+    public <T> MetadataContext filter(
+            final Class<T> type, final BindPredicate<? super T> predicate) {
+        if (type == null) {
+            throw new NullPointerException("type is null");
         }
-        return suppressions;
+        if (predicate == null) {
+            throw new NullPointerException("predicate is null");
+        }
+        List<BindPredicate<?>> list = getPredicates().get(type);
+        if (list == null) {
+            list = new ArrayList<BindPredicate<?>>();
+            getPredicates().put(type, list);
+        }
+        list.add(predicate);
+        return this;
     }
 
-    private void suppress(final String path) {
+    private Map<Class<?>, List<BindPredicate<?>>> getPredicates() {
+        if (predicates == null) {
+            predicates = new HashMap<Class<?>, List<BindPredicate<?>>>();
+        }
+        return predicates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<BindPredicate<? super T>> predicates(
+            final Class<T> type) {
+        if (predicates == null) {
+            return null;
+        }
+        final List<?> list = predicates.get(type);
+        return (List<BindPredicate<? super T>>) list;
+    }
+
+    // -------------------------------------------------------------- parameters
+    /**
+     * Overrides the parameter sets of the invocation field of given path and
+     * returns this instance. The path is a type segment followed by a field
+     * name, e.g. {@code table/indexInfo}, and each set follows the syntax of
+     * those declared on the field; a {@code :name} literal is replaced with
+     * the value of the named field of the owner, {@code null} with
+     * {@code null}, and others are converted to parameter types.
+     * <pre>{@code
+     * context.parameters("table/indexInfo", new String[]{
+     *     ":tableCat", ":tableSchem", ":tableName", "false", "true"});
+     * context.parameters("table/bestRowIdentifiers", new String[]{
+     *     ":tableCat", ":tableSchem", ":tableName", "2", "true"});
+     * }</pre>
+     *
+     * @param path the path of the invocation field
+     * @param literals the first parameter set
+     * @param otherLiterals other parameter sets
+     * @return this instance
+     */
+    public MetadataContext parameters(final String path,
+                                      final String[] literals,
+                                      final String[]... otherLiterals) {
         if (path == null) {
             throw new NullPointerException("path is null");
         }
-        if (getSuppressions().add(path)) {
-            if (logger.isLoggable(FINE)) {
-                logger.fine(format("duplicate suppression path: %s", path));
+        if (literals == null) {
+            throw new NullPointerException("literals is null");
+        }
+        final List<String[]> list = new ArrayList<String[]>();
+        list.add(literals.clone());
+        if (otherLiterals != null) {
+            for (final String[] other : otherLiterals) {
+                if (other == null) {
+                    throw new NullPointerException("otherLiterals has null");
+                }
+                list.add(other.clone());
             }
         }
+        if (parameters == null) {
+            parameters = new HashMap<String, List<String[]>>();
+        }
+        parameters.put(path, list);
+        return this;
     }
 
+    // --------------------------------------------------------------- coalescer
     /**
-     * Adds suppression paths and returns this instance.
+     * Sets the coalescer for invocations and returns this instance. Identical
+     * invocations made concurrently by contexts sharing a coalescer share a
+     * single database call and its bound elements.
      *
-     * @param path the first suppression path
-     * @param otherPaths other suppression paths
+     * @param coalescer the coalescer; {@code null} for none
      * @return this instance
      */
-    public MetadataContext suppress(final String path,
-                                    final String... otherPaths) {
-        suppress(path);
-        if (otherPaths != null) {
-            for (final String otherPath : otherPaths) {
-                suppress(otherPath);
-            }
+    public MetadataContext coalescer(final Coalescer coalescer) {
+        this.coalescer = coalescer;
+        return this;
+    }
+
+    // ----------------------------------------------------------------- limiter
+    /**
+     * Sets the limiter for invocations and returns this instance. Each
+     * database call made for invocation fields waits for a permit of the
+     * limiter, which is released as soon as the call returns its result set.
+     * Calls made directly by {@code getXxx} methods are not limited.
+     *
+     * @param limiter the limiter; {@code null} for none
+     * @return this instance
+     */
+    public MetadataContext limiter(final AdaptiveLimiter limiter) {
+        this.limiter = limiter;
+        return this;
+    }
+
+    // -------------------------------------------------------------- exactMatch
+    /**
+     * Sets whether invocations match names of their owners exactly and
+     * returns this instance. When {@code true}, names passed to pattern
+     * parameters, such as {@code tableNamePattern}, have their wildcard
+     * characters escaped with {@link DatabaseMetaData#getSearchStringEscape()}
+     * and records whose names are not equal to them are discarded. Otherwise,
+     * a table named {@code ORDER_ITEM} may get columns of a table named
+     * {@code ORDERXITEM}. Default value is {@code false}.
+     *
+     * @param exactMatch {@code true} for exact matching; {@code false}
+     * otherwise
+     * @return this instance
+     */
+    public MetadataContext exactMatch(final boolean exactMatch) {
+        this.exactMatch = exactMatch;
+        return this;
+    }
+
+    // ----------------------------------------------------------- adaptiveFetch
+    /**
+     * Sets the adaptive fetch choosing between calls per owner and bulk calls
+     * and returns this instance. An adaptive fetch may be shared among
+     * contexts on the same database.
+     *
+     * @param adaptive the adaptive fetch; {@code null} for calls per owner
+     * @return this instance
+     */
+    public MetadataContext adaptiveFetch(final AdaptiveFetch adaptive) {
+        this.adaptive = adaptive;
+        scopes.clear();
+        return this;
+    }
+
+    // ------------------------------------------------------------------ tracer
+    /**
+     * Sets the tracer recording spans of bound instances, invocation fields
+     * and calls and returns this instance.
+     *
+     * @param tracer the tracer; {@code null} for none
+     * @return this instance
+     * @see CrawlTracer#write(java.io.Writer)
+     */
+    public MetadataContext tracer(final CrawlTracer tracer) {
+        this.tracer = tracer;
+        return this;
+    }
+
+    // ----------------------------------------------------------------- monitor
+    /**
+     * Sets the monitor of crawls and returns this instance. Cancelling the
+     * monitor skips further invocations as if the deadline has passed.
+     *
+     * @param monitor the monitor; {@code null} for none
+     * @return this instance
+     * @see CrawlMonitor#register(String)
+     */
+    public MetadataContext monitor(final CrawlMonitor monitor) {
+        this.monitor = monitor;
+        if (monitor != null) {
+            flushes = monitor.getFlushCount();
         }
         return this;
     }
 
-    private boolean suppressed(final String path) {
-        return getSuppressions().contains(path);
+    /**
+     * Discards cached fields of model classes, the search string escape and
+     * compiled suppressions.
+     */
+    private void flush() {
+        flushes = monitor.getFlushCount();
+        bfields.clear();
+        ifields.clear();
+        tsegments.clear();
+        dfields.clear();
+        cfields.clear();
+        ptypes.clear();
+        projections.clear();
+        searchStringEscape = null;
+        matcher = null;
+        if (logger.isLoggable(FINE)) {
+            logger.fine("caches flushed");
+        }
+    }
+
+    // ---------------------------------------------------------------- listener
+    /**
+     * Sets the listener notified for each bound instance and returns this
+     * instance.
+     *
+     * @param listener the listener; {@code null} for none
+     * @return this instance
+     */
+    MetadataContext listener(final BindListener listener) {
+        this.listener = listener;
+        return this;
     }
 
     // ------------------------------------------------------------------- alias
@@ -1200,6 +2891,29 @@ public class MetadataContext {
         return value;
     }
 
+    // ------------------------------------------------------------------- typed
+    private Field typed(final Class<?> klass, final Class<?> type,
+                        final Map<Class<?>, Field> cache) {
+        if (cache.containsKey(klass)) {
+            return cache.get(klass);
+        }
+        Field value = null;
+        for (Class<?> c = klass; c != null && value == null;
+             c = c.getSuperclass()) {
+            for (final Field field : c.getDeclaredFields()) {
+                if (field.getType() == type) {
+                    if (!field.isAccessible()) {
+                        field.setAccessible(true);
+                    }
+                    value = field;
+                    break;
+                }
+            }
+        }
+        cache.put(klass, value);
+        return value;
+    }
+
     // ------------------------------------------------------------------ ptypes
     private Class<?> ptype(final Field field) {
         if (field == null) {
@@ -1222,8 +2936,93 @@ public class MetadataContext {
     // field paths
     private Set<String> suppressions;
 
+    // the plan for eager fetching
+    private FetchPlan plan;
+
+    // predicates mapped to their types
+    private Map<Class<?>, List<BindPredicate<?>>> predicates;
+
+    // the listener notified for each bound instance
+    private BindListener listener;
+
+    // the reservoir for sampling rows of estimates
+    private Reservoir reservoir;
+
+    // the adaptive fetch
+    private AdaptiveFetch adaptive;
+
+    // scopes of bulk calls mapped to field paths
+    private final Map<String, BulkScope> scopes
+            = new HashMap<String, BulkScope>();
+
+    // the tracer of spans
+    private CrawlTracer tracer;
+
+    // the monitor of crawls
+    private CrawlMonitor monitor;
+
+    // the number of flushes of the monitor seen
+    private int flushes;
+
+    // overridden parameter sets mapped to field paths
+    private Map<String, List<String[]>> parameters;
+
+    // the coalescer for invocations
+    private Coalescer coalescer;
+
+    // the limiter for invocations
+    private AdaptiveLimiter limiter;
+
+    // the deadline counting invocations skipped
+    private final Deadline deadline = new Deadline();
+
+    // a flag for crawls cancelled, possibly by another thread
+    private volatile boolean cancelled;
+
+    // the journal for checkpointing
+    private CrawlJournal journal;
+
+    // the number of invocations deferred
+    private long deferrals;
+
+    // the number of invocations failed with database errors
+    private long failures;
+
+    // the depth of calls of the field being fetched lazily; -1 for none
+    private int fetching = -1;
+
+    // the number of calls failed at the depth of fetching
+    private long fetchFailures;
+
+    // a flag for binding records of a bulk call without finishing them
+    private boolean shallow;
+
+    // a flag for escaping pattern parameters
+    private boolean exactMatch;
+
+    private String searchStringEscape;
+
+    // counts of anomalies
+    private final BindDiagnostics diagnostics
+            = new BindDiagnostics();
+
+    // kinds of anomalies logged as warnings
+    private Set<Kind> warned = WARNED;
+
+    // compiled suppressions
+    private PathMatcher matcher;
+
+    // segments of the current path
+    private String[] segments = new String[8];
+
+    private int depth;
+
     // field paths to column labels
 //    private Map<String, String> aliases;
+    // projections by their types
+    private final Map<Class<?>, Projection<?>> projections
+            = new HashMap<Class<?>, Projection<?>>();
+
     // fields with @Bind
     private final transient Map<Class<?>, Map<Field, Bind>> bfields
             = new HashMap<Class<?>, Map<Field, Bind>>();
@@ -1232,6 +3031,18 @@ public class MetadataContext {
     private final transient Map<Class<?>, Map<Field, Invoke>> ifields
             = new HashMap<Class<?>, Map<Field, Invoke>>();
 
+    // types to path segments
+    private final Map<Class<?>, String> tsegments
+            = new HashMap<Class<?>, String>();
+
+    // fields for deferred loading
+    private final Map<Class<?>, Field> dfields
+            = new HashMap<Class<?>, Field>();
+
+    // fields for completeness
+    private final Map<Class<?>, Field> cfields
+            = new HashMap<Class<?>, Field>();
+
     // parameterized types of java.util.List fields
     private final transient Map<Field, Class<?>> ptypes
             = new HashMap<Field, Class<?>>();
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.reflect.Method;
+import static java.util.logging.Level.FINE;
+import java.util.logging.Logger;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * Emits events of metadata calls, binding and crawl phases.
+ * <p>
+ * The default implementation emits nothing. When the runtime has the
+ * {@code jdk.jfr} module, the {@link #INSTANCE instance} emits Java Flight
+ * Recorder events which are disabled unless enabled in the recording
+ * settings. Each {@code begin} method returns {@code null} when its event is
+ * disabled, in which case the corresponding {@code end} method does nothing.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+class MetadataEvents {
+
+    private static final Logger logger
+            = getLogger(MetadataEvents.class.getName());
+
+    /**
+     * The instance used by contexts.
+     */
+    static final MetadataEvents INSTANCE = instance();
+
+    private static MetadataEvents instance() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return (MetadataEvents) Class.forName(
+                    MetadataEvents.class.getPackage().getName()
+                    + ".JfrMetadataEvents").newInstance();
+        } catch (final Throwable t) { // ClassNotFound, Linkage, ...
+            logger.log(FINE, "flight recorder events unavailable", t);
+            return new MetadataEvents();
+        }
+    }
+
+    /**
+     * Checks whether instances of given type are crawl phases.
+     *
+     * @param type the type
+     * @return {@code true} for catalogs, schemas and tables
+     */
+    static boolean phased(final Class<?> type) {
+        return type == Catalog.class || type == Schema.class
+               || type == Table.class;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Begins an event of a metadata call.
+     *
+     * @return the event; {@code null} if disabled
+     */
+    Object beginCall() {
+        return null;
+    }
+
+    /**
+     * Ends an event of a metadata call.
+     *
+     * @param event the value returned by {@link #beginCall()}
+     * @param method the method invoked
+     * @param arguments the arguments
+     * @param rows the number of rows bound; {@code -1} if the call failed
+     */
+    void endCall(final Object event, final Method method,
+                 final Object[] arguments, final int rows) {
+    }
+
+    /**
+     * Begins an event of binding a result set.
+     *
+     * @return the event; {@code null} if disabled
+     */
+    Object beginBind() {
+        return null;
+    }
+
+    /**
+     * Ends an event of binding a result set.
+     *
+     * @param event the value returned by {@link #beginBind()}
+     * @param type the model class
+     * @param rows the number of rows read
+     */
+    void endBind(final Object event, final Class<?> type, final int rows) {
+    }
+
+    /**
+     * Begins an event of crawling a catalog, a schema or a table.
+     *
+     * @return the event; {@code null} if disabled
+     */
+    Object beginPhase() {
+        return null;
+    }
+
+    /**
+     * Ends an event of crawling a catalog, a schema or a table.
+     *
+     * @param event the value returned by {@link #beginPhase()}
+     * @param instance the catalog, the schema or the table crawled
+     */
+    void endPhase(final Object event, final Object instance) {
+    }
+}
@@ -0,0 +1,732 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import static java.lang.System.nanoTime;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A recording of calls on a {@link DatabaseMetaData}.
+ * <p>
+ * A {@link #recorder(java.sql.DatabaseMetaData) recorder} captures each call,
+ * its arguments, its returned value, or the rows of its returned result set,
+ * and its latency. A {@link #replayer(boolean) replayer} serves those
+ * recordings without a database, optionally with the original latencies, so
+ * that crawls can be benchmarked and tested offline. Calls not recorded are
+ * replayed as {@link SQLFeatureNotSupportedException}s.
+ *
+ * <pre>{@code
+ * final MetadataRecording recording = new MetadataRecording();
+ * getCatalogs(new MetadataContext(recording.recorder(metadata)), true);
+ * recording.write(output);
+ * // offline
+ * final MetadataRecording replaying = MetadataRecording.read(input);
+ * getCatalogs(new MetadataContext(replaying.replayer(true)), true);
+ * }</pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class MetadataRecording {
+
+    private static final int MAGIC = 0x4d444252; // "MDBR"
+
+    private static final int VERSION = 2;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // -------------------------------------------------------------------------
+    private static final byte NULL = 0;
+
+    private static final byte STRING = 1;
+
+    private static final byte INTEGER = 2;
+
+    private static final byte SHORT = 3;
+
+    private static final byte LONG = 4;
+
+    private static final byte BOOLEAN = 5;
+
+    private static final byte BYTE = 6;
+
+    private static final byte DOUBLE = 7;
+
+    private static final byte FLOAT = 8;
+
+    private static final byte BIG_DECIMAL = 9;
+
+    private static final byte INTS = 10;
+
+    private static final byte STRINGS = 11;
+
+    private static void writeString(final DataOutputStream output,
+                                    final String value)
+            throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInputStream input)
+            throws IOException {
+        final int length = input.readInt();
+        if (length < 0) {
+            throw new IOException("illegal length: " + length);
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void write(final DataOutputStream output,
+                              final Object value)
+            throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String) {
+            output.writeByte(STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Short) {
+            output.writeByte(SHORT);
+            output.writeShort((Short) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(BIG_DECIMAL);
+            writeString(output, value.toString());
+        } else if (value instanceof int[]) {
+            final int[] ints = (int[]) value;
+            output.writeByte(INTS);
+            output.writeInt(ints.length);
+            for (final int i : ints) {
+                output.writeInt(i);
+            }
+        } else if (value instanceof String[]) {
+            final String[] strings = (String[]) value;
+            output.writeByte(STRINGS);
+            output.writeInt(strings.length);
+            for (final String string : strings) {
+                write(output, string);
+            }
+        } else {
+            throw new IOException("unsupported type: " + value.getClass());
+        }
+    }
+
+    private static Object read(final DataInputStream input)
+            throws IOException {
+        final byte tag = input.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(input);
+            case INTEGER:
+                return input.readInt();
+            case SHORT:
+                return input.readShort();
+            case LONG:
+                return input.readLong();
+            case BOOLEAN:
+                return input.readBoolean();
+            case BYTE:
+                return input.readByte();
+            case DOUBLE:
+                return input.readDouble();
+            case FLOAT:
+                return input.readFloat();
+            case BIG_DECIMAL:
+                return new BigDecimal(readString(input));
+            case INTS:
+                final int[] ints = new int[input.readInt()];
+                for (int i = 0; i < ints.length; i++) {
+                    ints[i] = input.readInt();
+                }
+                return ints;
+            case STRINGS:
+                final String[] strings = new String[input.readInt()];
+                for (int i = 0; i < strings.length; i++) {
+                    strings[i] = (String) read(input);
+                }
+                return strings;
+            default:
+                throw new IOException("unknown tag: " + tag);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    private static List<Object> key(final String method, final Object[] args) {
+        final List<Object> key = new ArrayList<Object>();
+        key.add(method);
+        if (args != null) {
+            for (final Object arg : args) {
+                if (arg instanceof int[]) {
+                    key.add(Arrays.toString((int[]) arg));
+                } else if (arg instanceof Object[]) {
+                    key.add(Arrays.asList((Object[]) arg));
+                } else {
+                    key.add(arg);
+                }
+            }
+        }
+        return key;
+    }
+
+    private static boolean recordable(final Class<?> type) {
+        return type.isPrimitive() || type == String.class
+               || Number.class.isAssignableFrom(type)
+               || type == Boolean.class;
+    }
+
+    private static Object object(final Object proxy, final Method method,
+                                 final Object[] args) {
+        final String name = method.getName();
+        if ("equals".equals(name)) {
+            return proxy == args[0];
+        }
+        if ("hashCode".equals(name)) {
+            return System.identityHashCode(proxy);
+        }
+        return proxy.getClass().getName() + "@"
+               + Integer.toHexString(System.identityHashCode(proxy));
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * A recorded call.
+     */
+    private static final class Call {
+
+        static final byte VALUE = 0;
+
+        static final byte ROWS = 1;
+
+        static final byte FAILURE = 2;
+
+        String method;
+
+        Object[] args;
+
+        long latency;
+
+        byte kind;
+
+        Object value;
+
+        String[] labels;
+
+        int[] types;
+
+        List<Object[]> rows;
+
+        String message;
+
+        String state;
+
+        int code;
+
+        boolean unsupported;
+
+        void write(final DataOutputStream output) throws IOException {
+            output.writeUTF(method);
+            output.writeInt(args == null ? 0 : args.length);
+            if (args != null) {
+                for (final Object arg : args) {
+                    MetadataRecording.write(output, arg);
+                }
+            }
+            output.writeLong(latency);
+            output.writeByte(kind);
+            switch (kind) {
+                case VALUE:
+                    MetadataRecording.write(output, value);
+                    break;
+                case ROWS:
+                    output.writeInt(labels.length);
+                    for (int i = 0; i < labels.length; i++) {
+                        output.writeUTF(labels[i]);
+                        output.writeInt(types[i]);
+                    }
+                    output.writeInt(rows.size());
+                    for (final Object[] row : rows) {
+                        for (final Object column : row) {
+                            MetadataRecording.write(output, column);
+                        }
+                    }
+                    break;
+                default:
+                    MetadataRecording.write(output, message);
+                    MetadataRecording.write(output, state);
+                    output.writeInt(code);
+                    output.writeBoolean(unsupported);
+                    break;
+            }
+        }
+
+        void read(final DataInputStream input) throws IOException {
+            method = input.readUTF();
+            args = new Object[input.readInt()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = MetadataRecording.read(input);
+            }
+            latency = input.readLong();
+            kind = input.readByte();
+            switch (kind) {
+                case VALUE:
+                    value = MetadataRecording.read(input);
+                    break;
+                case ROWS:
+                    labels = new String[input.readInt()];
+                    types = new int[labels.length];
+                    for (int i = 0; i < labels.length; i++) {
+                        labels[i] = input.readUTF();
+                        types[i] = input.readInt();
+                    }
+                    final int count = input.readInt();
+                    rows = new ArrayList<Object[]>(count);
+                    for (int i = 0; i < count; i++) {
+                        final Object[] row = new Object[labels.length];
+                        for (int j = 0; j < row.length; j++) {
+                            row[j] = MetadataRecording.read(input);
+                        }
+                        rows.add(row);
+                    }
+                    break;
+                case FAILURE:
+                    message = (String) MetadataRecording.read(input);
+                    state = (String) MetadataRecording.read(input);
+                    code = input.readInt();
+                    unsupported = input.readBoolean();
+                    break;
+                default:
+                    throw new IOException("unknown kind: " + kind);
+            }
+        }
+
+        Object replay() throws SQLException {
+            switch (kind) {
+                case VALUE:
+                    return value;
+                case ROWS:
+                    return rows(labels, types, rows);
+                default:
+                    if (unsupported) {
+                        throw new SQLFeatureNotSupportedException(
+                                message, state, code);
+                    }
+                    throw new SQLException(message, state, code);
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns a result set of given rows.
+     */
+    private static ResultSet rows(final String[] labels, final int[] types,
+                                  final List<Object[]> rows) {
+        final ResultSetMetaData metadata = (ResultSetMetaData)
+                Proxy.newProxyInstance(
+                        MetadataRecording.class.getClassLoader(),
+                        new Class<?>[]{ResultSetMetaData.class},
+                        new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy,
+                                         final Method method,
+                                         final Object[] args)
+                            throws Throwable {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return object(proxy, method, args);
+                        }
+                        final String name = method.getName();
+                        if ("getColumnCount".equals(name)) {
+                            return labels.length;
+                        }
+                        if ("getColumnLabel".equals(name)
+                            || "getColumnName".equals(name)) {
+                            return labels[(Integer) args[0] - 1];
+                        }
+                        if ("getColumnType".equals(name)) {
+                            return types[(Integer) args[0] - 1];
+                        }
+                        throw new SQLFeatureNotSupportedException(name);
+                    }
+                });
+        return (ResultSet) Proxy.newProxyInstance(
+                MetadataRecording.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method,
+                                 final Object[] args)
+                    throws Throwable {
+                if (method.getDeclaringClass() == Object.class) {
+                    return object(proxy, method, args);
+                }
+                final String name = method.getName();
+                if ("next".equals(name)) {
+                    return ++cursor < rows.size();
+                }
+                if ("close".equals(name)) {
+                    closed = true;
+                    return null;
+                }
+                if ("isClosed".equals(name)) {
+                    return closed;
+                }
+                if ("wasNull".equals(name)) {
+                    return wasNull;
+                }
+                if ("getMetaData".equals(name)) {
+                    return metadata;
+                }
+                if ("getStatement".equals(name)) {
+                    return null;
+                }
+                if ("findColumn".equals(name)) {
+                    return index((String) args[0]) + 1;
+                }
+                if (name.startsWith("get") && args != null
+                    && args.length == 1) {
+                    if (cursor < 0 || cursor >= rows.size()) {
+                        throw new SQLException("no current row");
+                    }
+                    final int index = args[0] instanceof String
+                                      ? index((String) args[0])
+                                      : (Integer) args[0] - 1;
+                    final Object value = rows.get(cursor)[index];
+                    wasNull = value == null;
+                    return convert(value, method.getReturnType());
+                }
+                throw new SQLFeatureNotSupportedException(name);
+            }
+
+            private int index(final String label) throws SQLException {
+                for (int i = 0; i < labels.length; i++) {
+                    if (labels[i].equalsIgnoreCase(label)) {
+                        return i;
+                    }
+                }
+                throw new SQLException("unknown label: " + label);
+            }
+
+            private int cursor = -1;
+
+            private boolean wasNull;
+
+            private boolean closed;
+        });
+    }
+
+    private static Object convert(final Object value, final Class<?> type)
+            throws SQLException {
+        if (type == Object.class) {
+            return value;
+        }
+        if (type == String.class) {
+            return value == null ? null : value.toString();
+        }
+        if (type == boolean.class) {
+            if (value instanceof Boolean) {
+                return value;
+            }
+            if (value instanceof Number) {
+                return ((Number) value).intValue() != 0;
+            }
+            return value != null && ("1".equals(value)
+                                     || Boolean.parseBoolean(value.toString()));
+        }
+        if (type.isPrimitive()) {
+            final Number number;
+            if (value == null) {
+                number = 0;
+            } else if (value instanceof Number) {
+                number = (Number) value;
+            } else if (value instanceof Boolean) {
+                number = (Boolean) value ? 1 : 0;
+            } else {
+                try {
+                    number = new BigDecimal(value.toString());
+                } catch (final NumberFormatException nfe) {
+                    throw new SQLException(nfe);
+                }
+            }
+            if (type == int.class) {
+                return number.intValue();
+            } else if (type == short.class) {
+                return number.shortValue();
+            } else if (type == long.class) {
+                return number.longValue();
+            } else if (type == byte.class) {
+                return number.byteValue();
+            } else if (type == double.class) {
+                return number.doubleValue();
+            } else if (type == float.class) {
+                return number.floatValue();
+            }
+        }
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        if (type == BigDecimal.class) {
+            try {
+                return new BigDecimal(value.toString());
+            } catch (final NumberFormatException nfe) {
+                throw new SQLException(nfe);
+            }
+        }
+        throw new SQLFeatureNotSupportedException(
+                "can't convert " + value + " to " + type);
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Reads a recording from given stream.
+     *
+     * @param input the stream to read
+     * @return a new recording
+     * @throws IOException if an I/O error occurs.
+     */
+    public static MetadataRecording read(final InputStream input)
+            throws IOException {
+        if (input == null) {
+            throw new NullPointerException("input is null");
+        }
+        final DataInputStream data
+                = new DataInputStream(new GZIPInputStream(input));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("not a recording");
+        }
+        final int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("unsupported version: " + version);
+        }
+        final MetadataRecording recording = new MetadataRecording();
+        final int count = data.readInt();
+        for (int i = 0; i < count; i++) {
+            final Call call = new Call();
+            call.read(data);
+            recording.calls.put(key(call.method, call.args), call);
+        }
+        return recording;
+    }
+
+    /**
+     * Writes this recording to given stream. The stream is not closed.
+     *
+     * @param output the stream to write
+     * @throws IOException if an I/O error occurs.
+     */
+    public synchronized void write(final OutputStream output)
+            throws IOException {
+        if (output == null) {
+            throw new NullPointerException("output is null");
+        }
+        final GZIPOutputStream gzip = new GZIPOutputStream(output);
+        final DataOutputStream data = new DataOutputStream(gzip);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(calls.size());
+        for (final Call call : calls.values()) {
+            call.write(data);
+        }
+        data.flush();
+        gzip.finish();
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns a metadata which delegates calls to given metadata and records
+     * them to this recording. Result sets are read entirely before returned.
+     *
+     * @param metadata the metadata to record
+     * @return a recording metadata
+     */
+    public DatabaseMetaData recorder(final DatabaseMetaData metadata) {
+        if (metadata == null) {
+            throw new NullPointerException("metadata is null");
+        }
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                MetadataRecording.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method,
+                                 final Object[] args)
+                    throws Throwable {
+                if (method.getDeclaringClass() == Object.class) {
+                    return object(proxy, method, args);
+                }
+                final Class<?> type = method.getReturnType();
+                if (type != ResultSet.class && !recordable(type)) {
+                    try {
+                        return method.invoke(metadata, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                }
+                final Call call = new Call();
+                call.method = method.getName();
+                call.args = args == null ? null : args.clone();
+                final long started = nanoTime();
+                try {
+                    final Object value = method.invoke(metadata, args);
+                    if (type == ResultSet.class && value != null) {
+                        record(call, (ResultSet) value);
+                    } else {
+                        call.kind = Call.VALUE;
+                        call.value = value;
+                    }
+                } catch (final InvocationTargetException ite) {
+                    final Throwable cause = ite.getCause();
+                    if (!(cause instanceof SQLException)) {
+                        throw cause;
+                    }
+                    final SQLException sqle = (SQLException) cause;
+                    call.kind = Call.FAILURE;
+                    call.message = sqle.getMessage();
+                    call.state = sqle.getSQLState();
+                    call.code = sqle.getErrorCode();
+                    call.unsupported
+                            = sqle instanceof SQLFeatureNotSupportedException;
+                }
+                call.latency = nanoTime() - started;
+                synchronized (MetadataRecording.this) {
+                    calls.put(key(call.method, call.args), call);
+                }
+                return call.replay();
+            }
+        });
+    }
+
+    private static void record(final Call call, final ResultSet results)
+            throws SQLException {
+        try {
+            final ResultSetMetaData metadata = results.getMetaData();
+            final int count = metadata.getColumnCount();
+            call.labels = new String[count];
+            call.types = new int[count];
+            for (int i = 0; i < count; i++) {
+                call.labels[i] = metadata.getColumnLabel(i + 1);
+                call.types[i] = metadata.getColumnType(i + 1);
+            }
+            call.rows = new ArrayList<Object[]>();
+            while (results.next()) {
+                final Object[] row = new Object[count];
+                for (int i = 0; i < count; i++) {
+                    row[i] = results.getObject(i + 1);
+                }
+                call.rows.add(row);
+            }
+            call.kind = Call.ROWS;
+        } finally {
+            results.close();
+        }
+    }
+
+    /**
+     * Returns a metadata which replays calls recorded in this recording.
+     *
+     * @param latencies a flag for replaying the recorded latencies
+     * @return a replaying metadata
+     */
+    public DatabaseMetaData replayer(final boolean latencies) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                MetadataRecording.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method,
+                                 final Object[] args)
+                    throws Throwable {
+                if (method.getDeclaringClass() == Object.class) {
+                    return object(proxy, method, args);
+                }
+                final Call call;
+                synchronized (MetadataRecording.this) {
+                    call = calls.get(key(method.getName(), args));
+                }
+                if (call == null) {
+                    throw new SQLFeatureNotSupportedException(
+                            "not recorded: " + method.getName()
+                            + Arrays.deepToString(args));
+                }
+                if (latencies && call.latency > 0L) {
+                    try {
+                        NANOSECONDS.sleep(call.latency);
+                    } catch (final InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("interrupted", ie);
+                    }
+                }
+                return call.replay();
+            }
+        });
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the number of distinct calls recorded.
+     *
+     * @return the number of recorded calls
+     */
+    public synchronized int size() {
+        return calls.size();
+    }
+
+    // -------------------------------------------------------------------------
+    private final Map<List<Object>, Call> calls
+            = new LinkedHashMap<List<Object>, Call>();
+}
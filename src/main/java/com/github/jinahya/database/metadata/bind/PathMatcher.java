@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A compiled set of slash-separated path patterns.
+ * <p>
+ * Each pattern is a sequence of segments separated by {@code /}. A segment of
+ * {@code *} matches exactly one segment and a segment of {@code **} matches
+ * zero or more segments. Every other segment matches literally. Patterns are
+ * compiled into a tree of segments so that matching never builds strings.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+final class PathMatcher {
+
+    static final String SEPARATOR = "/";
+
+    static final String ANY = "*";
+
+    static final String DEEP = "**";
+
+    // -------------------------------------------------------------------------
+    private static final class Node {
+
+        Node child(final String segment) {
+            if (DEEP.equals(segment)) {
+                if (deep == null) {
+                    deep = new Node();
+                }
+                return deep;
+            }
+            if (ANY.equals(segment)) {
+                if (any == null) {
+                    any = new Node();
+                }
+                return any;
+            }
+            if (names == null) {
+                names = new HashMap<String, Node>();
+            }
+            Node child = names.get(segment);
+            if (child == null) {
+                child = new Node();
+                names.put(segment, child);
+            }
+            return child;
+        }
+
+        // ---------------------------------------------------------------------
+        private Map<String, Node> names;
+
+        private Node any;
+
+        private Node deep;
+
+        private boolean terminal;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Compiles given patterns.
+     *
+     * @param patterns the patterns to compile
+     * @return a compiled matcher
+     */
+    static PathMatcher compile(final Collection<String> patterns) {
+        if (patterns == null) {
+            throw new NullPointerException("patterns is null");
+        }
+        final Node root = new Node();
+        for (final String pattern : patterns) {
+            Node node = root;
+            for (final String segment : pattern.split(SEPARATOR)) {
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                node = node.child(segment);
+            }
+            node.terminal = true;
+        }
+        return new PathMatcher(root, !patterns.isEmpty());
+    }
+
+    // -------------------------------------------------------------------------
+    private static String segment(final String[] segments, final int length,
+                                  final String last, final int index) {
+        return index < length ? segments[index] : last;
+    }
+
+    private static boolean matches(final Node node, final String[] segments,
+                                   final int length, final String last,
+                                   final int index, final int end) {
+        if (node.deep != null) {
+            for (int i = index; i <= end; i++) {
+                if (matches(node.deep, segments, length, last, i, end)) {
+                    return true;
+                }
+            }
+        }
+        if (index == end) {
+            return node.terminal;
+        }
+        if (node.names != null) {
+            final Node child
+                    = node.names.get(segment(segments, length, last, index));
+            if (child != null && matches(child, segments, length, last,
+                                         index + 1, end)) {
+                return true;
+            }
+        }
+        return node.any != null
+               && matches(node.any, segments, length, last, index + 1, end);
+    }
+
+    // -------------------------------------------------------------------------
+    private PathMatcher(final Node root, final boolean nonempty) {
+        super();
+        this.root = root;
+        this.nonempty = nonempty;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Checks whether the path of the first {@code length} elements of given
+     * array followed by {@code last} matches any of compiled patterns.
+     *
+     * @param segments the leading segments
+     * @param length the number of leading segments to use
+     * @param last the last segment; {@code null} for none
+     * @return {@code true} if matches; {@code false} otherwise
+     */
+    boolean matches(final String[] segments, final int length,
+                    final String last) {
+        if (!nonempty) {
+            return false;
+        }
+        final int end = last == null ? length : length + 1;
+        return matches(root, segments, length, last, 0, end);
+    }
+
+    /**
+     * Checks whether given type segment and name segment matches any of
+     * compiled patterns.
+     *
+     * @param type the type segment
+     * @param name the name segment
+     * @return {@code true} if matches; {@code false} otherwise
+     */
+    boolean matches(final String type, final String name) {
+        return matches(new String[] {type}, 1, name);
+    }
+
+    /**
+     * Checks whether given slash-separated path matches any of compiled
+     * patterns.
+     *
+     * @param path the path to check
+     * @return {@code true} if matches; {@code false} otherwise
+     */
+    boolean matches(final String path) {
+        final String[] segments = path.split(SEPARATOR);
+        return matches(segments, segments.length, null);
+    }
+
+    // -------------------------------------------------------------------------
+    private final Node root;
+
+    private final boolean nonempty;
+}
@@ -115,11 +115,18 @@ public class Procedure implements Serializable {
     // -------------------------------------------------------- procedureColumns
     public List<ProcedureColumn> getProcedureColumns() {
         if (procedureColumns == null) {
-            procedureColumns = new ArrayList<ProcedureColumn>();
+            final List<ProcedureColumn> list = new ArrayList<ProcedureColumn>();
+            if (!Deferred.load(deferred, this, "procedureColumns", list)) {
+                return list; // retried on the next access
+            }
+            procedureColumns = list;
         }
         return procedureColumns;
     }
 
+    // -------------------------------------------------------------------------
+    transient Deferred deferred;
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "PROCEDURE_CAT", nillable = true)
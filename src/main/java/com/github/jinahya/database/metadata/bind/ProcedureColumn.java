@@ -204,6 +204,15 @@ public class ProcedureColumn implements Serializable {
         this.columnType = columnType;
     }
 
+    /**
+     * Returns the constant of {@link #getColumnType() columnType} value.
+     *
+     * @return the constant of columnType value; {@code null} if unknown
+     */
+    public ColumnType getColumnTypeAsEnum() {
+        return IntFieldEnums.lookup(ColumnType.class, columnType);
+    }
+
     // ---------------------------------------------------------------- dataType
     public int getDataType() {
         return dataType;
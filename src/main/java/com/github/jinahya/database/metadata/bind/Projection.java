@@ -0,0 +1,345 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.NULL_VALUE;
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.UNKNOWN_LABEL;
+import static java.lang.String.format;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.logging.Level.SEVERE;
+import java.util.logging.Logger;
+import static java.util.logging.Logger.getLogger;
+
+/**
+ * Binds records into instances of a projection type defined by callers.
+ * <p>
+ * A projection type is either a class, with an accessible no-arg
+ * constructor, whose fields are annotated with {@link Bind}, or an interface
+ * whose no-arg methods are annotated with {@link Bind}. Only the columns of
+ * the annotated labels are read, by their indices resolved once per result
+ * set, and instances of interfaces are proxies backed by an array of the
+ * values read. Neither {@link Invoke} fields nor suppressions apply, and
+ * {@link Bind#unused() unused} members are not read. Instances of this class
+ * are immutable and thus safe for concurrent use, which also makes them fit
+ * for binding model classes at full speed.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @param <T> projection type parameter
+ * @see MetadataContext#project(Class, String, Object...)
+ * @see MetadataBinder
+ */
+final class Projection<T> {
+
+    private static final Logger logger
+            = getLogger(Projection.class.getName());
+
+    // -------------------------------------------------------------------------
+    private static final class Handler implements InvocationHandler {
+
+        Handler(final Projection<?> projection, final Object[] values) {
+            super();
+            this.projection = projection;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method,
+                             final Object[] args) {
+            final Integer index = projection.indices.get(method);
+            if (index != null) {
+                return values[index];
+            }
+            final String name = method.getName();
+            if ("equals".equals(name) && args != null && args.length == 1) {
+                if (args[0] == null
+                    || !Proxy.isProxyClass(args[0].getClass())) {
+                    return false;
+                }
+                final Object other = Proxy.getInvocationHandler(args[0]);
+                return other instanceof Handler
+                       && ((Handler) other).projection.type
+                          == projection.type
+                       && Arrays.equals(((Handler) other).values, values);
+            }
+            if ("hashCode".equals(name) && args == null) {
+                return Arrays.hashCode(values);
+            }
+            if ("toString".equals(name) && args == null) {
+                final StringBuilder builder = new StringBuilder(
+                        projection.type.getSimpleName()).append('{');
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(projection.binds[i].label()).append('=')
+                            .append(values[i]);
+                }
+                return builder.append('}').toString();
+            }
+            throw new UnsupportedOperationException(method.toString());
+        }
+
+        private final Projection<?> projection;
+
+        private final Object[] values;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Creates a new projection of specified type.
+     *
+     * @param type the projection type
+     * @throws IllegalArgumentException if {@code type} is neither an
+     * interface nor a class with a no-arg constructor, or has no bind
+     * members.
+     */
+    Projection(final Class<T> type) {
+        super();
+        if (type == null) {
+            throw new NullPointerException("type is null");
+        }
+        this.type = type;
+        final List<Bind> binds = new ArrayList<Bind>();
+        final List<Class<?>> types = new ArrayList<Class<?>>();
+        if (type.isInterface()) {
+            fields = null;
+            constructor = null;
+            indices = new HashMap<Method, Integer>();
+            for (final Method method : type.getMethods()) {
+                final Bind bind = method.getAnnotation(Bind.class);
+                if (bind == null || bind.unused()) {
+                    continue;
+                }
+                if (method.getParameterTypes().length > 0
+                    || method.getReturnType() == void.class) {
+                    throw new IllegalArgumentException(
+                            "not a getter: " + method);
+                }
+                indices.put(method, binds.size());
+                binds.add(bind);
+                types.add(method.getReturnType());
+            }
+        } else {
+            indices = null;
+            try {
+                constructor = type.getDeclaredConstructor();
+            } catch (final NoSuchMethodException nsme) {
+                throw new IllegalArgumentException(
+                        "no no-arg constructor: " + type);
+            }
+            if (Modifier.isAbstract(type.getModifiers())) {
+                throw new IllegalArgumentException("abstract: " + type);
+            }
+            if (!constructor.isAccessible()) {
+                constructor.setAccessible(true);
+            }
+            final List<Field> fields = new ArrayList<Field>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (final Field field : c.getDeclaredFields()) {
+                    final Bind bind = field.getAnnotation(Bind.class);
+                    if (bind == null || bind.unused()) {
+                        continue;
+                    }
+                    if (Modifier.isFinal(field.getModifiers())
+                        || Modifier.isStatic(field.getModifiers())) {
+                        throw new IllegalArgumentException(
+                                "not an instance field: " + field);
+                    }
+                    if (!field.isAccessible()) {
+                        field.setAccessible(true);
+                    }
+                    fields.add(field);
+                    binds.add(bind);
+                    types.add(field.getType());
+                }
+            }
+            this.fields = fields.toArray(new Field[fields.size()]);
+        }
+        if (binds.isEmpty()) {
+            throw new IllegalArgumentException("no bind members: " + type);
+        }
+        this.binds = binds.toArray(new Bind[binds.size()]);
+        this.types = types.toArray(new Class<?>[types.size()]);
+        zeros = new Object[this.types.length];
+        for (int i = 0; i < zeros.length; i++) {
+            if (this.types[i].isPrimitive()) {
+                zeros[i] = Array.get(Array.newInstance(this.types[i], 1), 0);
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Binds all records as instances and adds them to specified list.
+     *
+     * @param results the records to bind
+     * @param instances a list to which instances are added
+     * @param diagnostics the diagnostics to which anomalies are added
+     * @return given list
+     * @throws SQLException if a database error occurs.
+     */
+    List<? super T> bind(final ResultSet results,
+                         final List<? super T> instances,
+                         final BindDiagnostics diagnostics)
+            throws SQLException {
+        // resolve indices once per result set, not per record
+        final ResultSetMetaData metadata = results.getMetaData();
+        final Map<String, Integer> columns = new HashMap<String, Integer>();
+        for (int i = metadata.getColumnCount(); i > 0; i--) {
+            columns.put(metadata.getColumnLabel(i).toUpperCase(), i);
+        }
+        final int[] columnIndices = new int[binds.length];
+        for (int i = 0; i < binds.length; i++) {
+            final Integer column = columns.get(binds[i].label().toUpperCase());
+            columnIndices[i] = column == null ? 0 : column;
+        }
+        final long[] nulls = new long[binds.length];
+        long records = 0L;
+        while (results.next()) {
+            records++;
+            final Object[] values = new Object[binds.length];
+            for (int i = 0; i < values.length; i++) {
+                if (columnIndices[i] == 0) {
+                    continue;
+                }
+                values[i] = value(results, columnIndices[i], types[i]);
+                if (values[i] == null
+                    && (types[i].isPrimitive()
+                        || (!binds[i].nillable() && !binds[i].reserved()))) {
+                    nulls[i]++;
+                }
+                if (values[i] == null) {
+                    values[i] = zeros[i]; // primitives can't be null
+                }
+            }
+            final T instance = instance(values);
+            if (instance != null) {
+                instances.add(instance);
+            }
+        }
+        for (int i = 0; i < binds.length; i++) {
+            if (columnIndices[i] == 0) {
+                diagnostics.add(type, binds[i].label(), UNKNOWN_LABEL,
+                                records);
+            }
+            diagnostics.add(type, binds[i].label(), NULL_VALUE, nulls[i]);
+        }
+        return instances;
+    }
+
+    private T instance(final Object[] values) {
+        if (indices != null) {
+            return type.cast(Proxy.newProxyInstance(
+                    type.getClassLoader(), new Class<?>[]{type},
+                    new Handler(this, values)));
+        }
+        final T instance;
+        try {
+            instance = constructor.newInstance();
+        } catch (final ReflectiveOperationException roe) {
+            logger.log(SEVERE, format(
+                       "failed to create new instance of %s", type), roe);
+            return null;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            try {
+                fields[i].set(instance, values[i]);
+            } catch (final IllegalArgumentException iae) {
+                logger.log(SEVERE, format("failed to set %s on %s",
+                                          values[i], fields[i]), iae);
+            } catch (final IllegalAccessException iae) {
+                logger.log(SEVERE, format("failed to set %s on %s",
+                                          values[i], fields[i]), iae);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reads the value of specified column with the getter of given type.
+     *
+     * @return the value; {@code null} if SQL {@code NULL}
+     */
+    private static Object value(final ResultSet results, final int column,
+                                final Class<?> type)
+            throws SQLException {
+        if (type == String.class) {
+            return results.getString(column);
+        }
+        final Object value;
+        if (type == int.class || type == Integer.class) {
+            value = results.getInt(column);
+        } else if (type == short.class || type == Short.class) {
+            value = results.getShort(column);
+        } else if (type == long.class || type == Long.class) {
+            value = results.getLong(column);
+        } else if (type == boolean.class || type == Boolean.class) {
+            value = results.getBoolean(column);
+        } else if (type == byte.class || type == Byte.class) {
+            value = results.getByte(column);
+        } else if (type == float.class || type == Float.class) {
+            value = results.getFloat(column);
+        } else if (type == double.class || type == Double.class) {
+            value = results.getDouble(column);
+        } else {
+            value = results.getObject(column);
+            if (value != null && !type.isInstance(value)) {
+                logger.severe(format("%s is not a %s; column=%d", value,
+                                     type, column));
+                return null;
+            }
+            return value;
+        }
+        return results.wasNull() ? null : value;
+    }
+
+    // -------------------------------------------------------------------------
+    private final Class<T> type;
+
+    // bind annotations in the order of values
+    private final Bind[] binds;
+
+    // types of bind members in the order of values
+    private final Class<?>[] types;
+
+    // bind fields of classes; null for interfaces
+    private final Field[] fields;
+
+    // default values of primitive types in the order of values
+    private final Object[] zeros;
+
+    private final Constructor<T> constructor;
+
+    // value indices of bind methods of interfaces; null for classes
+    private final Map<Method, Integer> indices;
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A reservoir sampling of rows, uniform over all rows read, for estimates.
+ * Rows at the front of results are often those of system schemas.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ * @see MetadataContext#estimate(int)
+ */
+final class Reservoir {
+
+    /**
+     * Creates a new instance with given seed.
+     *
+     * @param seed the seed for the random
+     */
+    Reservoir(final long seed) {
+        super();
+        random = new Random(seed);
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the slot for a row of given index.
+     *
+     * @param index the index of the row, counted from {@code 0}
+     * @param limit the maximum number of rows sampled
+     * @return the slot of the row; {@code -1} if not sampled
+     */
+    long slot(final long index, final int limit) {
+        final long slot = index < limit
+                          ? index : (long) (random.nextDouble() * index);
+        return slot < limit ? slot : -1L;
+    }
+
+    /**
+     * Puts given sample to specified slot of a list.
+     *
+     * @param samples the list of samples
+     * @param offset the index, in the list, of the first slot
+     * @param slot the slot returned by {@link #slot(long, int)}
+     * @param sample the sample
+     */
+    static void put(final List<Object> samples, final int offset,
+                    final long slot, final Object sample) {
+        if (offset + slot < samples.size()) {
+            samples.set((int) (offset + slot), sample);
+        } else {
+            samples.add(sample);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    private final Random random;
+}
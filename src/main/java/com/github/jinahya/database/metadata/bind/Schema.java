@@ -85,7 +85,11 @@ public class Schema implements Serializable {//extends AbstractTableDomain {
     // --------------------------------------------------------------- functions
     public List<Function> getFunctions() {
         if (functions == null) {
-            functions = new ArrayList<Function>();
+            final List<Function> list = new ArrayList<Function>();
+            if (!Deferred.load(deferred, this, "functions", list)) {
+                return list; // retried on the next access
+            }
+            functions = list;
         }
         return functions;
     }
@@ -93,7 +97,11 @@ public class Schema implements Serializable {//extends AbstractTableDomain {
     // -------------------------------------------------------------- procedures
     public List<Procedure> getProcedures() {
         if (procedures == null) {
-            procedures = new ArrayList<Procedure>();
+            final List<Procedure> list = new ArrayList<Procedure>();
+            if (!Deferred.load(deferred, this, "procedures", list)) {
+                return list; // retried on the next access
+            }
+            procedures = list;
         }
         return procedures;
     }
@@ -101,7 +109,11 @@ public class Schema implements Serializable {//extends AbstractTableDomain {
     // ------------------------------------------------------------------ tables
     public List<Table> getTables() {
         if (tables == null) {
-            tables = new ArrayList<Table>();
+            final List<Table> list = new ArrayList<Table>();
+            if (!Deferred.load(deferred, this, "tables", list)) {
+                return list; // retried on the next access
+            }
+            tables = list;
         }
         return tables;
     }
@@ -109,15 +121,28 @@ public class Schema implements Serializable {//extends AbstractTableDomain {
     // -------------------------------------------------------------------- UDTs
     public List<UDT> getUDTs() {
         if (UDTs == null) {
-            UDTs = new ArrayList<UDT>();
+            final List<UDT> list = new ArrayList<UDT>();
+            if (!Deferred.load(deferred, this, "UDTs", list)) {
+                return list; // retried on the next access
+            }
+            UDTs = list;
         }
         return UDTs;
     }
 
+    // ------------------------------------------------------------ completeness
+    public Completeness getCompleteness() {
+        return completeness;
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     Boolean virtual;
 
+    transient Deferred deferred;
+
+    transient Completeness completeness;
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "TABLE_CATALOG", nillable = true)
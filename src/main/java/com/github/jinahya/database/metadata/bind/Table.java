@@ -158,7 +158,12 @@ public class Table implements Serializable {
     // ------------------------------------------------------ bestRowIdentifiers
     public List<BestRowIdentifier> getBestRowIdentifiers() {
         if (bestRowIdentifiers == null) {
-            bestRowIdentifiers = new ArrayList<BestRowIdentifier>();
+            final List<BestRowIdentifier> list
+                    = new ArrayList<BestRowIdentifier>();
+            if (!Deferred.load(deferred, this, "bestRowIdentifiers", list)) {
+                return list; // retried on the next access
+            }
+            bestRowIdentifiers = list;
         }
         return bestRowIdentifiers;
     }
@@ -171,7 +176,11 @@ public class Table implements Serializable {
      */
     public List<Column> getColumns() {
         if (columns == null) {
-            columns = new ArrayList<Column>();
+            final List<Column> list = new ArrayList<Column>();
+            if (!Deferred.load(deferred, this, "columns", list)) {
+                return list; // retried on the next access
+            }
+            columns = list;
         }
         return columns;
     }
@@ -184,7 +193,11 @@ public class Table implements Serializable {
      */
     public List<ExportedKey> getExportedKeys() {
         if (exportedKeys == null) {
-            exportedKeys = new ArrayList<ExportedKey>();
+            final List<ExportedKey> list = new ArrayList<ExportedKey>();
+            if (!Deferred.load(deferred, this, "exportedKeys", list)) {
+                return list; // retried on the next access
+            }
+            exportedKeys = list;
         }
         return exportedKeys;
     }
@@ -197,7 +210,11 @@ public class Table implements Serializable {
      */
     public List<ImportedKey> getImportedKeys() {
         if (importedKeys == null) {
-            importedKeys = new ArrayList<ImportedKey>();
+            final List<ImportedKey> list = new ArrayList<ImportedKey>();
+            if (!Deferred.load(deferred, this, "importedKeys", list)) {
+                return list; // retried on the next access
+            }
+            importedKeys = list;
         }
         return importedKeys;
     }
@@ -210,7 +227,11 @@ public class Table implements Serializable {
      */
     public List<IndexInfo> getIndexInfo() {
         if (indexInfo == null) {
-            indexInfo = new ArrayList<IndexInfo>();
+            final List<IndexInfo> list = new ArrayList<IndexInfo>();
+            if (!Deferred.load(deferred, this, "indexInfo", list)) {
+                return list; // retried on the next access
+            }
+            indexInfo = list;
         }
         return indexInfo;
     }
@@ -223,7 +244,11 @@ public class Table implements Serializable {
      */
     public List<PrimaryKey> getPrimaryKeys() {
         if (primaryKeys == null) {
-            primaryKeys = new ArrayList<PrimaryKey>();
+            final List<PrimaryKey> list = new ArrayList<PrimaryKey>();
+            if (!Deferred.load(deferred, this, "primaryKeys", list)) {
+                return list; // retried on the next access
+            }
+            primaryKeys = list;
         }
         return primaryKeys;
     }
@@ -236,7 +261,11 @@ public class Table implements Serializable {
      */
     public List<PseudoColumn> getPseudoColumns() {
         if (pseudoColumns == null) {
-            pseudoColumns = new ArrayList<PseudoColumn>();
+            final List<PseudoColumn> list = new ArrayList<PseudoColumn>();
+            if (!Deferred.load(deferred, this, "pseudoColumns", list)) {
+                return list; // retried on the next access
+            }
+            pseudoColumns = list;
         }
         return pseudoColumns;
     }
@@ -249,7 +278,11 @@ public class Table implements Serializable {
      */
     public List<SuperTable> getSuperTables() {
         if (superTables == null) {
-            superTables = new ArrayList<SuperTable>();
+            final List<SuperTable> list = new ArrayList<SuperTable>();
+            if (!Deferred.load(deferred, this, "superTables", list)) {
+                return list; // retried on the next access
+            }
+            superTables = list;
         }
         return superTables;
     }
@@ -262,7 +295,11 @@ public class Table implements Serializable {
      */
     public List<TablePrivilege> getTablePrivileges() {
         if (tablePrivileges == null) {
-            tablePrivileges = new ArrayList<TablePrivilege>();
+            final List<TablePrivilege> list = new ArrayList<TablePrivilege>();
+            if (!Deferred.load(deferred, this, "tablePrivileges", list)) {
+                return list; // retried on the next access
+            }
+            tablePrivileges = list;
         }
         return tablePrivileges;
     }
@@ -275,11 +312,31 @@ public class Table implements Serializable {
      */
     public List<VersionColumn> getVersionColumns() {
         if (versionColumns == null) {
-            versionColumns = new ArrayList<VersionColumn>();
+            final List<VersionColumn> list = new ArrayList<VersionColumn>();
+            if (!Deferred.load(deferred, this, "versionColumns", list)) {
+                return list; // retried on the next access
+            }
+            versionColumns = list;
         }
         return versionColumns;
     }
 
+    // ------------------------------------------------------------ completeness
+    /**
+     * Returns how completely descendants of this table are crawled.
+     *
+     * @return the completeness of this table; {@code null} if this table is
+     * not bound by a context
+     */
+    public Completeness getCompleteness() {
+        return completeness;
+    }
+
+    // -------------------------------------------------------------------------
+    transient Deferred deferred;
+
+    transient Completeness completeness;
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "TABLE_CAT", nillable = true)
@@ -147,6 +147,15 @@ abstract class TableKey implements Serializable {
         this.updateRule = updateRule;
     }
 
+    /**
+     * Returns the constant of {@link #getUpdateRule() updateRule} value.
+     *
+     * @return the constant of updateRule value; {@code null} if unknown
+     */
+    public ImportedKey.Rule getUpdateRuleAsEnum() {
+        return IntFieldEnums.lookup(ImportedKey.Rule.class, updateRule);
+    }
+
     // -------------------------------------------------------------- deleteRule
     public short getDeleteRule() {
         return deleteRule;
@@ -156,6 +165,15 @@ abstract class TableKey implements Serializable {
         this.deleteRule = deleteRule;
     }
 
+    /**
+     * Returns the constant of {@link #getDeleteRule() deleteRule} value.
+     *
+     * @return the constant of deleteRule value; {@code null} if unknown
+     */
+    public ImportedKey.Rule getDeleteRuleAsEnum() {
+        return IntFieldEnums.lookup(ImportedKey.Rule.class, deleteRule);
+    }
+
     // ------------------------------------------------------------------ fnname
     public String getFkName() {
         return fkName;
@@ -183,6 +201,16 @@ abstract class TableKey implements Serializable {
         this.deferrability = deferrability;
     }
 
+    /**
+     * Returns the constant of {@link #getDeferrability() deferrability} value.
+     *
+     * @return the constant of deferrability value; {@code null} if unknown
+     */
+    public ImportedKey.Deferrability getDeferrabilityAsEnum() {
+        return IntFieldEnums.lookup(ImportedKey.Deferrability.class,
+                                    deferrability);
+    }
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "PKTABLE_CAT", nillable = true)
@@ -206,7 +234,7 @@ abstract class TableKey implements Serializable {
     private String fktableCat;
 
     @XmlElement(nillable = true)
-    @Bind(label = "FKTABLE_NAME", nillable = true)
+    @Bind(label = "FKTABLE_SCHEM", nillable = true)
     private String fktableSchem;
 
     @XmlElement
@@ -218,7 +246,7 @@ abstract class TableKey implements Serializable {
     private String fkcolumnName;
 
     @XmlElement
-    @Bind(label = "FKCOLUMN_NAME")
+    @Bind(label = "KEY_SEQ")
     private short keySeq;
 
     @XmlElement
@@ -198,6 +198,15 @@ public class TypeInfo implements Serializable {
         this.nullable = nullable;
     }
 
+    /**
+     * Returns the constant of {@link #getNullable() nullable} value.
+     *
+     * @return the constant of nullable value; {@code null} if unknown
+     */
+    public Nullable getNullableAsEnum() {
+        return IntFieldEnums.lookup(Nullable.class, nullable);
+    }
+
     // ----------------------------------------------------------- caseSensitive
     public boolean getCaseSensitive() {
         return caseSensitive;
@@ -124,7 +124,11 @@ public class UDT implements Serializable {
     // -------------------------------------------------------------- attributes
     public List<Attribute> getAttributes() {
         if (attributes == null) {
-            attributes = new ArrayList<Attribute>();
+            final List<Attribute> list = new ArrayList<Attribute>();
+            if (!Deferred.load(deferred, this, "attributes", list)) {
+                return list; // retried on the next access
+            }
+            attributes = list;
         }
         return attributes;
     }
@@ -132,11 +136,18 @@ public class UDT implements Serializable {
     // -------------------------------------------------------------- superTypes
     public List<SuperType> getSuperTypes() {
         if (superTypes == null) {
-            superTypes = new ArrayList<SuperType>();
+            final List<SuperType> list = new ArrayList<SuperType>();
+            if (!Deferred.load(deferred, this, "superTypes", list)) {
+                return list; // retried on the next access
+            }
+            superTypes = list;
         }
         return superTypes;
     }
 
+    // -------------------------------------------------------------------------
+    transient Deferred deferred;
+
     // -------------------------------------------------------------------------
     @XmlAttribute
     @Bind(label = "TYPE_CAT", nillable = true)
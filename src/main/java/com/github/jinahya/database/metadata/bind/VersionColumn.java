@@ -210,6 +210,15 @@ public class VersionColumn implements Serializable {
         this.pseudoColumn = pseudoColumn;
     }
 
+    /**
+     * Returns the constant of {@link #getPseudoColumn() pseudoColumn} value.
+     *
+     * @return the constant of pseudoColumn value; {@code null} if unknown
+     */
+    public PseudoColumn getPseudoColumnAsEnum() {
+        return IntFieldEnums.lookup(PseudoColumn.class, pseudoColumn);
+    }
+
     // -------------------------------------------------------------------------
     @XmlElement(nillable = true)
     @Bind(label = "SCOPE", unused = true)
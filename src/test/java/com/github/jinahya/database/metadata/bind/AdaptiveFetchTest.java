@@ -0,0 +1,222 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link AdaptiveFetch}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class AdaptiveFetchTest {
+
+    private static final int TABLES = 10;
+
+    private static DatabaseMetaData counting(
+            final DatabaseMetaData metadata, final Map<String, Long> calls) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == ResultSet.class) {
+                        calls.merge(method.getName(), 1L, Long::sum);
+                    }
+                    try {
+                        return method.invoke(metadata, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    private static List<String> names(final List<Table> tables) {
+        final List<String> names = new ArrayList<>();
+        for (final Table table : tables) {
+            for (final Column column : table.getColumns()) {
+                names.add(table.getTableName() + "." + column.getColumnName());
+            }
+            for (final IndexInfo index : table.getIndexInfo()) {
+                names.add(table.getTableName() + "#" + index.getIndexName()
+                          + "." + index.getColumnName());
+            }
+        }
+        return names;
+    }
+
+    // -------------------------------------------------------------------------
+    @BeforeClass
+    public void create() throws SQLException {
+        connection = getConnection("jdbc:h2:mem:adaptiveFetch");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA ADAPTIVE");
+            for (int i = 1; i <= TABLES; i++) {
+                statement.execute(String.format(
+                        "CREATE TABLE ADAPTIVE.T%02d"
+                        + " (ID INT PRIMARY KEY, NAME VARCHAR(8))", i));
+                statement.execute(String.format(
+                        "CREATE INDEX ADAPTIVE.I%02d ON ADAPTIVE.T%02d (NAME)",
+                        i, i));
+            }
+        }
+    }
+
+    @AfterClass
+    public void close() throws SQLException {
+        connection.close();
+    }
+
+    private List<Table> crawl(final AdaptiveFetch adaptive,
+                              final Map<String, Long> calls,
+                              final String tableNamePattern)
+            throws SQLException {
+        return new MetadataContext(counting(connection.getMetaData(), calls))
+                .fetchPlan(FetchPlan.of("table/columns", "table/indexInfo"))
+                .suppress("column/isGeneratedcolumn")
+                .adaptiveFetch(adaptive)
+                .getTables(null, "ADAPTIVE", tableNamePattern, null);
+    }
+
+    @Test
+    public void full() throws SQLException {
+        final Map<String, Long> expectedCalls = new HashMap<>();
+        final List<Table> expected = crawl(null, expectedCalls, null);
+        assertEquals(expectedCalls.get("getColumns"), Long.valueOf(TABLES));
+        final AdaptiveFetch adaptive
+                = new AdaptiveFetch().nullTables("getIndexInfo");
+        final Map<String, Long> calls = new HashMap<>();
+        final List<Table> actual = crawl(adaptive, calls, null);
+        assertEquals(names(actual), names(expected));
+        // two probes and a bulk call
+        assertEquals(calls.get("getColumns"), Long.valueOf(3L));
+        assertEquals(adaptive.getCallCount("table/columns"), 2L);
+        assertEquals(adaptive.getBulkCount("table/columns"), 1L);
+        // h2 returns no rows for a null table; checked against the probes
+        assertEquals(calls.get("getIndexInfo"), Long.valueOf(TABLES + 1L));
+        assertEquals(adaptive.getBulkCount("table/indexInfo"), 0L);
+    }
+
+    @Test
+    public void selective() throws SQLException {
+        final AdaptiveFetch adaptive = new AdaptiveFetch();
+        final Map<String, Long> calls = new HashMap<>();
+        final List<Table> tables = crawl(adaptive, calls, "T01");
+        assertEquals(tables.size(), 1);
+        assertEquals(tables.get(0).getColumns().size(), 2);
+        assertEquals(calls.get("getColumns"), Long.valueOf(1L));
+        assertEquals(adaptive.getBulkCount("table/columns"), 0L);
+        // getIndexInfo is not enabled with nullTables
+        assertEquals(adaptive.getCallCount("table/indexInfo"), 0L);
+    }
+
+    @Test
+    public void finishedOnce() throws SQLException {
+        final Map<String, Long> expectedCalls = new HashMap<>();
+        final Map<String, Long> calls = new HashMap<>();
+        final Map<Class<?>, Long> started = new HashMap<>();
+        for (final AdaptiveFetch adaptive
+             : new AdaptiveFetch[]{null, new AdaptiveFetch()}) {
+            started.clear();
+            new MetadataContext(counting(
+                    connection.getMetaData(),
+                    adaptive == null ? expectedCalls : calls))
+                    .fetchPlan(FetchPlan.of("table/columns",
+                                            "column/columnPrivileges"))
+                    .suppress("column/isGeneratedcolumn")
+                    .adaptiveFetch(adaptive)
+                    .listener(new BindListener() {
+                        @Override
+                        void started(final Object instance) {
+                            started.merge(instance.getClass(), 1L, Long::sum);
+                        }
+                    })
+                    .getTables(null, "ADAPTIVE", null, null);
+            // each column is finished once; neither probed nor unserved
+            assertEquals(started.get(Column.class), Long.valueOf(TABLES * 2));
+        }
+        assertEquals(calls.get("getColumns"), Long.valueOf(3L));
+        assertTrue(calls.get("getColumnPrivileges")
+                   <= expectedCalls.get("getColumnPrivileges"));
+    }
+
+    @Test
+    public void suppressedOwner() throws SQLException {
+        final AdaptiveFetch adaptive = new AdaptiveFetch().probes(0);
+        final Map<String, Long> calls = new HashMap<>();
+        final List<Table> tables = new MetadataContext(
+                counting(connection.getMetaData(), calls))
+                .fetchPlan(FetchPlan.of("table/columns"))
+                .suppress("column/isGeneratedcolumn", "column/tableName")
+                .adaptiveFetch(adaptive)
+                .getTables(null, "ADAPTIVE", null, null);
+        assertEquals(tables.size(), TABLES);
+        for (final Table table : tables) {
+            assertEquals(table.getColumns().size(), 2);
+        }
+        // owners can't be told apart without table names
+        assertEquals(adaptive.getBulkCount("table/columns"), 0L);
+        assertEquals(calls.get("getColumns"), Long.valueOf(TABLES));
+    }
+
+    @Test
+    public void patternProbe() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA PATTERN");
+            // A_1, probed first, matches A~1 as a pattern
+            for (final String name : new String[]{"A_1", "A~1", "B1"}) {
+                statement.execute("CREATE TABLE PATTERN.\"" + name + "\""
+                                  + " (ID INT PRIMARY KEY, NAME VARCHAR(8))");
+            }
+        }
+        final AdaptiveFetch adaptive = new AdaptiveFetch().probes(1);
+        new MetadataContext(connection.getMetaData())
+                .fetchPlan(FetchPlan.of("table/columns"))
+                .suppress("column/isGeneratedcolumn")
+                .adaptiveFetch(adaptive)
+                .getTables(null, "PATTERN", null, null);
+        assertEquals(adaptive.getCallCount("table/columns"), 1L);
+        assertEquals(adaptive.getBulkCount("table/columns"), 1L);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void noProbesWithNullTables() {
+        new AdaptiveFetch().nullTables("getIndexInfo").probes(0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void nullTablesWithNoProbes() {
+        new AdaptiveFetch().probes(0).nullTables("getIndexInfo");
+    }
+
+    // -------------------------------------------------------------------------
+    private Connection connection;
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link AdaptiveLimiter}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class AdaptiveLimiterTest {
+
+    @Test
+    public void aimd() throws InterruptedException {
+        final AdaptiveLimiter limiter
+                = new AdaptiveLimiter(1L, SECONDS).limits(1, 4);
+        for (int i = 0; i < 1 + 2 + 3; i++) {
+            limiter.release(limiter.acquire());
+        }
+        assertEquals(limiter.getLimit(), 4);
+        for (int i = 0; i < 10; i++) {
+            limiter.release(limiter.acquire());
+        }
+        assertEquals(limiter.getLimit(), 4);
+        for (int i = 0; i < 4; i++) {
+            limiter.release(limiter.acquire() - SECONDS.toNanos(2L));
+        }
+        assertEquals(limiter.getLimit(), 3);
+        assertEquals(limiter.getInflight(), 0);
+    }
+
+    @Test
+    public void cap() throws InterruptedException {
+        final AdaptiveLimiter limiter
+                = new AdaptiveLimiter(1L, SECONDS).limits(1, 1);
+        final long started = limiter.acquire();
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final Thread thread = new Thread(() -> {
+            try {
+                limiter.release(limiter.acquire());
+                acquired.countDown();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        assertFalse(acquired.await(200L, MILLISECONDS));
+        limiter.release(started);
+        assertTrue(acquired.await(10L, SECONDS));
+        thread.join();
+    }
+
+    @Test
+    public void maxRate() throws InterruptedException {
+        final AdaptiveLimiter limiter
+                = new AdaptiveLimiter(1L, SECONDS).limits(1, 4).maxRate(20.0d);
+        final long started = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.release(limiter.acquire());
+        }
+        assertTrue(System.nanoTime() - started >= MILLISECONDS.toNanos(190L));
+    }
+
+    @Test
+    public void crawl() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:adaptiveLimiter")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE LIMITER (ID INT PRIMARY KEY)");
+            }
+            final AdaptiveLimiter limiter
+                    = new AdaptiveLimiter(1L, SECONDS).limits(1, 2);
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData())
+                            .limiter(limiter);
+            assertEquals(context.getTables(null, null, "LIMITER", null)
+                    .get(0).getPrimaryKeys().size(), 1);
+            assertEquals(limiter.getInflight(), 0);
+            assertEquals(limiter.getLimit(), 2);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import static java.lang.invoke.MethodHandles.lookup;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.slf4j.Logger;
+import static org.slf4j.LoggerFactory.getLogger;
+import org.testng.SkipException;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Asserts bytes allocated per bound row against the budgets in
+ * {@code allocation-budgets.properties}.
+ * <p>
+ * Rows are served by a synthetic metadata whose result sets have a column for
+ * each bind field of the model class, and invocation fields are suppressed so
+ * that only the binding itself is measured. Allocations are read from the
+ * thread allocation counter. Raise a budget only for a reason.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class AllocationBudgetTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    // -------------------------------------------------------------------------
+    private static final int ROWS = 1000;
+
+    private static final int WARMUPS = 50;
+
+    private static final int ROUNDS = 20;
+
+    /**
+     * Model classes and the names of methods which return their rows.
+     */
+    private static final Map<Class<?>, String> METHODS
+            = new LinkedHashMap<>();
+
+    static {
+        METHODS.put(Catalog.class, "getCatalogs");
+        METHODS.put(Schema.class, "getSchemas");
+        METHODS.put(Table.class, "getTables");
+        METHODS.put(Column.class, "getColumns");
+        METHODS.put(IndexInfo.class, "getIndexInfo");
+        METHODS.put(PrimaryKey.class, "getPrimaryKeys");
+        METHODS.put(ImportedKey.class, "getImportedKeys");
+        METHODS.put(Procedure.class, "getProcedures");
+        METHODS.put(Function.class, "getFunctions");
+        METHODS.put(TypeInfo.class, "getTypeInfo");
+    }
+
+    private interface Crawl {
+
+        List<?> crawl(MetadataContext context) throws SQLException;
+    }
+
+    private static Crawl crawl(final Class<?> type) {
+        if (type == Catalog.class) {
+            return c -> c.getCatalogs();
+        }
+        if (type == Schema.class) {
+            return c -> c.getSchemas(null, null);
+        }
+        if (type == Table.class) {
+            return c -> c.getTables(null, null, null, null);
+        }
+        if (type == Column.class) {
+            return c -> c.getColumns(null, null, null, null);
+        }
+        if (type == IndexInfo.class) {
+            return c -> c.getIndexInfo(null, null, "T", false, false);
+        }
+        if (type == PrimaryKey.class) {
+            return c -> c.getPrimaryKeys(null, null, "T");
+        }
+        if (type == ImportedKey.class) {
+            return c -> c.getImportedKeys(null, null, "T");
+        }
+        if (type == Procedure.class) {
+            return c -> c.getProcedures(null, null, null);
+        }
+        if (type == Function.class) {
+            return c -> c.getFunctions(null, null, null);
+        }
+        return c -> c.getTypeInfo();
+    }
+
+    // -------------------------------------------------------------------------
+    private static List<Field> fields(final Class<?> type,
+                                      final Class<? extends Annotation> a) {
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            for (final Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(a)) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static Object value(final Class<?> type) {
+        if (type == String.class) {
+            return "VALUE";
+        }
+        if (type == int.class || type == Integer.class) {
+            return 1;
+        }
+        if (type == short.class || type == Short.class) {
+            return (short) 1;
+        }
+        if (type == long.class || type == Long.class) {
+            return 1L;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Boolean.TRUE;
+        }
+        if (type == byte.class || type == Byte.class) {
+            return (byte) 1;
+        }
+        if (type == float.class || type == Float.class) {
+            return 1.0f;
+        }
+        if (type == double.class || type == Double.class) {
+            return 1.0d;
+        }
+        return null;
+    }
+
+    private static Object primitive(final Object value,
+                                    final Class<?> type) {
+        if (!(value instanceof Number)) {
+            return value(type);
+        }
+        final Number number = (Number) value;
+        if (type == int.class) {
+            return number.intValue();
+        }
+        if (type == short.class) {
+            return number.shortValue();
+        }
+        if (type == long.class) {
+            return number.longValue();
+        }
+        if (type == byte.class) {
+            return number.byteValue();
+        }
+        if (type == float.class) {
+            return number.floatValue();
+        }
+        if (type == double.class) {
+            return number.doubleValue();
+        }
+        return value(type);
+    }
+
+    /**
+     * Returns a synthetic result set of {@value #ROWS} identical rows for
+     * given model class.
+     */
+    private static ResultSet results(final Class<?> type) {
+        final List<Field> fields = fields(type, Bind.class);
+        final String[] labels = new String[fields.size()];
+        final Object[] row = new Object[labels.length];
+        final Map<String, Integer> indices = new HashMap<>();
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = fields.get(i).getAnnotation(Bind.class).label();
+            row[i] = value(fields.get(i).getType());
+            indices.put(labels[i], i);
+            indices.put(labels[i].toUpperCase(), i);
+        }
+        final ResultSetMetaData metadata = (ResultSetMetaData)
+                Proxy.newProxyInstance(
+                        ResultSetMetaData.class.getClassLoader(),
+                        new Class<?>[]{ResultSetMetaData.class},
+                        (p, m, a) -> {
+                            switch (m.getName()) {
+                                case "getColumnCount":
+                                    return labels.length;
+                                case "getColumnLabel":
+                                case "getColumnName":
+                                    return labels[(Integer) a[0] - 1];
+                                default:
+                                    throw new UnsupportedOperationException(
+                                            m.getName());
+                            }
+                        });
+        final int[] cursor = new int[]{0};
+        final boolean[] wasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (p, m, a) -> {
+                    switch (m.getName()) {
+                        case "next":
+                            return ++cursor[0] <= ROWS;
+                        case "close":
+                            return null;
+                        case "getMetaData":
+                            return metadata;
+                        case "wasNull":
+                            return wasNull[0];
+                        case "hashCode":
+                            return System.identityHashCode(p);
+                        default:
+                            break;
+                    }
+                    final Integer index = a[0] instanceof String
+                                          ? indices.get((String) a[0])
+                                          : (Integer) a[0] - 1;
+                    if (index == null) {
+                        throw new SQLException("unknown label: " + a[0]);
+                    }
+                    final Object value = row[index];
+                    wasNull[0] = value == null;
+                    final Class<?> returned = m.getReturnType();
+                    if (!returned.isPrimitive()) {
+                        return value;
+                    }
+                    return primitive(value, returned);
+                });
+    }
+
+    private static DatabaseMetaData metadata() {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (p, m, a) -> {
+                    if (m.getReturnType() == ResultSet.class) {
+                        for (final Map.Entry<Class<?>, String> entry
+                             : METHODS.entrySet()) {
+                            if (entry.getValue().equals(m.getName())) {
+                                return results(entry.getKey());
+                            }
+                        }
+                        throw new SQLException("unexpected: " + m);
+                    }
+                    if ("getSearchStringEscape".equals(m.getName())) {
+                        return "\\";
+                    }
+                    if ("hashCode".equals(m.getName())) {
+                        return System.identityHashCode(p);
+                    }
+                    return value(m.getReturnType());
+                });
+    }
+
+    // -------------------------------------------------------------------------
+    private static com.sun.management.ThreadMXBean threads() {
+        final java.lang.management.ThreadMXBean bean
+                = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            throw new SkipException("no thread allocation counter");
+        }
+        final com.sun.management.ThreadMXBean threads
+                = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()
+            || !threads.isThreadAllocatedMemoryEnabled()) {
+            throw new SkipException("thread allocation counter disabled");
+        }
+        return threads;
+    }
+
+    private static Properties budgets() throws IOException {
+        final Properties budgets = new Properties();
+        try (InputStream stream = AllocationBudgetTest.class
+                .getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(stream, "no allocation-budgets.properties");
+            budgets.load(stream);
+        }
+        return budgets;
+    }
+
+    @DataProvider
+    public static Object[][] types() {
+        final List<Object[]> types = new ArrayList<>();
+        for (final Class<?> type : METHODS.keySet()) {
+            types.add(new Object[]{type});
+        }
+        return types.toArray(new Object[0][]);
+    }
+
+    // -------------------------------------------------------------------------
+    @Test(dataProvider = "types")
+    public void bytesPerRow(final Class<?> type) throws Exception {
+        final com.sun.management.ThreadMXBean threads = threads();
+        final long thread = Thread.currentThread().getId();
+        final String budget = budgets().getProperty(type.getSimpleName());
+        assertNotNull(budget, "no budget for " + type);
+        final MetadataContext context = new MetadataContext(metadata());
+        for (final Class<?> model : METHODS.keySet()) {
+            for (final Field field : fields(model, Invoke.class)) {
+                context.suppress(Utils.path(model, field));
+            }
+        }
+        final Crawl crawl = crawl(type);
+        for (int i = 0; i < WARMUPS; i++) {
+            crawl.crawl(context);
+        }
+        long allocated = 0L;
+        for (int i = 0; i < ROUNDS; i++) {
+            final long before = threads.getThreadAllocatedBytes(thread);
+            final List<?> bound = crawl.crawl(context);
+            allocated += threads.getThreadAllocatedBytes(thread) - before;
+            assertTrue(bound.size() == ROWS, "bound: " + bound.size());
+        }
+        final long perRow = allocated / ((long) ROWS * ROUNDS);
+        logger.info("{}: {} bytes per row; budget: {}", type.getSimpleName(),
+                    perRow, budget);
+        assertTrue(perRow <= Long.parseLong(budget.trim()),
+                   type.getSimpleName() + ": " + perRow + " bytes per row > "
+                   + budget);
+    }
+}
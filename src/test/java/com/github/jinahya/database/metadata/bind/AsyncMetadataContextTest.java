@@ -0,0 +1,233 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.reflect.InvocationTargetException;
+import static java.lang.reflect.Proxy.newProxyInstance;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import java.util.concurrent.Future;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.h2.jdbcx.JdbcDataSource;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link AsyncMetadataContext}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class AsyncMetadataContextTest {
+
+    @Test
+    public void overlap() throws Exception {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:asyncMetadataContext");
+        final ExecutorService executor = newFixedThreadPool(4);
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(
+                        "CREATE TABLE PARENT (ID INT PRIMARY KEY)");
+                statement.execute(
+                        "CREATE TABLE CHILD (ID INT PRIMARY KEY,"
+                        + " PARENT_ID INT REFERENCES PARENT (ID))");
+            }
+            final AsyncMetadataContext context
+                    = new AsyncMetadataContext(dataSource, executor) {
+                @Override
+                protected MetadataContext context(
+                        final DatabaseMetaData metadata) {
+                    return super.context(metadata).suppress("table/*");
+                }
+            };
+            final Future<List<Column>> columns
+                    = context.getColumns(null, null, "CHILD", null);
+            final Future<List<PrimaryKey>> primaryKeys
+                    = context.getPrimaryKeys(null, "PUBLIC", "CHILD");
+            final Future<List<ImportedKey>> importedKeys
+                    = context.getImportedKeys(null, "PUBLIC", "CHILD");
+            final Future<List<Table>> tables
+                    = context.getTables(null, "PUBLIC", null, null);
+            assertEquals(columns.get().size(), 2);
+            assertEquals(primaryKeys.get().size(), 1);
+            assertEquals(importedKeys.get().size(), 1);
+            assertEquals(tables.get().size(), 2);
+            for (final Table table : tables.get()) {
+                assertEquals(table.getColumns().size(), 0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void errorNeverWins() throws Exception {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:errorNeverWins");
+        final ExecutorService executor = newFixedThreadPool(2);
+        try {
+            final AsyncMetadataContext context
+                    = new AsyncMetadataContext(dataSource, executor) {
+                @Override
+                protected MetadataContext context(
+                        final DatabaseMetaData metadata) {
+                    throw new AssertionError("erroneous");
+                }
+            }.hedging(new HedgingPolicy());
+            try {
+                context.getTableTypes().get(5L, SECONDS);
+                fail("no error");
+            } catch (final ExecutionException ee) {
+                assertTrue(ee.getCause() instanceof AssertionError);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void hedgeStalledCall() throws Exception {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:hedgeStalledCall;DB_CLOSE_DELAY=-1");
+        final ExecutorService executor = newFixedThreadPool(4);
+        final AtomicBoolean stall = new AtomicBoolean();
+        final CountDownLatch release = new CountDownLatch(1);
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE T (ID INT PRIMARY KEY)");
+            }
+            final HedgingPolicy policy
+                    = new HedgingPolicy().samples(5).budget(0.5d);
+            final AsyncMetadataContext context
+                    = new AsyncMetadataContext(dataSource, executor) {
+                @Override
+                protected MetadataContext context(
+                        final DatabaseMetaData metadata) {
+                    return super.context((DatabaseMetaData) newProxyInstance(
+                            DatabaseMetaData.class.getClassLoader(),
+                            new Class<?>[]{DatabaseMetaData.class},
+                            (p, m, a) -> {
+                                if ("getIndexInfo".equals(m.getName())
+                                    && stall.getAndSet(false)) {
+                                    release.await(10L, SECONDS);
+                                }
+                                try {
+                                    return m.invoke(metadata, a);
+                                } catch (final InvocationTargetException ite) {
+                                    throw ite.getCause();
+                                }
+                            }));
+                }
+            }.hedging(policy);
+            for (int i = 0; i < 5; i++) {
+                assertEquals(context.getIndexInfo(null, "PUBLIC", "T", false,
+                                                  false).get().size(), 1);
+            }
+            assertEquals(policy.getHedgedCount(), 0L);
+            stall.set(true);
+            final Future<List<IndexInfo>> indices
+                    = context.getIndexInfo(null, "PUBLIC", "T", false, false);
+            assertEquals(indices.get(5L, SECONDS).size(), 1);
+            assertEquals(policy.getHedgedCount(), 1L);
+            assertEquals(policy.getWonCount(), 1L);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Asserts a hedge repeats invocation fields of bound elements while the
+     * losing attempt, cancelled without closing its connection underfoot,
+     * skips those not made yet.
+     *
+     * @throws Exception if any error occurs
+     */
+    @Test
+    public void hedgeSubtree() throws Exception {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:hedgeSubtree;DB_CLOSE_DELAY=-1");
+        final ExecutorService executor = newFixedThreadPool(4);
+        final AtomicBoolean stall = new AtomicBoolean();
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicInteger columns = new AtomicInteger();
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE T (ID INT PRIMARY KEY)");
+            }
+            final HedgingPolicy policy
+                    = new HedgingPolicy().samples(5).budget(0.5d);
+            final AsyncMetadataContext context
+                    = new AsyncMetadataContext(dataSource, executor) {
+                @Override
+                protected MetadataContext context(
+                        final DatabaseMetaData metadata) {
+                    return super.context((DatabaseMetaData) newProxyInstance(
+                            DatabaseMetaData.class.getClassLoader(),
+                            new Class<?>[]{DatabaseMetaData.class},
+                            (p, m, a) -> {
+                                if ("getTables".equals(m.getName())
+                                    && stall.getAndSet(false)) {
+                                    release.await(10L, SECONDS);
+                                    closed.set(metadata.getConnection()
+                                            .isClosed());
+                                }
+                                if ("getColumns".equals(m.getName())) {
+                                    columns.incrementAndGet();
+                                }
+                                try {
+                                    return m.invoke(metadata, a);
+                                } catch (final InvocationTargetException ite) {
+                                    throw ite.getCause();
+                                }
+                            }));
+                }
+            }.hedging(policy);
+            for (int i = 0; i < 5; i++) {
+                assertEquals(context.getTables(null, "PUBLIC", "T", null)
+                        .get().size(), 1);
+            }
+            columns.set(0);
+            stall.set(true);
+            final Future<List<Table>> tables
+                    = context.getTables(null, "PUBLIC", "T", null);
+            assertEquals(tables.get(5L, SECONDS).size(), 1);
+            assertEquals(tables.get().get(0).getColumns().size(), 1);
+            assertEquals(policy.getWonCount(), 1L);
+            release.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5L, SECONDS));
+            assertFalse(closed.get());
+            // called by the hedge only; skipped by the cancelled primary
+            assertEquals(columns.get(), 1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.NULL_VALUE;
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.UNHANDLED_LABEL;
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.UNKNOWN_LABEL;
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link BindDiagnostics}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class BindDiagnosticsTest {
+
+    @Test
+    public void counts() {
+        final BindDiagnostics diagnostics = new BindDiagnostics();
+        diagnostics.add(Column.class, "SCOPE_CATALOG", UNKNOWN_LABEL, 3L);
+        diagnostics.add(Column.class, "SCOPE_CATALOG", UNKNOWN_LABEL, 2L);
+        diagnostics.add(Column.class, "REMARKS", NULL_VALUE, 0L);
+        assertEquals(diagnostics.getCount(
+                Column.class, "SCOPE_CATALOG", UNKNOWN_LABEL), 5L);
+        assertEquals(diagnostics.getCount(
+                Column.class, "REMARKS", NULL_VALUE), 0L);
+        final String drained = diagnostics.drain();
+        assertTrue(drained.contains("SCOPE_CATALOG"));
+        assertTrue(drained.contains("records=5"));
+        assertNull(diagnostics.drain());
+        assertTrue(diagnostics.report().contains("records=5"));
+    }
+
+    @Test
+    public void drainKinds() {
+        final BindDiagnostics diagnostics = new BindDiagnostics();
+        diagnostics.add(Column.class, "SCOPE_CATALOG", UNKNOWN_LABEL, 1L);
+        diagnostics.add(Column.class, "VENDOR_EXTRA", UNHANDLED_LABEL, 1L);
+        final String warned = diagnostics.drain(EnumSet.of(UNKNOWN_LABEL));
+        assertTrue(warned.contains("SCOPE_CATALOG"));
+        assertFalse(warned.contains("VENDOR_EXTRA"));
+        assertNull(diagnostics.drain(EnumSet.of(UNKNOWN_LABEL)));
+        assertTrue(diagnostics.drain().contains("VENDOR_EXTRA"));
+    }
+
+    @Test
+    public void crawl() throws SQLException {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:bindDiagnostics")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE DIAGNOSTICS (ID INT)");
+            }
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData())
+                            .suppress("table/*");
+            context.getTables(null, null, "DIAGNOSTICS", null);
+            context.getTables(null, null, "DIAGNOSTICS", null);
+            // H2 returns an extra SQL column for tables
+            assertEquals(context.getDiagnostics().getCount(
+                    Table.class, "SQL", UNHANDLED_LABEL), 2L);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link BindPredicate}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class BindPredicateTest {
+
+    @Test
+    public void rejectedTablesAreNotCrawled() throws SQLException {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:bindPredicate")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE ORDERS (ID INT)");
+                statement.execute("CREATE TABLE ORDERS_BAK_1 (ID INT)");
+            }
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData());
+            final int[] columns = new int[1];
+            context.filter(Schema.class,
+                           s -> !"INFORMATION_SCHEMA".equals(s.getTableSchem()))
+                    .filter(Table.class,
+                            t -> !t.getTableName().matches(".*_BAK_.*"))
+                    .filter(Column.class, c -> ++columns[0] > 0);
+            final List<Schema> schemas = context.getSchemas(null, null);
+            assertFalse(schemas.isEmpty());
+            for (final Schema schema : schemas) {
+                assertFalse("INFORMATION_SCHEMA".equals(
+                        schema.getTableSchem()));
+            }
+            assertEquals(columns[0], 1);
+            columns[0] = 0;
+            final List<Table> tables
+                    = context.getTables(null, null, "ORDERS%", null);
+            assertEquals(tables.size(), 1);
+            assertEquals(tables.get(0).getTableName(), "ORDERS");
+            assertEquals(columns[0], 1);
+        }
+    }
+}
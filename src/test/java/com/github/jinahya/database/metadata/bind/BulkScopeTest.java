@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.reflect.Field;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link BulkScope}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class BulkScopeTest {
+
+    private static List<Field> fields() throws ReflectiveOperationException {
+        final Field tableSchem = Table.class.getDeclaredField("tableSchem");
+        final Field tableName = Table.class.getDeclaredField("tableName");
+        tableSchem.setAccessible(true);
+        tableName.setAccessible(true);
+        return asList(tableSchem, tableName);
+    }
+
+    private static Object table(final String tableName) {
+        final Table table = new Table();
+        table.setTableSchem("S");
+        table.setTableName(tableName);
+        return table;
+    }
+
+    @Test
+    public void serve() throws ReflectiveOperationException {
+        final List<Field> fields = fields();
+        final BulkScope scope = new BulkScope(emptyList());
+        assertFalse(scope.grouped());
+        assertNull(scope.serve(asList("S", "T1")));
+        // T_1 matches T01 as well
+        scope.called(asList("S", "T_1"), 1L, fields,
+                     asList(table("T_1"), table("T01")));
+        assertEquals(scope.spent(), 1L);
+        assertTrue(scope.group(fields, asList(
+                table("T_1"), table("T01"), table("T2"))));
+        assertTrue(scope.grouped());
+        assertEquals(scope.serve(asList("S", "T01")).size(), 1);
+        assertNull(scope.serve(asList("S", "T01")));
+        assertTrue(scope.serve(asList("S", "T3")).isEmpty());
+    }
+
+    @Test
+    public void inconsistent() throws ReflectiveOperationException {
+        final List<Field> fields = fields();
+        final BulkScope scope = new BulkScope(emptyList());
+        scope.called(asList("S", "T1"), 1L, fields, asList(table("T1")));
+        // e.g. drivers taking null for no tables
+        assertFalse(scope.group(fields, asList(table("T2"))));
+        assertFalse(scope.grouped());
+        assertNull(scope.serve(asList("S", "T2")));
+    }
+
+    @Test
+    public void requested() {
+        final BulkScope scope = new BulkScope(emptyList());
+        assertEquals(scope.requested(), 1);
+        assertEquals(scope.requested(), 2);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link Coalescer}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CoalescerTest {
+
+    private static final String CONNECTION_URL = "jdbc:h2:mem:coalescer";
+
+    private static DatabaseMetaData slow(final DatabaseMetaData metadata,
+                                         final AtomicInteger calls) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (proxy, method, args) -> {
+                    if ("getColumns".equals(method.getName())) {
+                        calls.incrementAndGet();
+                        Thread.sleep(500L);
+                    }
+                    try {
+                        return method.invoke(metadata, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    @Test
+    public void coalesce() throws Exception {
+        final int count = 4;
+        final Coalescer coalescer = new Coalescer();
+        final AtomicInteger calls = new AtomicInteger();
+        final CyclicBarrier barrier = new CyclicBarrier(count);
+        final ExecutorService executor = newFixedThreadPool(count);
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE COALESCER (ID INT, NAME CHAR)");
+            }
+            final List<Future<List<Table>>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection c = getConnection(CONNECTION_URL)) {
+                        final MetadataContext context = new MetadataContext(
+                                slow(c.getMetaData(), calls))
+                                .fetchPlan(FetchPlan.of("table/columns",
+                                                        "column/*"))
+                                .coalescer(coalescer);
+                        barrier.await();
+                        return context.getTables(
+                                null, null, "COALESCER", null);
+                    }
+                }));
+            }
+            for (final Future<List<Table>> future : futures) {
+                final List<Table> tables = future.get();
+                assertEquals(tables.size(), 1);
+                assertEquals(tables.get(0).getColumns().size(), 2);
+            }
+            assertEquals(calls.get(), 1);
+            assertEquals(coalescer.getCoalescedCount(), count - 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Asserts elements holding deferred invocation fields are not shared;
+     * each context calls by itself and loads its own deferred fields.
+     *
+     * @throws Exception if any error occurs
+     */
+    @Test
+    public void deferred() throws Exception {
+        final int count = 4;
+        final Coalescer coalescer = new Coalescer();
+        final AtomicInteger calls = new AtomicInteger();
+        final CyclicBarrier barrier = new CyclicBarrier(count);
+        final ExecutorService executor = newFixedThreadPool(count);
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE DEFERRED (ID INT)");
+            }
+            final List<Future<Column>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futures.add(executor.submit(() -> {
+                    try (Connection c = getConnection(CONNECTION_URL)) {
+                        final MetadataContext context = new MetadataContext(
+                                slow(c.getMetaData(), calls))
+                                .fetchPlan(FetchPlan.of("table/columns"))
+                                .coalescer(coalescer);
+                        barrier.await();
+                        final List<Table> tables = context.getTables(
+                                null, null, "DEFERRED", null);
+                        assertEquals(tables.size(), 1);
+                        final Column column = tables.get(0).getColumns().get(0);
+                        // loaded, while connected, through this context
+                        assertNotNull(column.getColumnPrivileges());
+                        return column;
+                    }
+                }));
+            }
+            final List<Column> columns = new ArrayList<>();
+            for (final Future<Column> future : futures) {
+                final Column column = future.get();
+                for (final Column other : columns) {
+                    assertNotSame(column, other);
+                }
+                columns.add(column);
+            }
+            // deferred loads, sharing nothing deferred, may still coalesce
+            assertEquals(calls.get(), count);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link Completeness}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CompletenessTest {
+
+    private static final String CONNECTION_URL = "jdbc:h2:mem:completeness";
+
+    private static void create(final Connection connection)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CREATE TABLE IF NOT EXISTS COMPLETENESS (ID INT)");
+        }
+    }
+
+    @Test
+    public void complete() throws SQLException {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            create(connection);
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData())
+                            .deadline(1L, HOURS);
+            final Table table = context.getTables(
+                    null, null, "COMPLETENESS", null).get(0);
+            assertEquals(table.getCompleteness(), Completeness.COMPLETE);
+            assertEquals(table.getColumns().size(), 1);
+        }
+    }
+
+    @Test
+    public void expired() throws SQLException {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            create(connection);
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData())
+                            .deadline(1L, NANOSECONDS);
+            final List<Table> tables
+                    = context.getTables(null, null, "COMPLETENESS", null);
+            assertEquals(tables.size(), 1);
+            final Table table = tables.get(0);
+            assertEquals(table.getCompleteness(), Completeness.NOT_FETCHED);
+            // continues lazily
+            context.deadline(0L, HOURS);
+            assertEquals(table.getColumns().size(), 1);
+        }
+    }
+
+    @Test
+    public void unbound() {
+        assertNull(new Table().getCompleteness());
+    }
+}
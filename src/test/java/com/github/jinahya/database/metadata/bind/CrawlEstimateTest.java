@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import static java.lang.invoke.MethodHandles.lookup;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link CrawlEstimate}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CrawlEstimateTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    private static DatabaseMetaData counting(
+            final DatabaseMetaData metadata, final Map<String, Long> calls) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == ResultSet.class) {
+                        calls.merge(method.getName(), 1L, Long::sum);
+                    }
+                    try {
+                        return method.invoke(metadata, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    @Test
+    public void h2() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:crawlEstimate")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SCHEMA ESTIMATED");
+                for (int i = 1; i <= 3; i++) {
+                    statement.execute(
+                            "CREATE TABLE ESTIMATED.T" + i
+                            + " (ID INT PRIMARY KEY, NAME VARCHAR(8))");
+                    statement.execute(
+                            "CREATE INDEX ESTIMATED.I" + i
+                            + " ON ESTIMATED.T" + i + " (NAME)");
+                }
+            }
+            final Map<String, Long> calls = new HashMap<>();
+            final Map<Class<?>, Long> bound = new HashMap<>();
+            final MetadataContext context = new MetadataContext(
+                    counting(connection.getMetaData(), calls))
+                    .suppress("column/isGeneratedcolumn",
+                              "table/pseudoColumns")
+                    .listener(new BindListener() {
+                        @Override
+                        void started(final Object instance) {
+                            bound.merge(instance.getClass(), 1L, Long::sum);
+                        }
+                    });
+            final CrawlEstimate estimate = context.estimate(100); // all tables
+            logger.debug("estimate:\n{}", estimate);
+            calls.clear();
+            getCatalogs(context, true);
+            for (final String method : estimate.getMethods()) {
+                assertEquals(estimate.getCalls(method),
+                             calls.getOrDefault(method, 0L).longValue(),
+                             method);
+            }
+            assertEquals(estimate.getTotalCalls(),
+                         calls.values().stream().mapToLong(v -> v).sum());
+            assertFalse(estimate.isSampled("getTables"));
+            assertEquals(estimate.getRows("getTables"),
+                         bound.get(Table.class).longValue());
+            assertEquals(estimate.getRows("getColumns"),
+                         bound.get(Column.class).longValue());
+            assertTrue(estimate.isSampled("getIndexInfo"));
+            assertEquals(estimate.getRows("getIndexInfo"),
+                         bound.get(IndexInfo.class).longValue());
+        }
+    }
+
+    @Test
+    public void suppressed() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:crawlEstimateSuppressed")) {
+            final CrawlEstimate estimate
+                    = new MetadataContext(connection.getMetaData())
+                            .suppress("schema/tables")
+                            .estimate(1);
+            assertEquals(estimate.getCalls("getTables"), 0L);
+            assertEquals(estimate.getCalls("getColumns"), 0L);
+            assertTrue(estimate.getCalls("getSchemas") > 0L);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link CrawlJournal}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CrawlJournalTest {
+
+    private static DatabaseMetaData counting(final DatabaseMetaData metadata,
+                                             final AtomicInteger calls) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (proxy, method, args) -> {
+                    if ("getColumns".equals(method.getName())) {
+                        calls.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(metadata, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    private static MetadataContext context(final DatabaseMetaData metadata) {
+        return new MetadataContext(metadata)
+                .suppress("table/bestRowIdentifiers", "table/indexInfo",
+                          "column/*");
+    }
+
+    @Test
+    public void resume() throws Exception {
+        final File file = File.createTempFile("crawl", ".journal");
+        file.deleteOnExit();
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:crawlJournal")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE JOURNAL_A (ID INT)");
+                statement.execute("CREATE TABLE JOURNAL_B (ID INT, NAME CHAR)");
+            }
+            final List<Table> expected = context(connection.getMetaData())
+                    .getTables(null, "PUBLIC", "JOURNAL%", null);
+            // interrupted while crawling JOURNAL_B
+            try (CrawlJournal journal = new CrawlJournal(file)) {
+                context(connection.getMetaData()).journal(journal)
+                        .filter(Table.class, t -> {
+                            if ("JOURNAL_B".equals(t.getTableName())) {
+                                throw new IllegalStateException("dropped");
+                            }
+                            return true;
+                        })
+                        .getTables(null, "PUBLIC", "JOURNAL%", null);
+                fail("not interrupted");
+            } catch (final IllegalStateException ise) {
+                // expected
+            }
+            final AtomicInteger calls = new AtomicInteger();
+            final List<Table> actual;
+            try (CrawlJournal journal = new CrawlJournal(file)) {
+                assertEquals(journal.size(), 1);
+                actual = context(counting(connection.getMetaData(), calls))
+                        .journal(journal)
+                        .getTables(null, "PUBLIC", "JOURNAL%", null);
+            }
+            assertEquals(calls.get(), 1);
+            assertEquals(actual.size(), expected.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(actual.get(i).getTableName(),
+                             expected.get(i).getTableName());
+                assertEquals(actual.get(i).getColumns().size(),
+                             expected.get(i).getColumns().size());
+            }
+            try (CrawlJournal journal = new CrawlJournal(file)) {
+                assertEquals(journal.size(), 2);
+            }
+        }
+    }
+
+    @Test
+    public void referenced() throws Exception {
+        final File file = File.createTempFile("crawl", ".journal");
+        file.deleteOnExit();
+        final Table table = new Table();
+        table.setTableCat("C");
+        table.setTableSchem("S");
+        table.setTableName("T");
+        for (int i = 0; i < 100; i++) {
+            final Column column = new Column();
+            column.setColumnName("COLUMN_" + i);
+            table.getColumns().add(column);
+        }
+        final Schema schema = new Schema();
+        schema.setTableCatalog("C");
+        schema.setTableSchem("S");
+        schema.getTables().add(table);
+        final long tableBytes;
+        try (CrawlJournal journal = new CrawlJournal(file)) {
+            journal.record(table);
+            tableBytes = file.length();
+            journal.record(schema);
+        }
+        // the table is written once, not again with the schema
+        assertTrue(file.length() - tableBytes < tableBytes / 2,
+                   "schema: " + (file.length() - tableBytes) + " bytes");
+        try (CrawlJournal journal = new CrawlJournal(file)) {
+            assertEquals(journal.size(), 2);
+            final Schema restored = journal.restore(Schema.class, schema);
+            assertSame(restored.getTables().get(0),
+                       journal.restore(Table.class, table));
+            assertEquals(restored.getTables().get(0).getColumns().size(), 100);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link CrawlMonitor}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CrawlMonitorTest {
+
+    private interface Crawl {
+
+        void crawl(MetadataContext context) throws SQLException;
+    }
+
+    private static void crawl(final String database, final Crawl crawl)
+            throws SQLException {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:" + database)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(
+                        "CREATE TABLE MONITORED (ID INT PRIMARY KEY)");
+            }
+            crawl.crawl(new MetadataContext(connection.getMetaData()));
+        }
+    }
+
+    @Test
+    public void registered() throws Exception {
+        final CrawlMonitor monitor = new CrawlMonitor().register("test");
+        try {
+            final MBeanServer server
+                    = ManagementFactory.getPlatformMBeanServer();
+            assertTrue(server.isRegistered(monitor.getObjectName()));
+            final CrawlMXBean proxy = JMX.newMXBeanProxy(
+                    server, monitor.getObjectName(), CrawlMXBean.class);
+            crawl("crawlMonitorRegistered", c -> {
+                c.monitor(monitor)
+                        .fetchPlan(FetchPlan.of("table/columns"))
+                        .getTables(null, "PUBLIC", "MONITORED", null);
+            });
+            assertEquals(proxy.getCallCount(), 2L); // tables and columns
+            assertEquals(proxy.getInflightCallCount(), 0);
+            assertEquals(proxy.getRowCount(), 2L); // a table and a column
+            assertTrue(proxy.getRowsPerSecond() > 0.0d);
+            assertEquals(proxy.getPendingInvocationCount(), 0L);
+            assertEquals(proxy.getCurrentSchema(), "PUBLIC");
+            assertEquals(proxy.getCurrentTable(), "MONITORED");
+            assertFalse(proxy.isCancelled());
+        } finally {
+            monitor.unregister();
+        }
+        assertNull(monitor.getObjectName());
+    }
+
+    @Test
+    public void cancelled() throws Exception {
+        final CrawlMonitor monitor = new CrawlMonitor();
+        monitor.cancel();
+        crawl("crawlMonitorCancelled", c -> {
+            final List<Table> tables = c.monitor(monitor)
+                    .getTables(null, "PUBLIC", "MONITORED", null);
+            assertEquals(tables.size(), 1);
+            assertEquals(tables.get(0).getCompleteness(),
+                         Completeness.NOT_FETCHED);
+        });
+        assertEquals(monitor.getCallCount(), 1L); // tables only
+    }
+
+    @Test
+    public void flushed() throws Exception {
+        final CrawlMonitor monitor = new CrawlMonitor();
+        crawl("crawlMonitorFlushed", c -> {
+            c.monitor(monitor);
+            c.getTables(null, "PUBLIC", "MONITORED", null);
+            monitor.flushCaches();
+            assertEquals(c.getTables(null, "PUBLIC", "MONITORED", null)
+                    .size(), 1);
+        });
+        assertEquals(monitor.getFlushCount(), 1);
+    }
+
+    @Test
+    public void inflight() throws Exception {
+        final CrawlMonitor monitor = new CrawlMonitor();
+        final List<Integer> observed = new ArrayList<>();
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:crawlMonitorInflight")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(
+                        "CREATE TABLE MONITORED (ID INT PRIMARY KEY)");
+            }
+            final DatabaseMetaData metadata = connection.getMetaData();
+            final DatabaseMetaData proxy = (DatabaseMetaData) Proxy
+                    .newProxyInstance(
+                            getClass().getClassLoader(),
+                            new Class<?>[]{DatabaseMetaData.class},
+                            (p, method, args) -> {
+                                if (method.getName().matches(
+                                        "getTables|getColumns")) {
+                                    observed.add(
+                                            monitor.getInflightCallCount());
+                                }
+                                try {
+                                    return method.invoke(metadata, args);
+                                } catch (final InvocationTargetException ite) {
+                                    throw ite.getCause();
+                                }
+                            });
+            new MetadataContext(proxy)
+                    .monitor(monitor)
+                    .fetchPlan(FetchPlan.of("table/columns"))
+                    .getTables(null, "PUBLIC", "MONITORED", null);
+        }
+        assertEquals(observed.size(), 2); // tables and columns
+        for (final Integer inflight : observed) {
+            assertEquals(inflight.intValue(), 1);
+        }
+        assertEquals(monitor.getInflightCallCount(), 0);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import com.github.jinahya.database.metadata.bind.CrawlPublisher.Subscriber;
+import com.github.jinahya.database.metadata.bind.CrawlPublisher.Subscription;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import org.h2.jdbcx.JdbcDataSource;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link CrawlPublisher}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CrawlPublisherTest {
+
+    private static class Collector implements Subscriber<CrawlEvent> {
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+        }
+
+        @Override
+        public void onNext(final CrawlEvent item) {
+            synchronized (events) {
+                events.add(item);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+
+        List<CrawlEvent> events() {
+            synchronized (events) {
+                return new ArrayList<>(events);
+            }
+        }
+
+        final CountDownLatch subscribed = new CountDownLatch(1);
+
+        final CountDownLatch terminated = new CountDownLatch(1);
+
+        final List<CrawlEvent> events = new ArrayList<>();
+
+        volatile Subscription subscription;
+
+        volatile Throwable error;
+    }
+
+    private static CrawlPublisher publisher(final JdbcDataSource dataSource,
+                                            final ExecutorService executor) {
+        return new CrawlPublisher(dataSource, executor) {
+            @Override
+            protected MetadataContext context(
+                    final DatabaseMetaData metadata) {
+                return super.context(metadata)
+                        .filter(Schema.class,
+                                s -> "PUBLIC".equals(s.getTableSchem()))
+                        .fetchPlan(FetchPlan.of("catalog/schemas",
+                                                "schema/tables",
+                                                "table/columns"));
+            }
+        };
+    }
+
+    // -------------------------------------------------------------------------
+    @Test
+    public void unbounded() throws Exception {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:crawlPublisherUnbounded");
+        final ExecutorService executor = newSingleThreadExecutor();
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE CRAWL (ID INT, NAME CHAR)");
+            }
+            final Collector collector = new Collector();
+            publisher(dataSource, executor).subscribe(collector);
+            assertTrue(collector.subscribed.await(10L, SECONDS));
+            collector.subscription.request(Long.MAX_VALUE);
+            assertTrue(collector.terminated.await(10L, SECONDS));
+            assertNull(collector.error);
+            final List<CrawlEvent> events = collector.events();
+            assertEquals(events.size(), 5);
+            assertEquals(events.get(0).getType(),
+                         CrawlEvent.Type.SCHEMA_STARTED);
+            assertEquals(events.get(1).getType(), CrawlEvent.Type.TABLE_BOUND);
+            assertEquals(events.get(2).getType(),
+                         CrawlEvent.Type.COLUMN_BOUND);
+            assertEquals(events.get(3).getType(),
+                         CrawlEvent.Type.COLUMN_BOUND);
+            assertEquals(events.get(4).getType(),
+                         CrawlEvent.Type.SCHEMA_FINISHED);
+            final Schema schema = (Schema) events.get(4).getInstance();
+            assertEquals(schema.getTables().size(), 0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void backpressure() throws Exception {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:crawlPublisherBackpressure");
+        final ExecutorService executor = newSingleThreadExecutor();
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE CRAWL (ID INT, NAME CHAR)");
+            }
+            final Collector collector = new Collector();
+            publisher(dataSource, executor).subscribe(collector);
+            assertTrue(collector.subscribed.await(10L, SECONDS));
+            collector.subscription.request(2L);
+            assertFalse(collector.terminated.await(500L, MILLISECONDS));
+            assertEquals(collector.events().size(), 2);
+            collector.subscription.cancel();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10L, SECONDS));
+            assertEquals(collector.events().size(), 2);
+            assertEquals(collector.terminated.getCount(), 1L);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
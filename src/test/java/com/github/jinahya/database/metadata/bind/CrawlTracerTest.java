@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link CrawlTracer}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class CrawlTracerTest {
+
+    private static final Pattern EVENT = Pattern.compile(
+            "\\{\"name\":\"([^\"]*)\",\"cat\":\"(\\w+)\",\"ph\":\"X\","
+            + "\"ts\":(-?\\d+\\.\\d{3}),\"dur\":(\\d+\\.\\d{3}),"
+            + "\"pid\":1,\"tid\":\\d+\\}");
+
+    private static String trace(final CrawlTracer tracer) throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:crawlTracer")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(
+                        "CREATE TABLE TRACED (ID INT PRIMARY KEY, NAME INT)");
+            }
+            new MetadataContext(connection.getMetaData())
+                    .tracer(tracer)
+                    .fetchPlan(FetchPlan.of("table/columns"))
+                    .getTables(null, "PUBLIC", "TRACED", null);
+        }
+        final StringWriter writer = new StringWriter();
+        tracer.write(writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void nested() throws Exception {
+        final String trace = trace(new CrawlTracer());
+        assertTrue(trace.startsWith("{\"displayTimeUnit\":\"ms\","
+                                    + "\"traceEvents\":["));
+        final Map<String, double[]> spans = new HashMap<>();
+        final Matcher matcher = EVENT.matcher(trace);
+        while (matcher.find()) {
+            final double ts = Double.parseDouble(matcher.group(3));
+            spans.put(matcher.group(1), new double[]{
+                ts, ts + Double.parseDouble(matcher.group(4))});
+        }
+        final double[] table = spans.get("Table TRACED");
+        final double[] invoke = spans.get("table/columns");
+        final double[] call = spans.get("getColumns");
+        final double[] column = spans.get("Column NAME");
+        assertNotNull(table);
+        assertNotNull(invoke);
+        assertNotNull(call);
+        assertNotNull(column);
+        assertTrue(table[0] <= invoke[0] && invoke[1] <= table[1]);
+        assertTrue(invoke[0] <= call[0] && call[1] <= invoke[1]);
+        assertTrue(call[0] <= column[0] && column[1] <= call[1]);
+    }
+
+    @Test
+    public void overwritten() throws Exception {
+        final CrawlTracer tracer = new CrawlTracer(2);
+        final String trace = trace(tracer);
+        assertEquals(tracer.size(), 2);
+        assertTrue(tracer.getDropped() > 0L);
+        int count = 0;
+        for (final Matcher matcher = EVENT.matcher(trace); matcher.find();) {
+            count++;
+        }
+        assertEquals(count, 2);
+        tracer.clear();
+        assertEquals(tracer.size(), 0);
+        assertEquals(tracer.getDropped(), 0L);
+    }
+
+    @Test
+    public void retainsNoInstances() throws Exception {
+        final CrawlTracer tracer = new CrawlTracer();
+        trace(tracer);
+        final Field field = CrawlTracer.class.getDeclaredField("subjects");
+        field.setAccessible(true);
+        int names = 0;
+        for (final Object subject : (Object[]) field.get(tracer)) {
+            if (subject == null) {
+                continue;
+            }
+            assertFalse(subject instanceof Table || subject instanceof Column,
+                        "retained: " + subject);
+            if (!(subject instanceof Method || subject instanceof Field)) {
+                names++;
+            }
+        }
+        assertTrue(names > 0);
+    }
+}
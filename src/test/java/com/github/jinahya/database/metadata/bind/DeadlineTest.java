@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link Deadline}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class DeadlineTest {
+
+    @Test
+    public void none() {
+        final Deadline deadline = new Deadline();
+        assertFalse(deadline.expired(false));
+        assertEquals(deadline.skipped(), 0L);
+        assertEquals(deadline.completeness(0L, true), Completeness.COMPLETE);
+    }
+
+    @Test
+    public void expired() {
+        final Deadline deadline = new Deadline();
+        deadline.set(1L);
+        final long skipped = deadline.skipped();
+        assertTrue(deadline.expired(false));
+        assertTrue(deadline.expired(false));
+        assertEquals(deadline.skipped(), skipped + 2L);
+        assertEquals(deadline.completeness(skipped, true),
+                     Completeness.PARTIAL);
+        assertEquals(deadline.completeness(skipped, false),
+                     Completeness.NOT_FETCHED);
+    }
+
+    @Test
+    public void cancelled() {
+        final Deadline deadline = new Deadline();
+        deadline.set(MINUTES.toNanos(1L));
+        assertFalse(deadline.expired(false));
+        assertTrue(deadline.expired(true));
+        assertEquals(deadline.skipped(), 1L);
+    }
+}
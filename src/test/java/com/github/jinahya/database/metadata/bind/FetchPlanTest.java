@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.FAILED_LOAD;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link FetchPlan}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class FetchPlanTest {
+
+    private static final String CONNECTION_URL = "jdbc:h2:mem:fetchPlan";
+
+    private static void create(final Connection connection)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CREATE TABLE FETCH_PLAN (ID INT PRIMARY KEY, NAME CHAR)");
+        }
+    }
+
+    /**
+     * Returns a proxy of given metadata which counts calls of
+     * {@code getColumns} and fails as many of them as {@code failing}.
+     */
+    private static DatabaseMetaData columns(final DatabaseMetaData metadata,
+                                            final AtomicInteger calls,
+                                            final AtomicInteger failing) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == ResultSet.class
+                        && "getColumns".equals(method.getName())) {
+                        calls.incrementAndGet();
+                        if (failing.getAndDecrement() > 0) {
+                            throw new SQLException("failing");
+                        }
+                    }
+                    try {
+                        return method.invoke(metadata, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Returns a proxy of given metadata which counts calls by method names
+     * and, if {@code schemaless}, returns no schemas.
+     */
+    private static DatabaseMetaData counting(final DatabaseMetaData metadata,
+                                             final Map<String, Integer> calls,
+                                             final boolean schemaless) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == ResultSet.class) {
+                        calls.merge(method.getName(), 1, Integer::sum);
+                    }
+                    if (schemaless && "getSchemas".equals(method.getName())) {
+                        return metadata.getSchemas(null, "NO_SUCH_SCHEMA");
+                    }
+                    try {
+                        return method.invoke(metadata, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    // -------------------------------------------------------------------------
+    @Test
+    public void lazy() throws SQLException {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            create(connection);
+            final AtomicInteger calls = new AtomicInteger();
+            final MetadataContext context = new MetadataContext(
+                    columns(connection.getMetaData(), calls,
+                            new AtomicInteger()))
+                    .fetchPlan(FetchPlan.of("table/primaryKeys"));
+            final List<Table> tables
+                    = context.getTables(null, null, "FETCH_PLAN", null);
+            assertEquals(tables.size(), 1);
+            final Table table = tables.get(0);
+            assertNotNull(table.deferred);
+            assertEquals(calls.get(), 0); // not fetched eagerly
+            assertEquals(table.getPrimaryKeys().size(), 1);
+            assertEquals(table.getColumns().size(), 2);
+            assertEquals(calls.get(), 1); // fetched on the first access
+            assertEquals(table.getColumns().size(), 2);
+            assertEquals(calls.get(), 1);
+        }
+    }
+
+    @Test
+    public void retried() throws SQLException {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            create(connection);
+            final AtomicInteger calls = new AtomicInteger();
+            final MetadataContext context = new MetadataContext(
+                    columns(connection.getMetaData(), calls,
+                            new AtomicInteger(1)))
+                    .fetchPlan(FetchPlan.of("table/primaryKeys"));
+            final Table table
+                    = context.getTables(null, null, "FETCH_PLAN", null).get(0);
+            assertEquals(calls.get(), 0);
+            assertEquals(table.getColumns().size(), 0); // failed
+            assertEquals(calls.get(), 1);
+            assertEquals(context.getDiagnostics().getCount(
+                    Table.class, "columns", FAILED_LOAD), 1L);
+            assertEquals(table.getColumns().size(), 2); // retried
+            assertEquals(calls.get(), 2);
+            assertEquals(context.getDiagnostics().getCount(
+                    Table.class, "columns", FAILED_LOAD), 1L);
+        }
+    }
+
+    @Test
+    public void deferredSchemas() throws SQLException {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            create(connection);
+            final Map<String, Integer> calls = new HashMap<>();
+            final MetadataContext context = new MetadataContext(
+                    counting(connection.getMetaData(), calls, false))
+                    .fetchPlan(FetchPlan.of("table/columns"));
+            final List<Catalog> catalogs
+                    = MetadataContext.getCatalogs(context, true);
+            assertNull(calls.get("getSchemas")); // not probed for emptiness
+            assertFalse(catalogs.get(0).getSchemas().isEmpty());
+            assertEquals(calls.get("getSchemas"), Integer.valueOf(1));
+        }
+    }
+
+    @Test
+    public void deferredVirtualSchema() throws SQLException {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            create(connection);
+            final Map<String, Integer> calls = new HashMap<>();
+            final MetadataContext context = new MetadataContext(
+                    counting(connection.getMetaData(), calls, true))
+                    .fetchPlan(FetchPlan.of("catalog/schemas"));
+            final List<Catalog> catalogs
+                    = MetadataContext.getCatalogs(context, true);
+            final Schema schema = catalogs.get(0).getSchemas().get(0);
+            assertEquals(schema.virtual, Boolean.TRUE);
+            assertNull(calls.get("getTables"));
+            assertNotNull(schema.deferred);
+            schema.getTables();
+            assertEquals(calls.get("getTables"), Integer.valueOf(1));
+        }
+    }
+
+    @Test
+    public void depth() throws SQLException {
+        try (Connection connection = getConnection(CONNECTION_URL)) {
+            create(connection);
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData())
+                            .fetchPlan(FetchPlan.of().depth(1));
+            final Table table
+                    = context.getTables(null, null, "FETCH_PLAN", null).get(0);
+            assertNull(table.deferred);
+            assertEquals(table.getColumns().size(), 2);
+            for (final Column column : table.getColumns()) {
+                assertNotNull(column.deferred);
+            }
+        }
+    }
+}
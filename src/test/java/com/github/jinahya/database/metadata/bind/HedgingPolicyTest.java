@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static com.github.jinahya.database.metadata.bind.HedgingPolicy.shape;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link HedgingPolicy}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class HedgingPolicyTest {
+
+    @Test
+    public void shapes() {
+        assertEquals(shape("getTables", null, "S", "T01", null),
+                     "getTables(*,?,?,*)");
+        assertEquals(shape("getIndexInfo", null, "S", "T", false, true),
+                     "getIndexInfo(*,?,?,false,true)");
+        assertNotEquals(shape("getTables", null, "S", "T01", null),
+                        shape("getTables", null, "S", "%", null));
+        assertEquals(shape("getTableTypes"), "getTableTypes()");
+    }
+
+    @Test
+    public void delayPerShape() {
+        final HedgingPolicy policy = new HedgingPolicy().samples(2);
+        final String selective = shape("getTables", null, "S", "T01", null);
+        final String full = shape("getTables", null, "S", null, null);
+        policy.sample(selective, 10L);
+        policy.sample(selective, 20L);
+        policy.sample(full, 1000L);
+        assertEquals(policy.delay(selective), 20L);
+        assertEquals(policy.delay(full), -1L);
+    }
+
+    @Test
+    public void budget() {
+        final HedgingPolicy policy = new HedgingPolicy().budget(0.1d);
+        for (int i = 0; i < 9; i++) {
+            policy.called();
+        }
+        assertFalse(policy.hedge()); // 1 > 0.9
+        policy.called();
+        assertTrue(policy.hedge());
+        assertFalse(policy.hedge());
+        assertEquals(policy.getHedgedCount(), 1L);
+    }
+}
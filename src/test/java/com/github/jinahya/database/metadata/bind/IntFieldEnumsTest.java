@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link IntFieldEnums}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class IntFieldEnumsTest {
+
+    private static <E extends Enum<E> & IntFieldEnum<E>> E firstOf(
+            final Class<E> enumType, final int rawValue) {
+        for (final E constant : enumType.getEnumConstants()) {
+            if (constant.getRawValue() == rawValue) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    private static <E extends Enum<E> & IntFieldEnum<E>> void roundTrip(
+            final Class<E> enumType) {
+        for (final E constant : enumType.getEnumConstants()) {
+            final E found
+                    = IntFieldEnums.valueOf(enumType, constant.getRawValue());
+            assertEquals(found.getRawValue(), constant.getRawValue());
+            // the first declared one wins for duplicate raw values
+            assertSame(found, firstOf(enumType, constant.getRawValue()));
+        }
+        assertNull(IntFieldEnums.lookup(enumType, Integer.MIN_VALUE));
+        assertNull(IntFieldEnums.lookup(enumType, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void roundTrip() {
+        roundTrip(Attribute.Nullable.class);
+        roundTrip(BestRowIdentifier.PseudoColumn.class);
+        roundTrip(BestRowIdentifier.Scope.class);
+        roundTrip(Column.Nullable.class);
+        roundTrip(FunctionColumn.ColumnType.class);
+        roundTrip(FunctionColumn.Nullable.class);
+        roundTrip(ImportedKey.Deferrability.class);
+        roundTrip(ImportedKey.Rule.class);
+        roundTrip(ProcedureColumn.ColumnType.class);
+        roundTrip(TypeInfo.Nullable.class);
+        roundTrip(VersionColumn.PseudoColumn.class);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void valueOfUnknown() {
+        Column.Nullable.valueOf(-1);
+    }
+
+    @Test
+    public void accessor() {
+        final Column column = new Column();
+        column.setNullable(Column.Nullable.COLUMN_NULLABLE.getRawValue());
+        assertEquals(column.getNullableAsEnum(),
+                     Column.Nullable.COLUMN_NULLABLE);
+        column.setNullable(-1);
+        assertNull(column.getNullableAsEnum());
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static com.github.jinahya.database.metadata.bind.Invokes.values;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link Invokes}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class InvokesTest {
+
+    @Test
+    public void valuesOfArrays() {
+        final Object[] strings1 = {null, "S", "T", new String[]{"TABLE"}};
+        final Object[] strings2 = {null, "S", "T", new String[]{"TABLE"}};
+        assertEquals(values(strings1), values(strings2));
+        assertEquals(values(strings1).hashCode(),
+                     values(strings2).hashCode());
+        final Object[] ints1 = {null, "S", "T", new int[]{2000, 2002}};
+        final Object[] ints2 = {null, "S", "T", new int[]{2000, 2002}};
+        assertEquals(values(ints1), values(ints2));
+        assertNotEquals(values(ints1),
+                        values(new Object[]{null, "S", "T", new int[]{2000}}));
+    }
+}
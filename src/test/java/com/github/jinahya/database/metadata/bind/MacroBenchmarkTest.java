@@ -0,0 +1,245 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static com.github.jinahya.database.metadata.bind.MetadataContext.getCatalogs;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import static java.lang.invoke.MethodHandles.lookup;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import org.slf4j.Logger;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * A macro benchmark crawling generated schemas in embedded databases.
+ * <p>
+ * For each database and each number of tables, a schema is generated with
+ * {@link SchemaGenerator} and crawled with
+ * {@link MetadataContext#getCatalogs(MetadataContext, boolean)}. The crawl
+ * time, the number of calls issued, the number of rows bound, the XML export
+ * time and the peak heap usage are logged and appended to
+ * {@code target/macro-benchmark.csv}. This class is excluded from the default
+ * test run.
+ * <pre>
+ * mvn test -Dtest=MacroBenchmarkTest \
+ *     -Dbenchmark.databases=H2,HSQLDB -Dbenchmark.tables=1000,10000
+ * </pre>
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class MacroBenchmarkTest {
+
+    private static final Logger logger = getLogger(lookup().lookupClass());
+
+    // -------------------------------------------------------------------------
+    private static final File RESULTS
+            = new File("target", "macro-benchmark.csv");
+
+    private static String[] property(final String name,
+                                     final String defaultValue) {
+        return System.getProperty(name, defaultValue).split(",");
+    }
+
+    @DataProvider
+    public static Object[][] runs() {
+        final List<Object[]> runs = new ArrayList<>();
+        for (final String database : property(
+                "benchmark.databases", "H2,HSQLDB,DERBY,SQLITE")) {
+            for (final String tables : property(
+                    "benchmark.tables", "1000,10000,50000")) {
+                runs.add(new Object[]{
+                    SchemaGenerator.valueOf(database.trim()),
+                    Integer.parseInt(tables.trim())});
+            }
+        }
+        return runs.toArray(new Object[0][]);
+    }
+
+    // -------------------------------------------------------------------------
+    private static DatabaseMetaData counting(final DatabaseMetaData metadata,
+                                             final AtomicLong calls) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(
+                DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class},
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == ResultSet.class) {
+                        calls.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(metadata, args);
+                    } catch (final InvocationTargetException ite) {
+                        throw ite.getCause();
+                    }
+                });
+    }
+
+    private static MetadataContext context(final SchemaGenerator generator,
+                                           final DatabaseMetaData metadata) {
+        final MetadataContext context = new MetadataContext(metadata);
+        switch (generator) {
+            case H2:
+                return context.suppress("column/isGeneratedcolumn");
+            case HSQLDB:
+                return context.suppress("table/pseudoColumns");
+            case SQLITE:
+                return context.suppress("catalog/schemas", "schema/functions");
+            default:
+                return context;
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        final List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (final MemoryPoolMXBean pool
+             : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+
+        long count;
+    }
+
+    // -------------------------------------------------------------------------
+    @Test(dataProvider = "runs")
+    public void crawl(final SchemaGenerator generator, final int tables)
+            throws Exception {
+        try (Connection connection
+                = getConnection(generator.url(tables))) {
+            long started = System.nanoTime();
+            generator.generate(connection, tables);
+            final long generation = System.nanoTime() - started;
+            final AtomicLong calls = new AtomicLong();
+            final AtomicLong rows = new AtomicLong();
+            final MetadataContext context = context(
+                    generator, counting(connection.getMetaData(), calls))
+                    .listener(new BindListener() {
+                        @Override
+                        void started(final Object instance) {
+                            rows.incrementAndGet();
+                        }
+                    });
+            final List<MemoryPoolMXBean> pools = heapPools();
+            System.gc();
+            for (final MemoryPoolMXBean pool : pools) {
+                pool.resetPeakUsage();
+            }
+            started = System.nanoTime();
+            // SQLite supports neither catalogs nor schemas
+            final List<?> crawled = generator.schema == null
+                                    ? context.getTables(null, null, null, null)
+                                    : getCatalogs(context, true);
+            final long crawl = System.nanoTime() - started;
+            final CountingOutputStream output = new CountingOutputStream();
+            started = System.nanoTime();
+            JAXBContext.newInstance(Wrapper.class, Catalog.class, Table.class)
+                    .createMarshaller().marshal(
+                            new JAXBElement<>(Wrapper.NAME, Wrapper.class,
+                                              Wrapper.of(crawled)),
+                            output);
+            final long export = System.nanoTime() - started;
+            long peak = 0L;
+            for (final MemoryPoolMXBean pool : pools) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            assertEquals(count(crawled, generator), tables);
+            report(generator, tables, generation, crawl, calls.get(),
+                   rows.get(), export, output.count, peak);
+            generator.drop(connection, tables);
+        }
+    }
+
+    private static int count(final List<?> crawled,
+                             final SchemaGenerator generator) {
+        final List<Table> tables = new ArrayList<>();
+        for (final Object element : crawled) {
+            if (element instanceof Table) {
+                tables.add((Table) element);
+                continue;
+            }
+            for (final Schema schema : ((Catalog) element).getSchemas()) {
+                if (generator.schema.equals(schema.getTableSchem())) {
+                    tables.addAll(schema.getTables());
+                }
+            }
+        }
+        int count = 0;
+        for (final Table table : tables) {
+            if (table.getTableName().startsWith("T_")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void report(final SchemaGenerator generator,
+                               final int tables, final long generation,
+                               final long crawl, final long calls,
+                               final long rows, final long export,
+                               final long bytes, final long peak)
+            throws IOException {
+        logger.info("{}, tables: {}, generation: {} ms, crawl: {} ms,"
+                    + " calls: {}, rows: {}, export: {} ms ({} bytes),"
+                    + " peak heap: {} MiB",
+                    generator, tables, generation / 1000000L,
+                    crawl / 1000000L, calls, rows, export / 1000000L, bytes,
+                    peak >> 20);
+        final boolean header = !RESULTS.exists();
+        try (PrintWriter writer = new PrintWriter(
+                new FileWriter(RESULTS, true))) {
+            if (header) {
+                writer.println("database,tables,generation_ms,crawl_ms,calls,"
+                               + "rows,export_ms,export_bytes,peak_heap_bytes");
+            }
+            writer.printf("%s,%d,%d,%d,%d,%d,%d,%d,%d%n", generator, tables,
+                          generation / 1000000L, crawl / 1000000L, calls, rows,
+                          export / 1000000L, bytes, peak);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link MetadataBinder}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class MetadataBinderTest {
+
+    private static final String COLUMNS
+            = "SELECT TABLE_CATALOG AS TABLE_CAT, TABLE_SCHEMA AS TABLE_SCHEM,"
+              + " TABLE_NAME, COLUMN_NAME, DATA_TYPE, ORDINAL_POSITION"
+              + " FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = 'BINDER'"
+              + " ORDER BY TABLE_NAME, ORDINAL_POSITION";
+
+    private static final String TABLES
+            = "SELECT TABLE_CATALOG AS TABLE_CAT, TABLE_SCHEMA AS TABLE_SCHEM,"
+              + " TABLE_NAME FROM INFORMATION_SCHEMA.TABLES"
+              + " WHERE TABLE_SCHEMA = 'BINDER' ORDER BY TABLE_NAME";
+
+    private static void create(final Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA BINDER");
+            statement.execute("CREATE TABLE BINDER.T1 (ID INT PRIMARY KEY,"
+                              + " NAME VARCHAR(8))");
+            statement.execute("CREATE TABLE BINDER.T2 (ID BIGINT)");
+        }
+    }
+
+    private static List<Column> columns(final MetadataBinder binder,
+                                        final Connection connection)
+            throws Exception {
+        final List<Column> columns = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet results = statement.executeQuery(COLUMNS)) {
+            binder.bind(results, Column.class, columns);
+        }
+        return columns;
+    }
+
+    // -------------------------------------------------------------------------
+    @Test
+    public void columns() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataBinderColumns")) {
+            create(connection);
+            final List<Column> expected
+                    = new MetadataContext(connection.getMetaData())
+                            .getColumns(null, "BINDER", "%", "%");
+            final List<Column> actual
+                    = columns(new MetadataBinder(), connection);
+            assertEquals(actual.size(), expected.size());
+            for (int i = 0; i < actual.size(); i++) {
+                assertEquals(actual.get(i).getTableName(),
+                             expected.get(i).getTableName());
+                assertEquals(actual.get(i).getColumnName(),
+                             expected.get(i).getColumnName());
+                assertEquals(actual.get(i).getDataType(),
+                             expected.get(i).getDataType());
+                assertEquals(actual.get(i).getOrdinalPosition(),
+                             expected.get(i).getOrdinalPosition());
+            }
+        }
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataBinderConcurrent")) {
+            create(connection);
+            final MetadataBinder binder = new MetadataBinder();
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                final List<Future<List<Column>>> futures = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    futures.add(executor.submit(
+                            (Callable<List<Column>>)
+                            () -> columns(binder, connection)));
+                }
+                for (final Future<List<Column>> future : futures) {
+                    assertEquals(future.get().size(), 3);
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void invoke() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataBinderInvoke")) {
+            create(connection);
+            final List<Table> shallow = new ArrayList<>();
+            final List<Table> deep = new ArrayList<>();
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet results = statement.executeQuery(TABLES)) {
+                    new MetadataBinder().bind(results, Table.class, shallow);
+                }
+                try (ResultSet results = statement.executeQuery(TABLES)) {
+                    new MetadataBinder(connection.getMetaData())
+                            .bind(results, Table.class, deep);
+                }
+            }
+            assertEquals(shallow.size(), 2);
+            assertTrue(shallow.get(0).getColumns().isEmpty());
+            assertEquals(deep.size(), 2);
+            assertEquals(deep.get(0).getTableName(), "T1");
+            assertEquals(deep.get(0).getColumns().size(), 2);
+            assertEquals(deep.get(1).getColumns().size(), 1);
+        }
+    }
+
+    @Test
+    public void partialLabelsNotWarned() throws Exception {
+        final List<String> warnings = new ArrayList<>();
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                if (record.getLevel().intValue()
+                    >= Level.WARNING.intValue()) {
+                    warnings.add(record.getMessage());
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final Logger[] loggers = {
+            Logger.getLogger(MetadataBinder.class.getName()),
+            Logger.getLogger(MetadataContext.class.getName())};
+        for (final Logger logger : loggers) {
+            logger.addHandler(handler);
+        }
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataBinderPartial")) {
+            create(connection);
+            assertEquals(columns(new MetadataBinder(), connection).size(), 3);
+            assertEquals(columns(new MetadataBinder(connection.getMetaData()),
+                                 connection).size(), 3);
+        } finally {
+            for (final Logger logger : loggers) {
+                logger.removeHandler(handler);
+            }
+        }
+        assertTrue(warnings.isEmpty(), warnings.toString());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.Statement;
+import java.sql.Types;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link MetadataCensus}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class MetadataCensusTest {
+
+    @Test
+    public void take() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataCensus")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SCHEMA CENSUS");
+                statement.execute(
+                        "CREATE TABLE CENSUS.T1 (ID INT PRIMARY KEY,"
+                        + " NAME VARCHAR(8), AGE INT)");
+                statement.execute("CREATE INDEX CENSUS.I1 ON CENSUS.T1 (NAME)");
+                statement.execute(
+                        "CREATE TABLE CENSUS.T2 (ID INT PRIMARY KEY)");
+                statement.execute(
+                        "CREATE VIEW CENSUS.V1 AS SELECT NAME FROM CENSUS.T1");
+            }
+            final Census census = new MetadataCensus(connection.getMetaData())
+                    .types("TABLE")
+                    .indices(true)
+                    .take(null, "CENSUS");
+            assertEquals(census.getTallies().size(), 1);
+            final Census.Tally tally = census.getTallies().get(0);
+            assertEquals(tally.getSchema(), "CENSUS");
+            assertEquals(tally.getTables(), 2);
+            assertEquals(tally.getColumns(), 4L); // not of the view
+            assertEquals(tally.getMaxColumns(), 3);
+            assertEquals(tally.getIndices(), 3L); // two primary keys and I1
+            assertEquals(census.getColumns(Types.INTEGER), 3L);
+            assertEquals(census.getColumns(Types.VARCHAR), 1L);
+            assertEquals(census.getDataTypes(),
+                         new int[]{Types.INTEGER, Types.VARCHAR});
+        }
+    }
+}
@@ -18,11 +18,17 @@ package com.github.jinahya.database.metadata.bind;
 import com.github.jinahya.database.metadata.bind.MetadataContext;
 import static java.lang.invoke.MethodHandles.lookup;
 import java.lang.reflect.Modifier;
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Arrays;
+import java.util.List;
 import javax.xml.bind.JAXBException;
 import org.slf4j.Logger;
 import static org.slf4j.LoggerFactory.getLogger;
+import static org.testng.Assert.assertEquals;
 import org.testng.annotations.Test;
 
 /**
@@ -55,4 +61,117 @@ public class MetadataContextTest {
             }
         });
     }
+
+    @Test
+    public void exactMatch() throws SQLException {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:exactMatch")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE ORDER_ITEM (ID INT)");
+                statement.execute(
+                        "CREATE TABLE ORDERXITEM (ID INT, NAME CHAR)");
+            }
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData())
+                            .suppress("column/*", "table/bestRowIdentifiers",
+                                      "table/indexInfo");
+            final List<Table> loose
+                    = context.getTables(null, null, "ORDER_ITEM", null);
+            assertEquals(loose.size(), 2);
+            for (final Table table : loose) {
+                // ORDER_ITEM also gets columns of ORDERXITEM
+                assertEquals(table.getColumns().size(), 2
+                             + ("ORDER_ITEM".equals(table.getTableName())
+                                ? 1 : 0));
+            }
+            final List<Table> exact = context.exactMatch(true)
+                    .getTables(null, null, "ORDER_ITEM", null);
+            assertEquals(exact.size(), 2);
+            for (final Table table : exact) {
+                assertEquals(table.getColumns().size(),
+                             "ORDER_ITEM".equals(table.getTableName())
+                             ? 1 : 2);
+            }
+        }
+    }
+
+    @Test
+    public void exactMatchEscape() throws SQLException {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:exactMatchEscape")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE \"A\\B\" (ID INT)");
+                statement.execute("CREATE TABLE \"A\\_B\" (ID INT, NAME CHAR)");
+            }
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData())
+                            .suppress("column/*", "table/bestRowIdentifiers",
+                                      "table/indexInfo")
+                            .exactMatch(true);
+            final List<Table> tables
+                    = context.getTables(null, null, "A%", null);
+            assertEquals(tables.size(), 2);
+            for (final Table table : tables) {
+                assertEquals(table.getColumns().size(),
+                             "A\\B".equals(table.getTableName()) ? 1 : 2);
+            }
+        }
+    }
+
+    @Test
+    public void parameters() throws SQLException {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:parameters")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(
+                        "CREATE TABLE PARAMETERS"
+                        + " (ID INT PRIMARY KEY, NAME CHAR)");
+                statement.execute(
+                        "CREATE INDEX PARAMETERS_NAME ON PARAMETERS (NAME)");
+            }
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData());
+            assertEquals(context.getTables(null, null, "PARAMETERS", null)
+                    .get(0).getIndexInfo().size(), 2);
+            context.parameters("table/indexInfo", new String[]{
+                ":tableCat", ":tableSchem", ":tableName", "true", "true"});
+            assertEquals(context.getTables(null, null, "PARAMETERS", null)
+                    .get(0).getIndexInfo().size(), 1);
+        }
+    }
+
+    @Test
+    public void keyLabels() throws SQLException {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:keyLabels")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE PARENT"
+                                  + " (A INT, B INT, PRIMARY KEY (A, B))");
+                statement.execute("CREATE TABLE CHILD (A INT, B INT,"
+                                  + " FOREIGN KEY (A, B)"
+                                  + " REFERENCES PARENT (A, B))");
+            }
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData());
+            final List<ImportedKey> importedKeys
+                    = context.getImportedKeys(null, "PUBLIC", "CHILD");
+            assertEquals(importedKeys.size(), 2);
+            for (final ImportedKey importedKey : importedKeys) {
+                assertEquals(importedKey.getFktableSchem(), "PUBLIC");
+                assertEquals(importedKey.getKeySeq(),
+                             "A".equals(importedKey.getFkcolumnName())
+                             ? 1 : 2);
+            }
+            final List<CrossReference> crossReferences
+                    = context.getCrossReferences(null, "PUBLIC", "PARENT",
+                                                 null, "PUBLIC", "CHILD");
+            assertEquals(crossReferences.size(), 2);
+            for (final CrossReference crossReference : crossReferences) {
+                assertEquals(crossReference.getFktableSchem(), "PUBLIC");
+                assertEquals(crossReference.getKeySeq(),
+                             "A".equals(crossReference.getFkcolumnName())
+                             ? 1 : 2);
+            }
+        }
+    }
 }
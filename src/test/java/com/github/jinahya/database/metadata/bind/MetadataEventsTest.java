@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.io.File;
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.testng.SkipException;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link MetadataEvents}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class MetadataEventsTest {
+
+    private static final String PREFIX
+            = "com.github.jinahya.database.metadata.bind.";
+
+    @Test
+    public void disabledByDefault() {
+        if (!(MetadataEvents.INSTANCE instanceof JfrMetadataEvents)) {
+            throw new SkipException("no flight recorder");
+        }
+        assertEquals(MetadataEvents.INSTANCE.beginCall(), null);
+        assertEquals(MetadataEvents.INSTANCE.beginBind(), null);
+        assertEquals(MetadataEvents.INSTANCE.beginPhase(), null);
+    }
+
+    @Test
+    public void recorded() throws Exception {
+        if (!(MetadataEvents.INSTANCE instanceof JfrMetadataEvents)) {
+            throw new SkipException("no flight recorder");
+        }
+        final File file = File.createTempFile("metadataEvents", ".jfr");
+        file.deleteOnExit();
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataEvents")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE EVENTS (ID INT PRIMARY KEY)");
+            }
+            try (Recording recording = new Recording()) {
+                recording.enable(PREFIX + "Call");
+                recording.enable(PREFIX + "Bind");
+                recording.enable(PREFIX + "Phase");
+                recording.start();
+                new MetadataContext(connection.getMetaData())
+                        .fetchPlan(FetchPlan.of("table/columns"))
+                        .getTables(null, "PUBLIC", "EVENTS", null);
+                recording.stop();
+                recording.dump(file.toPath());
+            }
+        }
+        final Map<String, Integer> counts = new HashMap<>();
+        String table = null;
+        for (final RecordedEvent event : RecordingFile.readAllEvents(
+                file.toPath())) {
+            final String name = event.getEventType().getName();
+            if (!name.startsWith(PREFIX)) {
+                continue;
+            }
+            counts.merge(name.substring(PREFIX.length()), 1, Integer::sum);
+            if (name.endsWith("Phase")) {
+                table = event.getString("table");
+            }
+        }
+        assertEquals(counts.get("Phase"), Integer.valueOf(1));
+        assertEquals(table, "EVENTS");
+        assertTrue(counts.get("Bind") >= 2); // tables and columns
+        assertEquals(counts.get("Call"), Integer.valueOf(1)); // columns
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import static java.sql.DriverManager.getConnection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.Marshaller;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link MetadataRecording}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class MetadataRecordingTest {
+
+    private static String marshal(final List<Catalog> catalogs)
+            throws Exception {
+        final Marshaller marshaller = JAXBContext
+                .newInstance(Wrapper.class, Catalog.class).createMarshaller();
+        final StringWriter writer = new StringWriter();
+        marshaller.marshal(new JAXBElement<>(Wrapper.NAME, Wrapper.class,
+                                             Wrapper.of(catalogs)),
+                           writer);
+        return writer.toString();
+    }
+
+    @Test
+    public void replayOffline() throws Exception {
+        final MetadataRecording recording = new MetadataRecording();
+        final String expected;
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataRecording")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE PARENT (ID INT PRIMARY KEY)");
+                statement.execute("CREATE TABLE CHILD (ID INT PRIMARY KEY,"
+                                  + " PARENT_ID INT REFERENCES PARENT (ID))");
+                statement.execute("CREATE INDEX CHILD_PARENT"
+                                  + " ON CHILD (PARENT_ID)");
+            }
+            expected = marshal(MetadataContext.getCatalogs(
+                    new MetadataContext(recording.recorder(
+                            connection.getMetaData())), false));
+        }
+        assertTrue(recording.size() > 0);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        recording.write(output);
+        final MetadataRecording replaying = MetadataRecording.read(
+                new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(replaying.size(), recording.size());
+        final String actual = marshal(MetadataContext.getCatalogs(
+                new MetadataContext(replaying.replayer(false)), false));
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void longString() throws Exception {
+        final char[] chars = new char[70000];
+        Arrays.fill(chars, '\uac00'); // three bytes each
+        final String remarks = new String(chars);
+        final MetadataRecording recording = new MetadataRecording();
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataRecordingLong")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE LONG (ID INT PRIMARY KEY)");
+                statement.execute("COMMENT ON TABLE LONG IS '" + remarks
+                                  + "'");
+            }
+            recording.recorder(connection.getMetaData())
+                    .getTables(null, null, "LONG", null).close();
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        recording.write(output);
+        final MetadataRecording replaying = MetadataRecording.read(
+                new ByteArrayInputStream(output.toByteArray()));
+        try (ResultSet results = replaying.replayer(false)
+                .getTables(null, null, "LONG", null)) {
+            assertTrue(results.next());
+            assertEquals(results.getString("REMARKS"), remarks);
+        }
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void unsupportedType() throws Exception {
+        final MetadataRecording recording = new MetadataRecording();
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:metadataRecordingType")) {
+            final DatabaseMetaData metadata = (DatabaseMetaData) Proxy
+                    .newProxyInstance(
+                            getClass().getClassLoader(),
+                            new Class<?>[]{DatabaseMetaData.class},
+                            (proxy, method, args) -> connection
+                                    .createStatement().executeQuery(
+                                            "SELECT CURRENT_TIMESTAMP()"));
+            recording.recorder(metadata)
+                    .getTables(null, null, null, null).close();
+        }
+        recording.write(new ByteArrayOutputStream());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link PathMatcher}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class PathMatcherTest {
+
+    @Test
+    public void exact() {
+        final PathMatcher matcher
+                = PathMatcher.compile(asList("table/remarks"));
+        assertTrue(matcher.matches("table", "remarks"));
+        assertFalse(matcher.matches("column", "remarks"));
+        assertFalse(matcher.matches("table", "tableName"));
+    }
+
+    @Test
+    public void any() {
+        final PathMatcher matcher
+                = PathMatcher.compile(asList("*/remarks", "table/*"));
+        assertTrue(matcher.matches("column", "remarks"));
+        assertTrue(matcher.matches("table", "columns"));
+        assertFalse(matcher.matches("column", "columnName"));
+        assertFalse(matcher.matches("catalog/schemas/tables"));
+    }
+
+    @Test
+    public void deep() {
+        final PathMatcher matcher
+                = PathMatcher.compile(asList("column/**", "catalog/**/UDTs"));
+        assertTrue(matcher.matches("column", "columnPrivileges"));
+        assertTrue(matcher.matches("column/columnPrivileges/grantor"));
+        assertTrue(matcher.matches("catalog/UDTs"));
+        assertTrue(matcher.matches("catalog/schemas/UDTs"));
+        assertFalse(matcher.matches("catalog/schemas/tables"));
+    }
+
+    @Test
+    public void hierarchical() {
+        final PathMatcher matcher = PathMatcher.compile(
+                asList("catalog/schemas/tables/columns"));
+        final String[] segments = {"catalog", "schemas", "tables", null};
+        assertTrue(matcher.matches(segments, 3, "columns"));
+        assertFalse(matcher.matches(segments, 3, "indexInfo"));
+        assertFalse(matcher.matches(segments, 2, "columns"));
+    }
+
+    @Test
+    public void empty() {
+        final PathMatcher matcher
+                = PathMatcher.compile(emptyList());
+        assertFalse(matcher.matches("table", "remarks"));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import static com.github.jinahya.database.metadata.bind.BindDiagnostics.Kind.UNKNOWN_LABEL;
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link Projection}.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+public class ProjectionTest {
+
+    public interface TableColumn {
+
+        @Bind(label = "TABLE_NAME")
+        String getTableName();
+
+        @Bind(label = "COLUMN_NAME")
+        String getColumnName();
+
+        @Bind(label = "DATA_TYPE")
+        int getDataType();
+    }
+
+    static class ColumnName {
+
+        @Bind(label = "COLUMN_NAME")
+        private String columnName;
+
+        @Bind(label = "ORDINAL_POSITION")
+        private int ordinalPosition;
+
+        @Bind(label = "NO_SUCH_LABEL", nillable = true)
+        private String unknown;
+    }
+
+    // -------------------------------------------------------------------------
+    private static void create(final Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA PROJECTION");
+            statement.execute("CREATE TABLE PROJECTION.T1 (ID INT PRIMARY KEY,"
+                              + " NAME VARCHAR(8))");
+        }
+    }
+
+    @Test
+    public void projectInterface() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:projectInterface")) {
+            create(connection);
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData());
+            final List<TableColumn> columns = context.project(
+                    TableColumn.class, "getColumns", null, "PROJECTION", "T1",
+                    "%");
+            assertEquals(columns.size(), 2);
+            assertEquals(columns.get(0).getTableName(), "T1");
+            assertEquals(columns.get(0).getColumnName(), "ID");
+            assertEquals(columns.get(0).getDataType(), Types.INTEGER);
+            assertEquals(columns.get(1).getColumnName(), "NAME");
+            assertEquals(columns.get(1).getDataType(), Types.VARCHAR);
+            assertEquals(columns.get(0), context.project(
+                         TableColumn.class, "getColumns", null, "PROJECTION",
+                         "T1", "ID").get(0));
+        }
+    }
+
+    @Test
+    public void projectClass() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:projectClass")) {
+            create(connection);
+            final MetadataContext context
+                    = new MetadataContext(connection.getMetaData());
+            final List<ColumnName> columns = context.project(
+                    ColumnName.class, "getColumns", null, "PROJECTION", "T1",
+                    "%");
+            assertEquals(columns.size(), 2);
+            assertEquals(columns.get(1).columnName, "NAME");
+            assertEquals(columns.get(1).ordinalPosition, 2);
+            assertNull(columns.get(1).unknown);
+            assertEquals(context.getDiagnostics().getCount(
+                    ColumnName.class, "NO_SUCH_LABEL", UNKNOWN_LABEL), 2L);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void projectUnknownMethod() throws Exception {
+        try (Connection connection
+                = getConnection("jdbc:h2:mem:projectUnknownMethod")) {
+            new MetadataContext(connection.getMetaData())
+                    .project(TableColumn.class, "getColumns", "PROJECTION");
+        }
+    }
+}
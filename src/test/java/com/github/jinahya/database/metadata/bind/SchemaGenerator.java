@@ -0,0 +1,241 @@
+/*
+ * Copyright 2018 Jin Kwon &lt;onacit at gmail.com&gt;.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.jinahya.database.metadata.bind;
+
+import java.sql.Connection;
+import static java.sql.DriverManager.getConnection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates schemas of tables with realistic columns, indices, foreign keys,
+ * procedures and user defined types for embedded databases.
+ *
+ * @author Jin Kwon &lt;onacit at gmail.com&gt;
+ */
+enum SchemaGenerator {
+
+    H2("jdbc:h2:mem:benchmark%d", "BENCH") {
+        @Override
+        String procedure(final int n) {
+            return "CREATE ALIAS " + qualify("P_" + n)
+                   + " FOR \"java.lang.Math.abs(int)\"";
+        }
+
+        @Override
+        String type(final int n) {
+            // domains are not in schemas
+            return "CREATE DOMAIN U_" + n + " AS VARCHAR(64)";
+        }
+    },
+    HSQLDB("jdbc:hsqldb:mem:benchmark%d", "BENCH") {
+        @Override
+        void drop(final Connection connection, final int tables)
+                throws SQLException {
+            final Statement statement = connection.createStatement();
+            try {
+                statement.execute("SHUTDOWN");
+            } finally {
+                statement.close();
+            }
+        }
+
+        @Override
+        String procedure(final int n) {
+            return "CREATE PROCEDURE " + qualify("P_" + n)
+                   + " (OUT X INT) BEGIN ATOMIC SET X = " + n + "; END";
+        }
+
+        @Override
+        String type(final int n) {
+            return "CREATE TYPE " + qualify("U_" + n) + " AS VARCHAR(64)";
+        }
+    },
+    DERBY("jdbc:derby:memory:benchmark%d;create=true", "BENCH") {
+        @Override
+        void drop(final Connection connection, final int tables)
+                throws SQLException {
+            connection.close();
+            try {
+                getConnection(String.format(
+                        "jdbc:derby:memory:benchmark%d;drop=true", tables));
+            } catch (final SQLException sqle) {
+                // expected; 08006
+            }
+        }
+
+        @Override
+        String procedure(final int n) {
+            return "CREATE PROCEDURE " + qualify("P_" + n) + " ()"
+                   + " PARAMETER STYLE JAVA LANGUAGE JAVA NO SQL"
+                   + " EXTERNAL NAME 'java.lang.System.gc'";
+        }
+
+        @Override
+        String type(final int n) {
+            return "CREATE TYPE " + qualify("U_" + n)
+                   + " EXTERNAL NAME 'java.util.ArrayList' LANGUAGE JAVA";
+        }
+    },
+    SQLITE("jdbc:sqlite::memory:", null) {
+        @Override
+        String table(final int n) {
+            // foreign keys can't be added with ALTER TABLE
+            return "CREATE TABLE " + qualify(name(n))
+                   + " (ID INT PRIMARY KEY, NAME VARCHAR(64) NOT NULL,"
+                   + " AMOUNT DECIMAL(12, 2), CREATED TIMESTAMP,"
+                   + " PARENT_ID INT"
+                   + (n > 1 ? " REFERENCES " + name(n - 1) + " (ID)" : "")
+                   + ")";
+        }
+
+        @Override
+        String foreignKey(final int n) {
+            return null;
+        }
+    };
+
+    // -------------------------------------------------------------------------
+    /**
+     * The number of tables per procedure and user defined type.
+     */
+    static final int RATIO = 10;
+
+    static String name(final int n) {
+        return String.format("T_%05d", n);
+    }
+
+    // -------------------------------------------------------------------------
+    SchemaGenerator(final String url, final String schema) {
+        this.url = url;
+        this.schema = schema;
+    }
+
+    // -------------------------------------------------------------------------
+    /**
+     * Returns the URL of a new database for given number of tables.
+     *
+     * @param tables the number of tables
+     * @return the URL of a new database
+     */
+    String url(final int tables) {
+        return String.format(url, tables);
+    }
+
+    /**
+     * Drops the database of given connection, if required. The default
+     * implementation does nothing.
+     *
+     * @param connection the connection
+     * @param tables the number of tables
+     * @throws SQLException if a database error occurs.
+     */
+    void drop(final Connection connection, final int tables)
+            throws SQLException {
+    }
+
+    // -------------------------------------------------------------------------
+    String qualify(final String name) {
+        return schema == null ? name : schema + "." + name;
+    }
+
+    String table(final int n) {
+        return "CREATE TABLE " + qualify(name(n))
+               + " (ID INT NOT NULL PRIMARY KEY, NAME VARCHAR(64) NOT NULL,"
+               + " AMOUNT DECIMAL(12, 2), CREATED TIMESTAMP, PARENT_ID INT)";
+    }
+
+    String index(final int n) {
+        return "CREATE INDEX " + qualify(String.format("IX_%05d", n))
+               + " ON " + qualify(name(n)) + " (NAME)";
+    }
+
+    String foreignKey(final int n) {
+        if (n == 1) {
+            return null;
+        }
+        return "ALTER TABLE " + qualify(name(n))
+               + " ADD CONSTRAINT " + String.format("FK_%05d", n)
+               + " FOREIGN KEY (PARENT_ID) REFERENCES "
+               + qualify(name(n - 1)) + " (ID)";
+    }
+
+    String procedure(final int n) {
+        return null;
+    }
+
+    String type(final int n) {
+        return null;
+    }
+
+    /**
+     * Returns statements generating a schema of given number of tables.
+     *
+     * @param tables the number of tables
+     * @return a list of statements
+     */
+    List<String> statements(final int tables) {
+        final List<String> statements = new ArrayList<String>();
+        if (schema != null) {
+            statements.add("CREATE SCHEMA " + schema);
+        }
+        for (int n = 1; n <= tables; n++) {
+            statements.add(table(n));
+            statements.add(index(n));
+            final String foreignKey = foreignKey(n);
+            if (foreignKey != null) {
+                statements.add(foreignKey);
+            }
+            if (n % RATIO == 0) {
+                final String procedure = procedure(n);
+                if (procedure != null) {
+                    statements.add(procedure);
+                }
+                final String type = type(n);
+                if (type != null) {
+                    statements.add(type);
+                }
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * Generates a schema of given number of tables on given connection.
+     *
+     * @param connection the connection
+     * @param tables the number of tables
+     * @throws SQLException if a database error occurs.
+     */
+    void generate(final Connection connection, final int tables)
+            throws SQLException {
+        final Statement statement = connection.createStatement();
+        try {
+            for (final String sql : statements(tables)) {
+                statement.execute(sql);
+            }
+        } finally {
+            statement.close();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    private final String url;
+
+    final String schema;
+}